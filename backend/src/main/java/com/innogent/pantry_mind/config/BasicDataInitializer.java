@@ -7,6 +7,9 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 @Order(1)
@@ -62,6 +65,24 @@ public class BasicDataInitializer implements CommandLineRunner {
                 unitRepository.save(unit);
             }
         }
+        backfillUnitConversions();
+    }
+
+    // Databases seeded before units carried conversion factors get the standard ones once
+    private void backfillUnitConversions() {
+        Map<String, String> baseUnits = Map.of("kg", "grams", "litre", "ml", "dozen", "piece");
+        Map<String, BigDecimal> factors = Map.of(
+            "kg", BigDecimal.valueOf(1000),
+            "litre", BigDecimal.valueOf(1000),
+            "dozen", BigDecimal.valueOf(12)
+        );
+        baseUnits.forEach((name, baseName) -> unitRepository.findByName(name)
+            .filter(unit -> unit.getBaseUnitName() == null)
+            .ifPresent(unit -> {
+                unit.setBaseUnitName(baseName);
+                unit.setToBaseFactor(factors.get(name));
+                unitRepository.save(unit);
+            }));
     }
 
     private void createLocations() {
@@ -1,9 +1,69 @@
 package com.innogent.pantry_mind.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
+/**
+ * Bounded in-process caches for reference data. Every write goes through the owning
+ * repository's save, which evicts that entity's caches on the node handling it. Other
+ * nodes never cache misses, so a newly created row is visible to them on the next
+ * lookup; only the list caches can lag, for at most their TTL.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_ID = "categoriesById";
+    public static final String CATEGORIES_BY_NAME = "categoriesByName";
+    public static final String LOCATIONS = "locations";
+    public static final String LOCATIONS_BY_ID = "locationsById";
+    public static final String LOCATIONS_BY_NAME = "locationsByName";
+    public static final String ROLES_BY_NAME = "rolesByName";
+    public static final String PRINCIPALS = "principals";
+    public static final String USER_KITCHENS = "userKitchens";
+    public static final String KITCHEN_RESULTS = "kitchenResults";
+    public static final String RECIPE_RESULTS = "recipeResults";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Fallback for any cache name not registered below
+        cacheManager.setCaffeine(spec(500, Duration.ofMinutes(10)));
+        cacheManager.setAllowNullValues(false);
+
+        register(cacheManager, CATEGORIES, 1, Duration.ofMinutes(10));
+        register(cacheManager, CATEGORIES_BY_ID, 1_000, Duration.ofHours(1));
+        register(cacheManager, CATEGORIES_BY_NAME, 1_000, Duration.ofHours(1));
+        register(cacheManager, LOCATIONS, 1, Duration.ofMinutes(10));
+        register(cacheManager, LOCATIONS_BY_ID, 200, Duration.ofHours(1));
+        register(cacheManager, LOCATIONS_BY_NAME, 200, Duration.ofHours(1));
+        register(cacheManager, ROLES_BY_NAME, 20, Duration.ofHours(6));
+        // Short TTL bounds how long a role change made on another node goes unnoticed
+        register(cacheManager, PRINCIPALS, 10_000, Duration.ofSeconds(60));
+        register(cacheManager, USER_KITCHENS, 10_000, Duration.ofSeconds(60));
+        // Keyed on kitchen_stats.change_version; the TTL only ages out superseded entries
+        register(cacheManager, KITCHEN_RESULTS, 5_000, Duration.ofMinutes(10));
+        // Keyed by request fingerprint; the TTL bounds how long an LLM answer is reused for an unchanged pantry
+        register(cacheManager, RECIPE_RESULTS, 2_000, Duration.ofMinutes(30));
+        return cacheManager;
+    }
+
+    private static void register(CaffeineCacheManager cacheManager, String name, long maximumSize, Duration ttl) {
+        cacheManager.registerCustomCache(name, spec(maximumSize, ttl).build());
+    }
+
+    // recordStats() feeds the cache.gets / cache.evictions meters bound by actuator
+    private static Caffeine<Object, Object> spec(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
 }
@@ -1,5 +1,7 @@
 package com.innogent.pantry_mind.config;
 
+import com.innogent.pantry_mind.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,8 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,7 +20,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -32,19 +32,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         String jwt = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(jwt);
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                var userDetails = userDetailsService.loadUserByUsername(username);
+                // One parse verifies signature and expiry and yields the subject
+                Claims claims = jwtUtil.parseClaims(jwt);
+                String username = claims.getSubject();
                 
-                if (jwtUtil.isTokenValid(jwt, username)) {
+                if (username != null) {
+                    var userDetails = userDetailsService.loadPrincipal(username);
                     var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
-                // User not found (database reset) - clear authentication
+                // Invalid or expired token, or user not found (database reset) - clear authentication
                 SecurityContextHolder.clearContext();
             }
         }
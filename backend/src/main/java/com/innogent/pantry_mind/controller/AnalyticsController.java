@@ -1,6 +1,7 @@
 package com.innogent.pantry_mind.controller;
 
 import com.innogent.pantry_mind.service.AnalyticsService;
+import com.innogent.pantry_mind.service.KitchenResultCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,39 +15,50 @@ import java.util.Map;
 public class AnalyticsController {
     
     private final AnalyticsService analyticsService;
+    private final KitchenResultCache kitchenResultCache;
     
     @GetMapping("/usage/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getUsageAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getUsageAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:usage",
+                () -> analyticsService.getUsageAnalytics(kitchenId)));
     }
     
     @GetMapping("/meals/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getMealAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getMealAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:meals",
+                () -> analyticsService.getMealAnalytics(kitchenId)));
     }
     
     @GetMapping("/waste/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getWasteAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getWasteAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:waste",
+                () -> analyticsService.getWasteAnalytics(kitchenId)));
     }
     
     @GetMapping("/purchases/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getPurchaseAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getPurchaseAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:purchases",
+                () -> analyticsService.getPurchaseAnalytics(kitchenId)));
     }
     
     @GetMapping("/expiry/{kitchenId}")
-    public ResponseEntity<Map<String, Object>> getExpiryAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getExpiryAnalytics(kitchenId));
+    public ResponseEntity<Map<String, Object>> getExpiryAnalytics(
+            @PathVariable Long kitchenId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:expiry:" + cursor + ":" + limit,
+                () -> analyticsService.getExpiryAnalytics(kitchenId, cursor, limit)));
     }
     
     @GetMapping("/categories/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getCategoryAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getCategoryAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:categories",
+                () -> analyticsService.getCategoryAnalytics(kitchenId)));
     }
     
     @GetMapping("/summary/{kitchenId}")
     public ResponseEntity<Map<String, Object>> getSummaryAnalytics(@PathVariable Long kitchenId) {
-        return ResponseEntity.ok(analyticsService.getSummaryAnalytics(kitchenId));
+        return ResponseEntity.ok(kitchenResultCache.get(kitchenId, "analytics:summary",
+                () -> analyticsService.getSummaryAnalytics(kitchenId)));
     }
-}
\ No newline at end of file
+}
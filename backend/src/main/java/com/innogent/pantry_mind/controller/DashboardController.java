@@ -31,6 +31,14 @@ public class DashboardController {
         return ResponseEntity.ok(stats);
     }
     
+    @GetMapping("/overview")
+    public ResponseEntity<Map<String, Object>> getOverview() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        
+        return ResponseEntity.ok(dashboardService.getOverview(email));
+    }
+    
     @GetMapping("/settings/alerts")
     public ResponseEntity<Map<String, Object>> getAlertSettings(@RequestParam Long kitchenId) {
         Kitchen kitchen = kitchenRepository.findById(kitchenId).orElseThrow();
@@ -1,12 +1,16 @@
 package com.innogent.pantry_mind.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innogent.pantry_mind.dto.request.ConsumeItemsRequestDTO;
 import com.innogent.pantry_mind.dto.request.CreateInventoryItemRequestDTO;
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryAlertsRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryItemRequestDTO;
 import com.innogent.pantry_mind.dto.response.ConsumeItemsResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryConsumptionInfoDTO;
 import com.innogent.pantry_mind.dto.response.InventoryItemResponseDTO;
+import com.innogent.pantry_mind.dto.response.InventoryPageResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryResponseDTO;
 import com.innogent.pantry_mind.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,9 +18,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -27,6 +35,7 @@ import java.util.List;
 public class InventoryItemController {
 
     private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Add a new inventory item")
@@ -45,11 +54,39 @@ public class InventoryItemController {
 
     @GetMapping
     @Operation(summary = "Get all grouped inventory products")
-    public ResponseEntity<List<InventoryResponseDTO>> getAllInventory(@RequestParam(required = false) Long kitchenId) {
+    public ResponseEntity<?> getAllInventory(@RequestParam(required = false) Long kitchenId) {
         if (kitchenId != null) {
             return ResponseEntity.ok(inventoryService.getInventoryItemsByKitchen(kitchenId));
         }
-        return ResponseEntity.ok(inventoryService.getAllInventoryItems());
+        // Across all kitchens the JSON array is written row by row so memory stays flat
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            inventoryService.streamAllInventoryItems(dto -> {
+                try {
+                    generator.writeObject(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/all/page")
+    @Operation(summary = "Get grouped inventory products across all kitchens, keyset-paged by id")
+    public ResponseEntity<InventoryPageResponseDTO> getAllInventoryPage(@RequestParam(required = false) Long afterId,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(inventoryService.getAllInventoryPage(afterId, limit));
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get grouped inventory products for a kitchen with keyset pagination, sorting and filters")
+    public ResponseEntity<InventoryPageResponseDTO> getInventoryPage(@RequestParam Long kitchenId,
+                                                                     InventoryListRequestDTO request) {
+        return ResponseEntity.ok(inventoryService.getInventoryPage(kitchenId, request));
     }
 
 
@@ -0,0 +1,22 @@
+package com.innogent.pantry_mind.dto.request;
+
+import lombok.Data;
+
+@Data
+public class InventoryListRequestDTO {
+    private Long categoryId;
+    private Long locationId;
+    private Integer expiringWithinDays;
+    private SortField sortBy = SortField.NAME;
+    private SortDirection direction = SortDirection.ASC;
+    private String cursor; // opaque keyset cursor returned as nextCursor by the previous page
+    private Integer limit = 50;
+    
+    public enum SortField {
+        NAME, EXPIRY, QUANTITY
+    }
+    
+    public enum SortDirection {
+        ASC, DESC
+    }
+}
@@ -5,10 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class UnitRequestDTO {
     private String name;
     private String type;
+    private String baseUnitName;
+    private BigDecimal toBaseFactor;
 }
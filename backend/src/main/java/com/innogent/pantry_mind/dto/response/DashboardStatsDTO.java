@@ -0,0 +1,21 @@
+package com.innogent.pantry_mind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsDTO {
+    private long totalProducts;
+    private double totalValue;
+    private long lowStockCount;
+    private long expiryCount;
+    private long expiredProductsCount;
+    private BigDecimal expiredWasteValue;
+}
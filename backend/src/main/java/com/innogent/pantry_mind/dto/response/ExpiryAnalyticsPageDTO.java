@@ -0,0 +1,23 @@
+package com.innogent.pantry_mind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiryAnalyticsPageDTO {
+    private List<ExpiryItemDTO> items;
+    private long totalItems;
+    private long expired;
+    private long critical;
+    private long warning;
+    private long fresh;
+    private String nextCursor;
+    private Boolean hasMore;
+}
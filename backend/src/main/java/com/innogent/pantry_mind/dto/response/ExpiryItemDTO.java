@@ -0,0 +1,24 @@
+package com.innogent.pantry_mind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiryItemDTO {
+    private Long id;
+    private String name;
+    private Date expiryDate;
+    private String expiryDateFormatted;
+    private Long daysLeft;
+    private String status;
+    private BigDecimal quantity;
+    private String unit;
+}
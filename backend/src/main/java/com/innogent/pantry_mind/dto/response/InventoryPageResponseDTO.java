@@ -0,0 +1,18 @@
+package com.innogent.pantry_mind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryPageResponseDTO {
+    private List<InventoryResponseDTO> content;
+    private String nextCursor;
+    private Boolean hasMore;
+}
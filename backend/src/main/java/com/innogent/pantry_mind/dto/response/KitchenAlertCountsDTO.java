@@ -0,0 +1,17 @@
+package com.innogent.pantry_mind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenAlertCountsDTO {
+    private Long kitchenId;
+    private long expiredCount;
+    private long expiringCount;
+    private long lowStockCount;
+}
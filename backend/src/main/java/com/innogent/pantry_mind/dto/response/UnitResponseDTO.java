@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -11,4 +13,6 @@ public class UnitResponseDTO {
     private Long id;
     private String name;
     private String type;
+    private String baseUnitName;
+    private BigDecimal toBaseFactor;
 }
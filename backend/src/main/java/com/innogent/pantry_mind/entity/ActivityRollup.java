@@ -0,0 +1,86 @@
+package com.innogent.pantry_mind.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Time-bucketed totals of usage, waste and purchase logs. Each log contributes to a DAY
+ * and a MONTH bucket (bucketStart is the day, or the first of the month), once for the
+ * kitchen TOTAL (dimensionValue '') and once per breakdown: the item name and, for
+ * waste and purchases, the waste reason or purchase source.
+ */
+@Entity
+@Table(name = "activity_rollup")
+@IdClass(ActivityRollup.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollup {
+    @Id
+    @Column(name = "kitchen_id")
+    private Long kitchenId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", length = 16)
+    private Metric metric;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 8)
+    private Granularity granularity;
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDate bucketStart;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private Dimension dimension;
+    
+    @Id
+    @Column(name = "dimension_value")
+    private String dimensionValue;
+    
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+    
+    @Column(name = "quantity", precision = 19, scale = 4, nullable = false)
+    private BigDecimal quantity;
+    
+    @Column(name = "amount", precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+    
+    public enum Metric {
+        USAGE, WASTE, PURCHASE
+    }
+    
+    public enum Granularity {
+        DAY, MONTH
+    }
+    
+    public enum Dimension {
+        TOTAL, ITEM, REASON, SOURCE
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long kitchenId;
+        private Metric metric;
+        private Granularity granularity;
+        private LocalDate bucketStart;
+        private Dimension dimension;
+        private String dimensionValue;
+    }
+}
@@ -1,5 +1,6 @@
 package com.innogent.pantry_mind.entity;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 
@@ -67,10 +68,17 @@ public class Inventory {
     @Column(name = "kitchen_id", nullable = false)
     private Long kitchenId;
     
-    @Column(name = "total_quantity", nullable = false)
+    // Totals are maintained only by InventoryRepository.applyTotalsDelta / reconcileTotals;
+    // the entity writes them once on insert and never on update, so a flush cannot undo a delta
+    @Column(name = "total_quantity", nullable = false, updatable = false)
+    @Builder.Default
     private Long totalQuantity = 0L;
     
-    @Column(name = "item_count", nullable = false)
+    // Exact (fractional) sum behind total_quantity, which is its rounded value
+    @Column(name = "total_quantity_exact", precision = 19, scale = 4, insertable = false, updatable = false)
+    private BigDecimal totalQuantityExact;
+    
+    @Column(name = "item_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer itemCount = 0;
     
@@ -13,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "inventory_item")
+@Table(name = "inventory_item", indexes = {
+    @Index(name = "idx_inventory_item_inventory_active", columnList = "inventory_id, is_active"),
+    @Index(name = "idx_inventory_item_active_expiry", columnList = "is_active, expiry_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
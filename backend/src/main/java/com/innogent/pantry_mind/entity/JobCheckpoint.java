@@ -0,0 +1,51 @@
+package com.innogent.pantry_mind.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked batch job, one row per job and partition (e.g. a kitchen). Each
+ * chunk advances its row in the transaction that processes it, so a run restarted on the
+ * same runDate resumes after lastId instead of rescanning committed chunks.
+ */
+@Entity
+@Table(name = "job_checkpoint")
+@IdClass(JobCheckpoint.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+    
+    @Id
+    @Column(name = "partition_key", length = 100)
+    private String partitionKey;
+    
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+    
+    @Column(name = "processed", nullable = false)
+    private Long processed = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobName;
+        private String partitionKey;
+    }
+}
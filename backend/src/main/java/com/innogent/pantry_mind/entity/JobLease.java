@@ -0,0 +1,83 @@
+package com.innogent.pantry_mind.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One shard of one run of a sharded scheduled job. A node works a shard only while it
+ * holds an unexpired lease; every claim bumps fencingToken, so writes made under an
+ * older token can be rejected. The rows double as run history.
+ */
+@Entity
+@Table(name = "job_lease", indexes = {
+    @Index(name = "idx_job_lease_status", columnList = "status, lease_until")
+})
+@IdClass(JobLease.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+    
+    @Id
+    @Column(name = "run_key", length = 50)
+    private String runKey;
+    
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+    
+    @Column(name = "shard_count", nullable = false)
+    private Integer shardCount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    @Column(name = "owner", length = 200)
+    private String owner;
+    
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken = 0L;
+    
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "items_processed")
+    private Long itemsProcessed;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobName;
+        private String runKey;
+        private Integer shard;
+    }
+}
@@ -4,10 +4,13 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "kitchens")
+@Table(name = "kitchens", indexes = {
+    @Index(name = "idx_kitchens_alert_time", columnList = "alert_time_hour, alert_time_minute")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +33,11 @@ public class Kitchen {
     
     @Column(name = "alerts_enabled")
     private Boolean alertsEnabled = true;
+    
+    // Day the daily alerts were last claimed for; written only by the alert claim statement,
+    // so saving a kitchen loaded earlier cannot roll it back
+    @Column(name = "last_alert_date", insertable = false, updatable = false)
+    private LocalDate lastAlertDate;
 
     @OneToMany(mappedBy = "kitchen", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<User> users;
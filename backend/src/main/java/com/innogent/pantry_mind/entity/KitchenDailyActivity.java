@@ -0,0 +1,54 @@
+package com.innogent.pantry_mind.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-kitchen, per-day totals of waste, consumption and purchases. Rows are upserted
+ * by the services that write the underlying logs, in the same transaction, so streaks
+ * and daily charts read one primary-key range instead of the raw logs.
+ */
+@Entity
+@Table(name = "kitchen_daily_activity")
+@IdClass(KitchenDailyActivity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenDailyActivity {
+    @Id
+    @Column(name = "kitchen_id")
+    private Long kitchenId;
+    
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+    
+    @Column(name = "waste_count", nullable = false)
+    private Long wasteCount = 0L;
+    
+    @Column(name = "waste_value", precision = 19, scale = 4, nullable = false)
+    private BigDecimal wasteValue = BigDecimal.ZERO;
+    
+    @Column(name = "consumption_count", nullable = false)
+    private Long consumptionCount = 0L;
+    
+    @Column(name = "consumed_value", precision = 19, scale = 4, nullable = false)
+    private BigDecimal consumedValue = BigDecimal.ZERO;
+    
+    @Column(name = "purchase_spend", precision = 19, scale = 4, nullable = false)
+    private BigDecimal purchaseSpend = BigDecimal.ZERO;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long kitchenId;
+        private LocalDate activityDate;
+    }
+}
@@ -0,0 +1,63 @@
+package com.innogent.pantry_mind.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-kitchen dashboard snapshot. Domain writes mark it stale and bump changeVersion;
+ * the next read recomputes it. statsDate records the day the expiry window was
+ * evaluated for, since that count moves with the calendar. itemsChangedAt is stamped by
+ * every write except expiry status transitions, so nodes can poll for kitchens whose
+ * items changed elsewhere.
+ */
+@Entity
+@Table(name = "kitchen_stats", indexes = {
+    @Index(name = "idx_kitchen_stats_items_changed_at", columnList = "items_changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenStats {
+    @Id
+    @Column(name = "kitchen_id")
+    private Long kitchenId;
+    
+    @Column(name = "total_products")
+    private Long totalProducts;
+    
+    @Column(name = "total_value")
+    private Double totalValue;
+    
+    @Column(name = "low_stock_count")
+    private Long lowStockCount;
+    
+    @Column(name = "expiry_count")
+    private Long expiryCount;
+    
+    @Column(name = "expired_products_count")
+    private Long expiredProductsCount;
+    
+    @Column(name = "expired_waste_value", precision = 19, scale = 4)
+    private BigDecimal expiredWasteValue;
+    
+    @Column(name = "stats_date")
+    private LocalDate statsDate;
+    
+    @Column(name = "stale", nullable = false)
+    private Boolean stale = true;
+    
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+    
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+    
+    @Column(name = "items_changed_at")
+    private LocalDateTime itemsChangedAt;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Entity
 @Data
 @NoArgsConstructor
@@ -18,4 +20,12 @@ public class Unit {
     private String name;
 
     private String type;
+
+    // Unit this one converts into; null when the unit is its own base
+    @Column(name = "base_unit_name")
+    private String baseUnitName;
+
+    // Multiplier into the base unit, e.g. 1000 for kg -> grams
+    @Column(name = "to_base_factor", precision = 19, scale = 6)
+    private BigDecimal toBaseFactor;
 }
@@ -0,0 +1,15 @@
+package com.innogent.pantry_mind.event;
+
+/**
+ * Raised inside the writing transaction whenever inventory, usage, waste or purchase
+ * data of a kitchen changes, so derived per-kitchen snapshots can be invalidated. A null
+ * kitchen id means data of every kitchen may have changed. statusOnly marks writes that
+ * only moved items between expiry statuses, which the expiry index raises for its own
+ * transitions and does not need to hear back.
+ */
+public record KitchenStatsChangedEvent(Long kitchenId, boolean statusOnly) {
+
+    public KitchenStatsChangedEvent(Long kitchenId) {
+        this(kitchenId, false);
+    }
+}
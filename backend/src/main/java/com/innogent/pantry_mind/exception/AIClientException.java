@@ -0,0 +1,11 @@
+package com.innogent.pantry_mind.exception;
+
+public class AIClientException extends RuntimeException {
+    public AIClientException(String message) {
+        super(message);
+    }
+
+    public AIClientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
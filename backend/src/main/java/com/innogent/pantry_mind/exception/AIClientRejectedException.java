@@ -0,0 +1,8 @@
+package com.innogent.pantry_mind.exception;
+
+// Raised when the client turns a call away itself (bulkhead full, circuit open), before any request is sent
+public class AIClientRejectedException extends AIClientException {
+    public AIClientRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.innogent.pantry_mind.exception;
+
+// Not an IllegalArgumentException, which repository exception translation would turn into a 500
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.innogent.pantry_mind.exception;
+
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
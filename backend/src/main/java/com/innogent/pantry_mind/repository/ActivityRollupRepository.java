@@ -0,0 +1,46 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.ActivityRollup;
+import com.innogent.pantry_mind.entity.ActivityRollup.Dimension;
+import com.innogent.pantry_mind.entity.ActivityRollup.Granularity;
+import com.innogent.pantry_mind.entity.ActivityRollup.Metric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, ActivityRollup.Key>,
+        ActivityRollupRepositoryCustom {
+    
+    @Query("SELECT r FROM ActivityRollup r WHERE r.kitchenId = :kitchenId AND r.metric = :metric " +
+           "AND r.granularity = :granularity AND r.dimension = :dimension AND r.bucketStart >= :from " +
+           "ORDER BY r.bucketStart")
+    List<ActivityRollup> findBuckets(@Param("kitchenId") Long kitchenId,
+                                     @Param("metric") Metric metric,
+                                     @Param("granularity") Granularity granularity,
+                                     @Param("dimension") Dimension dimension,
+                                     @Param("from") LocalDate from);
+    
+    List<ActivityRollup> findTop6ByKitchenIdAndMetricAndGranularityAndDimensionOrderByBucketStartDesc(
+            Long kitchenId, Metric metric, Granularity granularity, Dimension dimension);
+    
+    // All-time totals per breakdown value, read from the month buckets
+    @Query("SELECT r.dimensionValue, SUM(r.eventCount), SUM(r.quantity), SUM(r.amount) FROM ActivityRollup r " +
+           "WHERE r.kitchenId = :kitchenId AND r.metric = :metric AND r.granularity = 'MONTH' " +
+           "AND r.dimension = :dimension GROUP BY r.dimensionValue ORDER BY SUM(r.eventCount) DESC")
+    List<Object[]> sumByDimensionValue(@Param("kitchenId") Long kitchenId,
+                                       @Param("metric") Metric metric,
+                                       @Param("dimension") Dimension dimension);
+    
+    @Query("SELECT COALESCE(SUM(r.eventCount), 0) FROM ActivityRollup r " +
+           "WHERE r.kitchenId = :kitchenId AND r.metric = :metric AND r.granularity = 'MONTH' " +
+           "AND r.dimension = :dimension AND r.dimensionValue = :dimensionValue")
+    long countEvents(@Param("kitchenId") Long kitchenId,
+                     @Param("metric") Metric metric,
+                     @Param("dimension") Dimension dimension,
+                     @Param("dimensionValue") String dimensionValue);
+}
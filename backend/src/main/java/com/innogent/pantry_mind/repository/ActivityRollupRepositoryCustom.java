@@ -0,0 +1,19 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.ActivityRollup;
+
+import java.util.Collection;
+
+public interface ActivityRollupRepositoryCustom {
+
+    // Adds each delta to its bucket in one multi-row upsert; keys must be distinct
+    void increment(Collection<ActivityRollup> deltas);
+
+    /**
+     * Recomputes the rollup from usage_logs, waste_logs and purchase_logs, for one kitchen
+     * or, when kitchenId is null, for every kitchen.
+     *
+     * @return the number of bucket rows written
+     */
+    int rebuild(Long kitchenId);
+}
@@ -0,0 +1,112 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.ActivityRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ActivityRollupRepositoryCustomImpl implements ActivityRollupRepositoryCustom {
+
+    private static final String COLUMNS =
+        "(kitchen_id, metric, granularity, bucket_start, dimension, dimension_value, event_count, quantity, amount)";
+
+    private static final String ADD_ON_CONFLICT =
+        " ON CONFLICT (kitchen_id, metric, granularity, bucket_start, dimension, dimension_value) DO UPDATE SET " +
+        "event_count = activity_rollup.event_count + EXCLUDED.event_count, " +
+        "quantity = activity_rollup.quantity + EXCLUDED.quantity, " +
+        "amount = activity_rollup.amount + EXCLUDED.amount";
+
+    // Every source row fans out to DAY and MONTH buckets for TOTAL, ITEM and, when present,
+    // its REASON or SOURCE breakdown; %1$s, %2$s and %3$s filter each source by kitchen
+    private static final String REBUILD_SQL =
+        "INSERT INTO activity_rollup " + COLUMNS + " " +
+        "SELECT src.kitchen_id, src.metric, g.granularity, " +
+        "CASE g.granularity WHEN 'DAY' THEN CAST(src.occurred_at AS DATE) " +
+        "ELSE CAST(DATE_TRUNC('month', src.occurred_at) AS DATE) END, " +
+        "d.dimension, d.dimension_value, COUNT(*), SUM(src.quantity), SUM(src.amount) FROM (" +
+        "SELECT ul.kitchen_id, 'USAGE' AS metric, ul.used_at AS occurred_at, inv.name AS item_name, " +
+        "CAST(NULL AS VARCHAR) AS detail_dimension, CAST(NULL AS VARCHAR) AS detail_value, " +
+        "COALESCE(ul.quantity_used, 0) AS quantity, " +
+        "CASE WHEN ii.original_quantity > 0 AND ii.price IS NOT NULL " +
+        "THEN ii.price / ii.original_quantity * ul.quantity_used ELSE 0 END AS amount " +
+        "FROM usage_logs ul LEFT JOIN inventory_item ii ON ii.id = ul.inventory_item_id " +
+        "LEFT JOIN inventory inv ON inv.id = ii.inventory_id WHERE ul.used_at IS NOT NULL %1$s " +
+        "UNION ALL " +
+        "SELECT w.kitchen_id, 'WASTE', w.wasted_at, COALESCE(w.item_name, inv.name), 'REASON', w.waste_reason, " +
+        "COALESCE(w.quantity_wasted, 0), COALESCE(w.estimated_value, 0) " +
+        "FROM waste_logs w LEFT JOIN inventory_item ii ON ii.id = w.inventory_item_id " +
+        "LEFT JOIN inventory inv ON inv.id = ii.inventory_id WHERE w.wasted_at IS NOT NULL %2$s " +
+        "UNION ALL " +
+        "SELECT p.kitchen_id, 'PURCHASE', p.purchased_at, p.item_name, 'SOURCE', p.purchase_source, " +
+        "COALESCE(p.quantity, 0), COALESCE(p.price_paid, 0) " +
+        "FROM purchase_logs p WHERE p.purchased_at IS NOT NULL %3$s" +
+        ") src " +
+        "CROSS JOIN (VALUES ('DAY'), ('MONTH')) g(granularity) " +
+        "CROSS JOIN LATERAL (VALUES ('TOTAL', ''), ('ITEM', COALESCE(src.item_name, '')), " +
+        "(src.detail_dimension, src.detail_value)) d(dimension, dimension_value) " +
+        "WHERE d.dimension IS NOT NULL AND d.dimension_value IS NOT NULL " +
+        "GROUP BY src.kitchen_id, src.metric, g.granularity, 4, d.dimension, d.dimension_value " +
+        "ON CONFLICT (kitchen_id, metric, granularity, bucket_start, dimension, dimension_value) DO UPDATE SET " +
+        "event_count = EXCLUDED.event_count, quantity = EXCLUDED.quantity, amount = EXCLUDED.amount";
+
+    // Fixed lock order, so concurrent upserts touching overlapping buckets cannot deadlock
+    private static final Comparator<ActivityRollup> KEY_ORDER = Comparator
+        .comparing(ActivityRollup::getKitchenId)
+        .thenComparing(ActivityRollup::getMetric)
+        .thenComparing(ActivityRollup::getGranularity)
+        .thenComparing(ActivityRollup::getBucketStart)
+        .thenComparing(ActivityRollup::getDimension)
+        .thenComparing(ActivityRollup::getDimensionValue);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void increment(Collection<ActivityRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<ActivityRollup> ordered = deltas.stream().sorted(KEY_ORDER).toList();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("INSERT INTO activity_rollup ").append(COLUMNS).append(" VALUES ");
+        for (int i = 0; i < ordered.size(); i++) {
+            ActivityRollup delta = ordered.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:k").append(i).append(", :m").append(i).append(", :g").append(i)
+               .append(", :b").append(i).append(", :d").append(i).append(", :v").append(i)
+               .append(", :c").append(i).append(", :q").append(i).append(", :a").append(i).append(')');
+            params.addValue("k" + i, delta.getKitchenId())
+                  .addValue("m" + i, delta.getMetric().name())
+                  .addValue("g" + i, delta.getGranularity().name())
+                  .addValue("b" + i, delta.getBucketStart())
+                  .addValue("d" + i, delta.getDimension().name())
+                  .addValue("v" + i, delta.getDimensionValue())
+                  .addValue("c" + i, delta.getEventCount())
+                  .addValue("q" + i, delta.getQuantity())
+                  .addValue("a" + i, delta.getAmount());
+        }
+        jdbcTemplate.update(sql.append(ADD_ON_CONFLICT).toString(), params);
+    }
+
+    @Override
+    public int rebuild(Long kitchenId) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        // Buckets whose source rows are gone would otherwise keep their old totals
+        if (kitchenId == null) {
+            jdbcTemplate.update("DELETE FROM activity_rollup", params);
+            return jdbcTemplate.update(String.format(REBUILD_SQL, "", "", ""), params);
+        }
+        params.addValue("kitchenId", kitchenId);
+        jdbcTemplate.update("DELETE FROM activity_rollup WHERE kitchen_id = :kitchenId", params);
+        return jdbcTemplate.update(String.format(REBUILD_SQL,
+                "AND ul.kitchen_id = :kitchenId",
+                "AND w.kitchen_id = :kitchenId",
+                "AND p.kitchen_id = :kitchenId"), params);
+    }
+}
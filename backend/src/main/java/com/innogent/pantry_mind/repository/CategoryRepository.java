@@ -1,12 +1,30 @@
 package com.innogent.pantry_mind.repository;
 
+import com.innogent.pantry_mind.config.CacheConfig;
 import com.innogent.pantry_mind.entity.Category;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES_BY_NAME, unless = "#result == null")
     Optional<Category> findByName(String name);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES_BY_ID, unless = "#result == null")
+    Optional<Category> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
+    List<Category> findAll();
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_ID, CacheConfig.CATEGORIES_BY_NAME},
+            allEntries = true)
+    <S extends Category> S save(S category);
 }
@@ -26,6 +26,18 @@ public interface ConsumptionEventRepository extends JpaRepository<ConsumptionEve
     @Query("SELECT COUNT(ce) FROM ConsumptionEvent ce WHERE ce.kitchen.id = :kitchenId")
     long countByKitchenId(@Param("kitchenId") Long kitchenId);
     
+    // Latest event per item in the window, priced from the newest priced batch of the same name
+    @Query(value = "SELECT latest.created_at, latest.canonical_name, COALESCE(price.price, 0) FROM (" +
+                   "SELECT DISTINCT ON (ce.canonical_name) ce.canonical_name, ce.created_at " +
+                   "FROM consumption_events ce WHERE ce.kitchen_id = :kitchenId AND ce.created_at >= :since " +
+                   "ORDER BY ce.canonical_name, ce.created_at DESC) latest " +
+                   "LEFT JOIN LATERAL (SELECT ii.price FROM inventory_item ii JOIN inventory i ON i.id = ii.inventory_id " +
+                   "WHERE i.kitchen_id = :kitchenId AND i.name = latest.canonical_name AND ii.price IS NOT NULL " +
+                   "ORDER BY ii.id DESC LIMIT 1) price ON true " +
+                   "ORDER BY latest.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findRecentWins(@Param("kitchenId") Long kitchenId, @Param("since") LocalDateTime since,
+                                  @Param("limit") int limit);
+    
     @Modifying
     @Transactional
     @Query("UPDATE ConsumptionEvent ce SET ce.createdAt = :createdAt WHERE ce.id = :id")
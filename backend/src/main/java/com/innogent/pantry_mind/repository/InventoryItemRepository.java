@@ -2,17 +2,20 @@ package com.innogent.pantry_mind.repository;
 
 import com.innogent.pantry_mind.entity.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 @Repository
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long>, InventoryItemRepositoryCustom {
     
     // NEW QUERIES FOR TRACKING SYSTEM
     List<InventoryItem> findByInventoryIdAndIsActiveTrue(Long inventoryId);
@@ -20,9 +23,35 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     @Query("SELECT i FROM InventoryItem i WHERE i.inventory.id = :inventoryId AND i.isActive = true ORDER BY i.expiryDate ASC")
     List<InventoryItem> findByInventoryIdAndIsActiveTrueOrderByExpiryDateAsc(@Param("inventoryId") Long inventoryId);
     
+    // FIFO-ordered active items for several inventories in one round trip (batched consumption)
+    @Query("SELECT i FROM InventoryItem i WHERE i.inventory.id IN :inventoryIds AND i.isActive = true ORDER BY i.inventory.id, i.expiryDate ASC, i.id ASC")
+    List<InventoryItem> findActiveByInventoryIdsOrderByExpiryDateAsc(@Param("inventoryIds") Collection<Long> inventoryIds);
+    
     @Query("SELECT i FROM InventoryItem i WHERE i.inventory.kitchenId = :kitchenId AND i.isActive = true AND i.expiryDate <= :currentDate")
     List<InventoryItem> findExpiredActiveItems(@Param("kitchenId") Long kitchenId, @Param("currentDate") Date currentDate);
     
+    // Kitchens of one nightly expiry sweep shard; served by idx_inventory_item_active_expiry
+    @Query(value = "SELECT DISTINCT inv.kitchen_id FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+                   "WHERE ii.is_active = true AND ii.expiry_date < :cutoff " +
+                   "AND MOD(inv.kitchen_id, :shardCount) = :shard ORDER BY inv.kitchen_id", nativeQuery = true)
+    List<Long> findKitchenIdsWithExpiredItems(@Param("cutoff") java.time.LocalDateTime cutoff,
+                                              @Param("shardCount") int shardCount,
+                                              @Param("shard") int shard);
+    
+    // Expiry index rows: item id, kitchen id, expiry day, alert window in days and stored status
+    @Query(value = "SELECT ii.id, inv.kitchen_id, CAST(ii.expiry_date AS DATE), COALESCE(inv.min_expiry_days_alert, 3), ii.status " +
+                   "FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+                   "WHERE ii.is_active = true AND ii.expiry_date IS NOT NULL " +
+                   "AND (CAST(:kitchenId AS BIGINT) IS NULL OR inv.kitchen_id = :kitchenId)", nativeQuery = true)
+    List<Object[]> findExpiryIndexRows(@Param("kitchenId") Long kitchenId);
+    
+    // Only moves active items between the expiry-driven statuses
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE inventory_item SET status = :status WHERE id IN (:ids) AND is_active = true " +
+                   "AND (status IS NULL OR status IN ('FRESH', 'EXPIRING_SOON', 'EXPIRED'))", nativeQuery = true)
+    int updateActiveStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+    
     @Query("SELECT SUM(i.currentQuantity) FROM InventoryItem i WHERE i.inventory.id = :inventoryId AND i.isActive = true")
     BigDecimal sumCurrentQuantityByInventoryId(@Param("inventoryId") Long inventoryId);
     @Query("SELECT i FROM InventoryItem i LEFT JOIN FETCH i.createdByUser WHERE i.inventory.id = :inventoryId")
@@ -0,0 +1,23 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.WasteLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InventoryItemRepositoryCustom {
+
+    /**
+     * Locks the next chunk of a kitchen's active items expiring before cutoff, in id order
+     * after afterId. Must run inside the transaction that then wastes them.
+     */
+    List<Long> lockExpiredChunk(Long kitchenId, LocalDateTime cutoff, long afterId, int limit);
+
+    /**
+     * Moves locked items to waste with set-based statements: one INSERT..SELECT for the
+     * waste logs, one UPDATE for the parent inventory totals and one for the items.
+     *
+     * @return the inserted waste logs (id, item, kitchen, name, quantity and value)
+     */
+    List<WasteLog> moveExpiredToWaste(List<Long> itemIds, Long reportedBy);
+}
@@ -0,0 +1,84 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.WasteLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryItemRepositoryCustomImpl implements InventoryItemRepositoryCustom {
+
+    private static final String LOCK_CHUNK_SQL =
+        "SELECT ii.id FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+        "WHERE inv.kitchen_id = :kitchenId AND ii.is_active = true AND ii.expiry_date < :cutoff " +
+        "AND ii.id > :afterId ORDER BY ii.id LIMIT :limit FOR UPDATE OF ii";
+
+    // Valued like the per-item path: the remaining share of the batch price, to the paisa
+    private static final String INSERT_WASTE_SQL =
+        "INSERT INTO waste_logs (inventory_item_id, kitchen_id, item_name, reported_by, quantity_wasted, unit_id, " +
+        "waste_reason, estimated_value, expiry_date, notes, wasted_at) " +
+        "SELECT ii.id, inv.kitchen_id, inv.name, :reportedBy, ii.current_quantity, inv.unit_id, 'EXPIRED', " +
+        "CASE WHEN ii.price IS NOT NULL AND ii.original_quantity > 0 " +
+        "THEN ROUND(ii.price * ii.current_quantity / ii.original_quantity, 2) ELSE 0 END, " +
+        "CAST(ii.expiry_date AS DATE), " +
+        "'Automatically logged - item expired on ' || CAST(CAST(ii.expiry_date AS DATE) AS VARCHAR), NOW() " +
+        "FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+        "WHERE ii.id IN (:ids) ORDER BY ii.id " +
+        "RETURNING id, inventory_item_id, kitchen_id, item_name, quantity_wasted, estimated_value, wasted_at";
+
+    // Same rule as InventoryRepository.applyTotalsDelta, applied once per inventory
+    private static final String APPLY_TOTALS_SQL =
+        "UPDATE inventory inv SET " +
+        "total_quantity_exact = CASE WHEN inv.item_count - d.cnt > 0 " +
+        "THEN GREATEST(COALESCE(inv.total_quantity_exact, inv.total_quantity) - d.qty, 0) ELSE 0 END, " +
+        "total_quantity = CASE WHEN inv.item_count - d.cnt > 0 " +
+        "THEN GREATEST(ROUND(COALESCE(inv.total_quantity_exact, inv.total_quantity) - d.qty), 1) ELSE 0 END, " +
+        "item_count = GREATEST(inv.item_count - d.cnt, 0), updated_at = NOW() " +
+        "FROM (SELECT inventory_id, COUNT(*) AS cnt, SUM(current_quantity) AS qty " +
+        "FROM inventory_item WHERE id IN (:ids) GROUP BY inventory_id) d " +
+        "WHERE inv.id = d.inventory_id";
+
+    private static final String MARK_WASTED_SQL =
+        "UPDATE inventory_item SET current_quantity = 0, status = 'WASTED', is_active = false WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> lockExpiredChunk(Long kitchenId, LocalDateTime cutoff, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("kitchenId", kitchenId)
+            .addValue("cutoff", Timestamp.valueOf(cutoff))
+            .addValue("afterId", afterId)
+            .addValue("limit", limit);
+        return jdbcTemplate.queryForList(LOCK_CHUNK_SQL, params, Long.class);
+    }
+
+    @Override
+    public List<WasteLog> moveExpiredToWaste(List<Long> itemIds, Long reportedBy) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", itemIds)
+            .addValue("reportedBy", reportedBy);
+        List<WasteLog> wasteLogs = jdbcTemplate.query(INSERT_WASTE_SQL, params, (rs, rowNum) -> WasteLog.builder()
+            .id(rs.getLong("id"))
+            .inventoryItemId(rs.getLong("inventory_item_id"))
+            .kitchenId(rs.getLong("kitchen_id"))
+            .itemName(rs.getString("item_name"))
+            .quantityWasted(rs.getBigDecimal("quantity_wasted"))
+            .estimatedValue(rs.getBigDecimal("estimated_value"))
+            .wastedAt(rs.getTimestamp("wasted_at").toLocalDateTime())
+            .wasteReason(WasteLog.WasteReason.EXPIRED)
+            .reportedBy(reportedBy)
+            .build());
+        // Totals read the pre-waste quantities, so they must be applied before the items are zeroed
+        jdbcTemplate.update(APPLY_TOTALS_SQL, params);
+        jdbcTemplate.update(MARK_WASTED_SQL, params);
+        return wasteLogs;
+    }
+}
@@ -1,24 +1,31 @@
 package com.innogent.pantry_mind.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.innogent.pantry_mind.entity.Inventory;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryCustom {
     List<Inventory> findByKitchenId(Long kitchenId);
     
+    @Query("SELECT i FROM Inventory i LEFT JOIN FETCH i.unit WHERE i.id IN :ids")
+    List<Inventory> findAllWithUnitByIdIn(@Param("ids") Collection<Long> ids);
+    
     Optional<Inventory> findByNormalizedNameAndCategoryIdAndUnitIdAndKitchenId(
         String normalizedName, Long categoryId, Long unitId, Long kitchenId);
     
-    @Query("SELECT i.name FROM Inventory i WHERE i.kitchenId = :kitchenId AND i.category.id = :categoryId AND i.unit.id = :unitId")
-    List<String> findExistingNamesByKitchenAndCategoryAndUnit(
+    @Query("SELECT i.normalizedName FROM Inventory i WHERE i.kitchenId = :kitchenId AND i.category.id = :categoryId AND i.unit.id = :unitId AND i.normalizedName IS NOT NULL")
+    List<String> findNormalizedNamesByKitchenAndCategoryAndUnit(
         @Param("kitchenId") Long kitchenId, 
         @Param("categoryId") Long categoryId, 
         @Param("unitId") Long unitId);
@@ -66,4 +73,73 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
            "GROUP BY c.name " +
            "ORDER BY COUNT(i) DESC")
     List<Object[]> findCategoryBreakdownByKitchen(@Param("kitchenId") Long kitchenId);
+    
+    // Delta maintenance of totals, issued alongside each item mutation. The exact sum is kept in
+    // total_quantity_exact (NULL on rows created before it existed, seeded from total_quantity);
+    // total_quantity is ROUND(exact), but never below 1 while the group has active items so that
+    // nearly-used-up groups stay listed - the same rule as the full recompute.
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE inventory SET " +
+                   "total_quantity_exact = CASE WHEN item_count + :countDelta > 0 " +
+                   "THEN GREATEST(COALESCE(total_quantity_exact, total_quantity) + :quantityDelta, 0) ELSE 0 END, " +
+                   "total_quantity = CASE WHEN item_count + :countDelta > 0 " +
+                   "THEN GREATEST(ROUND(COALESCE(total_quantity_exact, total_quantity) + :quantityDelta), 1) ELSE 0 END, " +
+                   "item_count = GREATEST(item_count + :countDelta, 0), " +
+                   "updated_at = NOW() " +
+                   "WHERE id = :inventoryId", nativeQuery = true)
+    int applyTotalsDelta(@Param("inventoryId") Long inventoryId,
+                         @Param("quantityDelta") BigDecimal quantityDelta,
+                         @Param("countDelta") int countDelta);
+    
+    // Recomputes totals from inventory_item, counting items active the way the inventory listing's
+    // active_count does, and rewrites only rows that drifted; returns rows repaired
+    @Modifying
+    @Transactional
+    @Query(value = """
+        WITH actual AS (
+            SELECT inv.id,
+                   COUNT(ii.id) FILTER (WHERE ii.is_active = true
+                       OR (ii.is_active IS NULL AND ii.current_quantity > 0)) AS cnt,
+                   COALESCE(SUM(ii.current_quantity) FILTER (WHERE ii.is_active = true
+                       OR (ii.is_active IS NULL AND ii.current_quantity > 0)), 0) AS exact
+            FROM inventory inv
+            LEFT JOIN inventory_item ii ON ii.inventory_id = inv.id
+            WHERE (CAST(:inventoryId AS BIGINT) IS NULL OR inv.id = :inventoryId)
+            GROUP BY inv.id
+        ),
+        target AS (
+            SELECT id, cnt, exact,
+                   CASE WHEN cnt > 0 THEN GREATEST(ROUND(exact), 1) ELSE 0 END AS total
+            FROM actual
+        )
+        UPDATE inventory i
+        SET item_count = t.cnt,
+            total_quantity_exact = t.exact,
+            total_quantity = t.total
+        FROM target t
+        WHERE i.id = t.id
+          AND (i.item_count IS DISTINCT FROM t.cnt
+               OR i.total_quantity_exact IS DISTINCT FROM t.exact
+               OR i.total_quantity IS DISTINCT FROM t.total)
+        """, nativeQuery = true)
+    int reconcileTotals(@Param("inventoryId") Long inventoryId);
+    
+    // One-time fill of min_stock for rows created before Inventory.setDefaultMinStock ran on save;
+    // mirrors its unit-name rules. Idempotent, returns rows filled.
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE inventory i
+        SET min_stock = COALESCE((
+            SELECT CASE
+                WHEN LOWER(u.name) LIKE '%gm%' OR LOWER(u.name) LIKE '%gram%'
+                  OR LOWER(u.name) LIKE '%ml%' OR LOWER(u.name) LIKE '%liter%' THEN 250
+                WHEN LOWER(u.name) LIKE '%piece%' OR LOWER(u.name) LIKE '%pcs%' THEN 5
+                ELSE 250
+            END
+            FROM units u WHERE u.id = i.unit_id), 250)
+        WHERE i.min_stock IS NULL
+        """, nativeQuery = true)
+    int backfillMinStock();
 }
@@ -0,0 +1,36 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO;
+import com.innogent.pantry_mind.dto.response.DashboardStatsDTO;
+import com.innogent.pantry_mind.dto.response.ExpiryAnalyticsPageDTO;
+import com.innogent.pantry_mind.dto.response.InventoryPageResponseDTO;
+import com.innogent.pantry_mind.dto.response.InventoryResponseDTO;
+import com.innogent.pantry_mind.dto.response.MoneyFlowDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface InventoryRepositoryCustom {
+
+    // Read-only listing rows (active count, earliest expiry, category/unit names) in one statement
+    List<InventoryResponseDTO> findInventoryRowsByKitchen(Long kitchenId);
+
+    // Keyset-paginated variant with sort and filters
+    InventoryPageResponseDTO findInventoryPage(Long kitchenId, InventoryListRequestDTO request);
+
+    // Global (all kitchens) rows with stock on hand, keyset-paged by inventory id
+    InventoryPageResponseDTO findAllInventoryPage(Long afterId, Integer limit);
+
+    // Global rows pushed to the consumer one at a time through a server-side cursor
+    void streamAllInventoryRows(Consumer<InventoryResponseDTO> consumer);
+
+    // Dashboard counters and values for one kitchen in a single round trip
+    DashboardStatsDTO findDashboardStats(Long kitchenId);
+
+    // Spent, consumed, wasted and saved-from-alert totals since a point in time, in a single round trip
+    MoneyFlowDTO findMoneyFlowTotals(Long kitchenId, LocalDateTime since);
+
+    // Active batches with an expiry date, bucketed by days left; counts cover all of them, items one keyset page
+    ExpiryAnalyticsPageDTO findExpiryPage(Long kitchenId, String cursor, Integer limit);
+}
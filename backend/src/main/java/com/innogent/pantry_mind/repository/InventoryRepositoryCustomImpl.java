@@ -0,0 +1,361 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO;
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO.SortDirection;
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO.SortField;
+import com.innogent.pantry_mind.dto.response.DashboardStatsDTO;
+import com.innogent.pantry_mind.dto.response.ExpiryAnalyticsPageDTO;
+import com.innogent.pantry_mind.dto.response.ExpiryItemDTO;
+import com.innogent.pantry_mind.dto.response.InventoryPageResponseDTO;
+import com.innogent.pantry_mind.dto.response.InventoryResponseDTO;
+import com.innogent.pantry_mind.dto.response.MoneyFlowDTO;
+import com.innogent.pantry_mind.exception.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class InventoryRepositoryCustomImpl implements InventoryRepositoryCustom {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // Per-group aggregate evaluated through the inventory_item(inventory_id) index, so a page
+    // or a streamed prefix only touches the groups it returns
+    private static final String GLOBAL_SELECT =
+        "SELECT i.id, i.name, i.category_id, c.name AS category_name, i.unit_id, u.name AS unit_name, " +
+        "i.total_quantity, i.min_expiry_days_alert, i.min_stock, agg.active_count, agg.earliest_expiry " +
+        "FROM inventory i " +
+        "CROSS JOIN LATERAL (SELECT " +
+        "COUNT(*) FILTER (WHERE ii.is_active = true OR (ii.is_active IS NULL AND ii.current_quantity > 0)) AS active_count, " +
+        "MIN(ii.expiry_date) FILTER (WHERE ii.expiry_date >= CURRENT_DATE) AS earliest_expiry " +
+        "FROM inventory_item ii WHERE ii.inventory_id = i.id) agg " +
+        "LEFT JOIN category c ON c.id = i.category_id " +
+        "LEFT JOIN units u ON u.id = i.unit_id " +
+        "WHERE agg.active_count > 0 AND i.total_quantity > 0";
+
+    // Expiring = earliest unexpired batch falls within that inventory's own alert window
+    private static final String DASHBOARD_STATS_SQL =
+        "WITH inv AS (" +
+        "SELECT i.total_quantity, i.min_stock, i.min_expiry_days_alert, " +
+        "agg.active_count, agg.earliest_expiry, agg.total_price " +
+        "FROM inventory i " +
+        "LEFT JOIN (SELECT ii.inventory_id, " +
+        "COUNT(*) FILTER (WHERE ii.is_active = true OR (ii.is_active IS NULL AND ii.current_quantity > 0)) AS active_count, " +
+        "MIN(ii.expiry_date) FILTER (WHERE ii.expiry_date >= CURRENT_DATE) AS earliest_expiry, " +
+        "SUM(ii.price) AS total_price " +
+        "FROM inventory_item ii JOIN inventory p ON p.id = ii.inventory_id " +
+        "WHERE p.kitchen_id = :kitchenId " +
+        "GROUP BY ii.inventory_id) agg ON agg.inventory_id = i.id " +
+        "WHERE i.kitchen_id = :kitchenId) " +
+        "SELECT s.total_products, s.total_value, s.low_stock_count, s.expiry_count, " +
+        "w.expired_products_count, w.expired_waste_value " +
+        "FROM (SELECT " +
+        "COUNT(*) FILTER (WHERE total_quantity > 0) AS total_products, " +
+        "COALESCE(SUM(total_price), 0) AS total_value, " +
+        "COUNT(*) FILTER (WHERE total_quantity > 0 AND total_quantity < min_stock) AS low_stock_count, " +
+        "COUNT(*) FILTER (WHERE active_count > 0 AND total_quantity > 0 " +
+        "AND CAST(earliest_expiry AS DATE) <= CURRENT_DATE + COALESCE(min_expiry_days_alert, 3)) AS expiry_count " +
+        "FROM inv) s " +
+        "CROSS JOIN (SELECT COUNT(*) AS expired_products_count, " +
+        "COALESCE(SUM(wl.estimated_value), 0) AS expired_waste_value " +
+        "FROM waste_logs wl WHERE wl.kitchen_id = :kitchenId AND wl.waste_reason = 'EXPIRED') w";
+
+    // Usage is valued at the batch's per-unit price times the quantity used;
+    // a use counts as saved when it happened before the batch expired
+    private static final String MONEY_FLOW_SQL =
+        "SELECT (SELECT COALESCE(SUM(p.price_paid), 0) FROM purchase_logs p " +
+        "WHERE p.kitchen_id = :kitchenId AND p.purchased_at >= :since) AS total_spent, " +
+        "u.total_consumed, u.saved_from_alerts, " +
+        "(SELECT COALESCE(SUM(w.estimated_value), 0) FROM waste_logs w " +
+        "WHERE w.kitchen_id = :kitchenId AND w.wasted_at >= :since) AS total_wasted " +
+        "FROM (SELECT " +
+        "COALESCE(SUM(ii.price / ii.original_quantity * ul.quantity_used), 0) AS total_consumed, " +
+        "COALESCE(SUM(ii.price / ii.original_quantity * ul.quantity_used) " +
+        "FILTER (WHERE ii.expiry_date >= ul.used_at), 0) AS saved_from_alerts " +
+        "FROM usage_logs ul JOIN inventory_item ii ON ii.id = ul.inventory_item_id " +
+        "WHERE ul.kitchen_id = :kitchenId AND ul.used_at >= :since AND ii.original_quantity > 0) u";
+
+    // Summary is a one-row aggregate left-joined to the page, so an empty page still returns the counts.
+    // Pages follow (expiry day, id), which unlike days left does not shift at midnight
+    private static final String EXPIRY_PAGE_SQL =
+        "WITH bucketed AS (" +
+        "SELECT ii.id, i.name, ii.expiry_date, ii.current_quantity, LOWER(u.name) AS unit_name, " +
+        "CAST(ii.expiry_date AS DATE) AS expiry_day, CAST(ii.expiry_date AS DATE) - CURRENT_DATE AS days_left " +
+        "FROM inventory_item ii JOIN inventory i ON i.id = ii.inventory_id " +
+        "LEFT JOIN units u ON u.id = i.unit_id " +
+        "WHERE i.kitchen_id = :kitchenId AND ii.is_active = true AND ii.expiry_date IS NOT NULL), " +
+        "summary AS (SELECT COUNT(*) AS total_items, " +
+        "COUNT(*) FILTER (WHERE days_left <= 0) AS expired, " +
+        "COUNT(*) FILTER (WHERE days_left BETWEEN 1 AND 3) AS critical, " +
+        "COUNT(*) FILTER (WHERE days_left BETWEEN 4 AND 7) AS warning, " +
+        "COUNT(*) FILTER (WHERE days_left > 7) AS fresh FROM bucketed), " +
+        "page AS (SELECT * FROM bucketed %s ORDER BY expiry_day, id LIMIT :limit) " +
+        "SELECT s.total_items, s.expired, s.critical, s.warning, s.fresh, " +
+        "p.id, p.name, p.expiry_date, p.current_quantity, p.unit_name, p.expiry_day, p.days_left " +
+        "FROM summary s LEFT JOIN page p ON true ORDER BY p.expiry_day, p.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<InventoryResponseDTO> findInventoryRowsByKitchen(Long kitchenId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("kitchenId", kitchenId);
+        String sql = buildSelect(false) + " ORDER BY LOWER(i.name) ASC, i.id ASC";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> mapRow(rs));
+    }
+
+    @Override
+    public InventoryPageResponseDTO findInventoryPage(Long kitchenId, InventoryListRequestDTO request) {
+        SortField sortBy = request.getSortBy() != null ? request.getSortBy() : SortField.NAME;
+        boolean descending = request.getDirection() == SortDirection.DESC;
+        int limit = Math.max(1, Math.min(request.getLimit() != null ? request.getLimit() : 50, MAX_PAGE_SIZE));
+        String sortKey = sortKeyExpression(sortBy);
+
+        MapSqlParameterSource params = new MapSqlParameterSource("kitchenId", kitchenId);
+        StringBuilder sql = new StringBuilder(buildSelect(request.getLocationId() != null));
+
+        if (request.getCategoryId() != null) {
+            sql.append(" AND i.category_id = :categoryId");
+            params.addValue("categoryId", request.getCategoryId());
+        }
+        if (request.getLocationId() != null) {
+            sql.append(" AND agg.location_count > 0");
+            params.addValue("locationId", request.getLocationId());
+        }
+        if (request.getExpiringWithinDays() != null) {
+            sql.append(" AND agg.earliest_expiry < CURRENT_DATE + CAST(:expiringWithinDays AS INTEGER) + 1");
+            params.addValue("expiringWithinDays", request.getExpiringWithinDays());
+        }
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            decodeCursor(request.getCursor(), sortBy, params);
+            sql.append(" AND (").append(sortKey).append(", i.id) ")
+               .append(descending ? "<" : ">").append(" (:cursorKey, :cursorId)");
+        }
+
+        String order = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(sortKey).append(order).append(", i.id").append(order)
+           .append(" LIMIT :limit");
+        params.addValue("limit", limit + 1);
+
+        // The sort key is read back from SQL so the cursor uses exactly the database's ordering value
+        String pageSql = sql.toString().replaceFirst("^SELECT ", "SELECT " + sortKey + " AS sort_key, ");
+        List<PageRow> rows = jdbcTemplate.query(pageSql, params,
+                (rs, rowNum) -> new PageRow(mapRow(rs), rs.getObject("sort_key")));
+        boolean hasMore = rows.size() > limit;
+        List<PageRow> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(sortBy, page.get(page.size() - 1)) : null;
+
+        return InventoryPageResponseDTO.builder()
+                .content(page.stream().map(PageRow::dto).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public InventoryPageResponseDTO findAllInventoryPage(Long afterId, Integer limit) {
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : 50, MAX_PAGE_SIZE));
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId != null ? afterId : 0L)
+                .addValue("limit", pageSize + 1);
+        String sql = GLOBAL_SELECT + " AND i.id > :afterId ORDER BY i.id LIMIT :limit";
+
+        List<InventoryResponseDTO> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> mapRow(rs));
+        boolean hasMore = rows.size() > pageSize;
+        List<InventoryResponseDTO> content = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return InventoryPageResponseDTO.builder()
+                .content(content)
+                .nextCursor(hasMore ? String.valueOf(content.get(content.size() - 1).getId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public void streamAllInventoryRows(Consumer<InventoryResponseDTO> consumer) {
+        // Requires a surrounding transaction: PostgreSQL only honours fetch size with autocommit off
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(GLOBAL_SELECT + " ORDER BY i.id");
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    @Override
+    public DashboardStatsDTO findDashboardStats(Long kitchenId) {
+        return jdbcTemplate.queryForObject(DASHBOARD_STATS_SQL, new MapSqlParameterSource("kitchenId", kitchenId),
+                (rs, rowNum) -> DashboardStatsDTO.builder()
+                        .totalProducts(rs.getLong("total_products"))
+                        .totalValue(rs.getDouble("total_value"))
+                        .lowStockCount(rs.getLong("low_stock_count"))
+                        .expiryCount(rs.getLong("expiry_count"))
+                        .expiredProductsCount(rs.getLong("expired_products_count"))
+                        .expiredWasteValue(rs.getBigDecimal("expired_waste_value"))
+                        .build());
+    }
+
+    @Override
+    public MoneyFlowDTO findMoneyFlowTotals(Long kitchenId, LocalDateTime since) {
+        MapSqlParameterSource params = new MapSqlParameterSource("kitchenId", kitchenId)
+                .addValue("since", Timestamp.valueOf(since));
+        return jdbcTemplate.queryForObject(MONEY_FLOW_SQL, params,
+                (rs, rowNum) -> MoneyFlowDTO.builder()
+                        .totalSpent(rs.getBigDecimal("total_spent"))
+                        .totalConsumed(rs.getBigDecimal("total_consumed"))
+                        .totalWasted(rs.getBigDecimal("total_wasted"))
+                        .savedFromAlerts(rs.getBigDecimal("saved_from_alerts"))
+                        .build());
+    }
+
+    @Override
+    public ExpiryAnalyticsPageDTO findExpiryPage(Long kitchenId, String cursor, Integer limit) {
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : 100, MAX_PAGE_SIZE));
+        MapSqlParameterSource params = new MapSqlParameterSource("kitchenId", kitchenId)
+                .addValue("limit", pageSize + 1);
+        String keyset = "";
+        if (cursor != null && !cursor.isBlank()) {
+            decodeExpiryCursor(cursor, params);
+            keyset = "WHERE (expiry_day, id) > (:cursorDay, :cursorId)";
+        }
+
+        ExpiryAnalyticsPageDTO.ExpiryAnalyticsPageDTOBuilder page = ExpiryAnalyticsPageDTO.builder();
+        List<ExpiryItemDTO> items = new ArrayList<>();
+        jdbcTemplate.query(String.format(EXPIRY_PAGE_SQL, keyset), params, (RowCallbackHandler) rs -> {
+            if (items.isEmpty()) {
+                page.totalItems(rs.getLong("total_items"))
+                    .expired(rs.getLong("expired"))
+                    .critical(rs.getLong("critical"))
+                    .warning(rs.getLong("warning"))
+                    .fresh(rs.getLong("fresh"));
+            }
+            if (rs.getObject("id") != null) {
+                items.add(mapExpiryRow(rs));
+            }
+        });
+
+        boolean hasMore = items.size() > pageSize;
+        List<ExpiryItemDTO> content = hasMore ? items.subList(0, pageSize) : items;
+        String nextCursor = null;
+        if (hasMore) {
+            ExpiryItemDTO last = content.get(content.size() - 1);
+            String raw = LocalDate.parse(last.getExpiryDateFormatted()).toEpochDay() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return page.items(content).nextCursor(nextCursor).hasMore(hasMore).build();
+    }
+
+    private String buildSelect(boolean withLocationCount) {
+        return "SELECT i.id, i.name, i.category_id, c.name AS category_name, i.unit_id, u.name AS unit_name, " +
+               "i.total_quantity, i.min_expiry_days_alert, i.min_stock, agg.active_count, agg.earliest_expiry " +
+               "FROM inventory i " +
+               "JOIN (SELECT ii.inventory_id, " +
+               "COUNT(*) FILTER (WHERE ii.is_active = true OR (ii.is_active IS NULL AND ii.current_quantity > 0)) AS active_count, " +
+               (withLocationCount
+                   ? "COUNT(*) FILTER (WHERE ii.is_active = true AND ii.location_id = :locationId) AS location_count, "
+                   : "") +
+               "MIN(ii.expiry_date) FILTER (WHERE ii.expiry_date >= CURRENT_DATE) AS earliest_expiry " +
+               "FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+               "WHERE inv.kitchen_id = :kitchenId " +
+               "GROUP BY ii.inventory_id) agg ON agg.inventory_id = i.id " +
+               "LEFT JOIN category c ON c.id = i.category_id " +
+               "LEFT JOIN units u ON u.id = i.unit_id " +
+               "WHERE i.kitchen_id = :kitchenId AND agg.active_count > 0";
+    }
+
+    private String sortKeyExpression(SortField sortBy) {
+        return switch (sortBy) {
+            case NAME -> "LOWER(i.name)";
+            case EXPIRY -> "COALESCE(agg.earliest_expiry, TIMESTAMP '9999-12-31')";
+            case QUANTITY -> "i.total_quantity";
+        };
+    }
+
+    private InventoryResponseDTO mapRow(ResultSet rs) throws SQLException {
+        InventoryResponseDTO dto = new InventoryResponseDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setName(rs.getString("name"));
+        dto.setCategoryId(rs.getObject("category_id", Long.class));
+        dto.setCategoryName(rs.getString("category_name"));
+        dto.setUnitId(rs.getObject("unit_id", Long.class));
+        dto.setUnitName(rs.getString("unit_name"));
+        dto.setTotalQuantity(rs.getObject("total_quantity", Long.class));
+        dto.setItemCount(rs.getInt("active_count"));
+        dto.setMinExpiryDaysAlert(rs.getObject("min_expiry_days_alert", Integer.class));
+        dto.setMinStock(rs.getObject("min_stock", Long.class));
+        dto.setEarliestExpiry(rs.getTimestamp("earliest_expiry"));
+        return dto;
+    }
+
+    private String encodeCursor(SortField sortBy, PageRow last) {
+        String key = last.sortKey() instanceof Timestamp timestamp
+                ? String.valueOf(timestamp.getTime())
+                : String.valueOf(last.sortKey());
+        String raw = sortBy.name() + "|" + key + "|" + last.dto().getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The sort field is embedded in the cursor so it cannot be replayed under another sort
+    private void decodeCursor(String cursor, SortField sortBy, MapSqlParameterSource params) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf('|');
+            int last = raw.lastIndexOf('|');
+            if (first < 0 || first == last || !raw.substring(0, first).equals(sortBy.name())) {
+                throw new IllegalArgumentException("cursor does not match sort field " + sortBy);
+            }
+            String key = raw.substring(first + 1, last);
+            params.addValue("cursorKey", switch (sortBy) {
+                case NAME -> key;
+                case EXPIRY -> new Timestamp(Long.parseLong(key));
+                case QUANTITY -> Long.parseLong(key);
+            });
+            params.addValue("cursorId", Long.parseLong(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    private ExpiryItemDTO mapExpiryRow(ResultSet rs) throws SQLException {
+        long daysLeft = rs.getLong("days_left");
+        return ExpiryItemDTO.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name") != null ? rs.getString("name") : "Unnamed Item")
+                .expiryDate(rs.getTimestamp("expiry_date"))
+                .expiryDateFormatted(rs.getDate("expiry_day").toLocalDate().toString())
+                .daysLeft(daysLeft)
+                .status(daysLeft <= 0 ? "expired" : daysLeft <= 3 ? "critical" : daysLeft <= 7 ? "warning" : "fresh")
+                .quantity(rs.getBigDecimal("current_quantity"))
+                .unit(rs.getString("unit_name"))
+                .build();
+    }
+
+    private void decodeExpiryCursor(String cursor, MapSqlParameterSource params) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("malformed expiry cursor");
+            }
+            params.addValue("cursorDay", java.sql.Date.valueOf(LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, separator)))));
+            params.addValue("cursorId", Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    private record PageRow(InventoryResponseDTO dto, Object sortKey) {
+    }
+}
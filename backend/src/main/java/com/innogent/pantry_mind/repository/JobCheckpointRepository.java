@@ -0,0 +1,28 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, JobCheckpoint.Key> {
+    
+    // Moves the checkpoint past a committed chunk; the processed count restarts on a new run date
+    @Modifying
+    @Query(value = "INSERT INTO job_checkpoint (job_name, partition_key, run_date, last_id, processed, updated_at) " +
+                   "VALUES (:jobName, :partitionKey, :runDate, :lastId, :processed, NOW()) " +
+                   "ON CONFLICT (job_name, partition_key) DO UPDATE SET " +
+                   "processed = CASE WHEN job_checkpoint.run_date = EXCLUDED.run_date " +
+                   "THEN job_checkpoint.processed + EXCLUDED.processed ELSE EXCLUDED.processed END, " +
+                   "run_date = EXCLUDED.run_date, last_id = EXCLUDED.last_id, updated_at = NOW()", nativeQuery = true)
+    int advance(@Param("jobName") String jobName,
+                @Param("partitionKey") String partitionKey,
+                @Param("runDate") LocalDate runDate,
+                @Param("lastId") long lastId,
+                @Param("processed") long processed);
+}
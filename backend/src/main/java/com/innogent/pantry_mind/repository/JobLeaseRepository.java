@@ -0,0 +1,9 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, JobLease.Key>, JobLeaseRepositoryCustom {
+}
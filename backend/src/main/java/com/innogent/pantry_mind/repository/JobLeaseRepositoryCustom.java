@@ -0,0 +1,50 @@
+package com.innogent.pantry_mind.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lease operations for sharded jobs. Every statement commits on its own unless called
+ * inside a transaction; the ones taking a fencing token only act while it is current.
+ */
+public interface JobLeaseRepositoryCustom {
+
+    // Creates the run's shard rows unless another node already did
+    void createShards(String jobName, String runKey, int shardCount);
+
+    /**
+     * Leases the lowest pending shard of the run, or one whose lease expired (its node
+     * died) while it has attempts left, bumping the fencing token. Skips rows other nodes
+     * are claiming right now.
+     */
+    Optional<Claim> claimNext(String jobName, String runKey, String owner, int leaseSeconds, int maxAttempts);
+
+    boolean renew(String jobName, String runKey, int shard, long fencingToken, int leaseSeconds);
+
+    /**
+     * Share-locks the lease row if the token is still current. Called inside a unit of
+     * work's transaction, it keeps a takeover from committing until that work commits.
+     */
+    boolean lockIfCurrent(String jobName, String runKey, int shard, long fencingToken);
+
+    boolean complete(String jobName, String runKey, int shard, long fencingToken, long itemsProcessed);
+
+    // Returns the shard to PENDING for another attempt, or marks it FAILED once attempts are used up
+    boolean fail(String jobName, String runKey, int shard, long fencingToken, String error, int maxAttempts);
+
+    /**
+     * Marks FAILED every shard whose lease expired on its last allowed attempt, so a shard
+     * that keeps taking its node down is not leased again. Returns the number parked.
+     */
+    int parkExhausted(int maxAttempts);
+
+    // Runs created since the given time that still have a pending or abandoned shard with attempts left
+    List<RunRef> findRecoverableRuns(LocalDateTime since, int maxAttempts);
+
+    record Claim(int shard, int shardCount, long fencingToken) {
+    }
+
+    record RunRef(String jobName, String runKey) {
+    }
+}
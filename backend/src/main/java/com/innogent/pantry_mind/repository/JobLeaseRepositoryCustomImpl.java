@@ -0,0 +1,126 @@
+package com.innogent.pantry_mind.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class JobLeaseRepositoryCustomImpl implements JobLeaseRepositoryCustom {
+
+    // An expired lease is only taken over while attempts remain; see PARK_EXHAUSTED_SQL for the rest
+    private static final String CLAIMABLE =
+        "(status = 'PENDING' OR (status = 'RUNNING' AND lease_until < NOW() AND attempts < :maxAttempts))";
+
+    private static final String CREATE_SHARDS_SQL =
+        "INSERT INTO job_lease (job_name, run_key, shard, shard_count, status, fencing_token, attempts, created_at) " +
+        "SELECT :jobName, :runKey, s, :shardCount, 'PENDING', 0, 0, NOW() " +
+        "FROM generate_series(0, :shardCount - 1) s " +
+        "ON CONFLICT (job_name, run_key, shard) DO NOTHING";
+
+    private static final String CLAIM_SQL =
+        "UPDATE job_lease SET status = 'RUNNING', owner = :owner, fencing_token = fencing_token + 1, " +
+        "lease_until = NOW() + make_interval(secs => :leaseSeconds), attempts = attempts + 1, " +
+        "started_at = COALESCE(started_at, NOW()), last_error = NULL " +
+        "WHERE (job_name, run_key, shard) = (SELECT job_name, run_key, shard FROM job_lease " +
+        "WHERE job_name = :jobName AND run_key = :runKey AND " + CLAIMABLE + " " +
+        "ORDER BY shard LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+        "RETURNING shard, shard_count, fencing_token";
+
+    private static final String CURRENT =
+        "WHERE job_name = :jobName AND run_key = :runKey AND shard = :shard " +
+        "AND fencing_token = :fencingToken AND status = 'RUNNING'";
+
+    private static final String RENEW_SQL =
+        "UPDATE job_lease SET lease_until = NOW() + make_interval(secs => :leaseSeconds) " + CURRENT;
+
+    private static final String LOCK_IF_CURRENT_SQL =
+        "SELECT COUNT(*) FROM (SELECT 1 FROM job_lease " + CURRENT + " FOR SHARE) held";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE job_lease SET status = 'DONE', lease_until = NULL, finished_at = NOW(), " +
+        "items_processed = :itemsProcessed " + CURRENT;
+
+    private static final String FAIL_SQL =
+        "UPDATE job_lease SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, " +
+        "lease_until = NULL, last_error = :error, " +
+        "finished_at = CASE WHEN attempts >= :maxAttempts THEN NOW() END " + CURRENT;
+
+    private static final String PARK_EXHAUSTED_SQL =
+        "UPDATE job_lease SET status = 'FAILED', lease_until = NULL, finished_at = NOW(), " +
+        "last_error = 'Lease expired on each of ' || attempts || ' attempts' " +
+        "WHERE status = 'RUNNING' AND lease_until < NOW() AND attempts >= :maxAttempts";
+
+    private static final String RECOVERABLE_SQL =
+        "SELECT DISTINCT job_name, run_key FROM job_lease " +
+        "WHERE created_at >= :since AND " + CLAIMABLE;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createShards(String jobName, String runKey, int shardCount) {
+        jdbcTemplate.update(CREATE_SHARDS_SQL, run(jobName, runKey).addValue("shardCount", shardCount));
+    }
+
+    @Override
+    public Optional<Claim> claimNext(String jobName, String runKey, String owner, int leaseSeconds, int maxAttempts) {
+        MapSqlParameterSource params = run(jobName, runKey)
+            .addValue("owner", owner)
+            .addValue("leaseSeconds", leaseSeconds)
+            .addValue("maxAttempts", maxAttempts);
+        List<Claim> claimed = jdbcTemplate.query(CLAIM_SQL, params, (rs, rowNum) ->
+            new Claim(rs.getInt("shard"), rs.getInt("shard_count"), rs.getLong("fencing_token")));
+        return claimed.stream().findFirst();
+    }
+
+    @Override
+    public boolean renew(String jobName, String runKey, int shard, long fencingToken, int leaseSeconds) {
+        return jdbcTemplate.update(RENEW_SQL, current(jobName, runKey, shard, fencingToken)
+            .addValue("leaseSeconds", leaseSeconds)) == 1;
+    }
+
+    @Override
+    public boolean lockIfCurrent(String jobName, String runKey, int shard, long fencingToken) {
+        Long held = jdbcTemplate.queryForObject(LOCK_IF_CURRENT_SQL,
+            current(jobName, runKey, shard, fencingToken), Long.class);
+        return held != null && held == 1;
+    }
+
+    @Override
+    public boolean complete(String jobName, String runKey, int shard, long fencingToken, long itemsProcessed) {
+        return jdbcTemplate.update(COMPLETE_SQL, current(jobName, runKey, shard, fencingToken)
+            .addValue("itemsProcessed", itemsProcessed)) == 1;
+    }
+
+    @Override
+    public boolean fail(String jobName, String runKey, int shard, long fencingToken, String error, int maxAttempts) {
+        return jdbcTemplate.update(FAIL_SQL, current(jobName, runKey, shard, fencingToken)
+            .addValue("error", error)
+            .addValue("maxAttempts", maxAttempts)) == 1;
+    }
+
+    @Override
+    public int parkExhausted(int maxAttempts) {
+        return jdbcTemplate.update(PARK_EXHAUSTED_SQL, new MapSqlParameterSource("maxAttempts", maxAttempts));
+    }
+
+    @Override
+    public List<RunRef> findRecoverableRuns(LocalDateTime since, int maxAttempts) {
+        MapSqlParameterSource params = new MapSqlParameterSource("since", Timestamp.valueOf(since))
+            .addValue("maxAttempts", maxAttempts);
+        return jdbcTemplate.query(RECOVERABLE_SQL, params,
+            (rs, rowNum) -> new RunRef(rs.getString("job_name"), rs.getString("run_key")));
+    }
+
+    private static MapSqlParameterSource run(String jobName, String runKey) {
+        return new MapSqlParameterSource("jobName", jobName).addValue("runKey", runKey);
+    }
+
+    private static MapSqlParameterSource current(String jobName, String runKey, int shard, long fencingToken) {
+        return run(jobName, runKey).addValue("shard", shard).addValue("fencingToken", fencingToken);
+    }
+}
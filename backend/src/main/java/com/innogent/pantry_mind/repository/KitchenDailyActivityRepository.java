@@ -0,0 +1,56 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.KitchenDailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface KitchenDailyActivityRepository extends JpaRepository<KitchenDailyActivity, KitchenDailyActivity.Key>,
+        KitchenDailyActivityRepositoryCustom {
+    
+    // Unit price of the latest batch with this name, valued like MONEY_FLOW_SQL: price / original quantity
+    String LATEST_UNIT_PRICE_BY_NAME =
+        "(SELECT ii.price / ii.original_quantity FROM inventory_item ii JOIN inventory i ON i.id = ii.inventory_id " +
+        "WHERE i.kitchen_id = :kitchenId AND i.name = :itemName AND ii.price IS NOT NULL " +
+        "AND ii.original_quantity > 0 ORDER BY ii.id DESC LIMIT 1)";
+    
+    @Modifying
+    @Query(value = "INSERT INTO kitchen_daily_activity (kitchen_id, activity_date, waste_count, waste_value, " +
+                   "consumption_count, consumed_value, purchase_spend) " +
+                   "VALUES (:kitchenId, :date, :count, :value, 0, 0, 0) " +
+                   "ON CONFLICT (kitchen_id, activity_date) DO UPDATE SET " +
+                   "waste_count = kitchen_daily_activity.waste_count + EXCLUDED.waste_count, " +
+                   "waste_value = kitchen_daily_activity.waste_value + EXCLUDED.waste_value", nativeQuery = true)
+    int addWaste(@Param("kitchenId") Long kitchenId, @Param("date") LocalDate date,
+                 @Param("count") long count, @Param("value") BigDecimal value);
+    
+    @Modifying
+    @Query(value = "INSERT INTO kitchen_daily_activity (kitchen_id, activity_date, waste_count, waste_value, " +
+                   "consumption_count, consumed_value, purchase_spend) " +
+                   "VALUES (:kitchenId, :date, 0, 0, 1, " +
+                   "COALESCE(" + LATEST_UNIT_PRICE_BY_NAME + " * CAST(:quantity AS NUMERIC), 0), 0) " +
+                   "ON CONFLICT (kitchen_id, activity_date) DO UPDATE SET " +
+                   "consumption_count = kitchen_daily_activity.consumption_count + 1, " +
+                   "consumed_value = kitchen_daily_activity.consumed_value + EXCLUDED.consumed_value", nativeQuery = true)
+    int addConsumptionPricedByName(@Param("kitchenId") Long kitchenId, @Param("date") LocalDate date,
+                                   @Param("itemName") String itemName, @Param("quantity") BigDecimal quantity);
+    
+    @Modifying
+    @Query(value = "INSERT INTO kitchen_daily_activity (kitchen_id, activity_date, waste_count, waste_value, " +
+                   "consumption_count, consumed_value, purchase_spend) " +
+                   "VALUES (:kitchenId, :date, 0, 0, 0, 0, :spend) " +
+                   "ON CONFLICT (kitchen_id, activity_date) DO UPDATE SET " +
+                   "purchase_spend = kitchen_daily_activity.purchase_spend + EXCLUDED.purchase_spend", nativeQuery = true)
+    int addPurchase(@Param("kitchenId") Long kitchenId, @Param("date") LocalDate date,
+                    @Param("spend") BigDecimal spend);
+    
+    // Walks the (kitchen_id, activity_date) primary key in order
+    List<KitchenDailyActivity> findByKitchenIdOrderByActivityDateAsc(Long kitchenId);
+}
@@ -0,0 +1,12 @@
+package com.innogent.pantry_mind.repository;
+
+public interface KitchenDailyActivityRepositoryCustom {
+
+    /**
+     * Recomputes the rollup from waste_logs, consumption_events and purchase_logs,
+     * for one kitchen or, when kitchenId is null, for every kitchen.
+     *
+     * @return the number of day rows written
+     */
+    int rebuild(Long kitchenId);
+}
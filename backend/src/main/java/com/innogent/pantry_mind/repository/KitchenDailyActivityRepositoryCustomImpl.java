@@ -0,0 +1,57 @@
+package com.innogent.pantry_mind.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class KitchenDailyActivityRepositoryCustomImpl implements KitchenDailyActivityRepositoryCustom {
+
+    // %1$s filters each source by kitchen; consumption is valued like the incremental path
+    private static final String REBUILD_SQL =
+        "INSERT INTO kitchen_daily_activity (kitchen_id, activity_date, waste_count, waste_value, " +
+        "consumption_count, consumed_value, purchase_spend) " +
+        "SELECT kitchen_id, activity_date, SUM(waste_count), SUM(waste_value), " +
+        "SUM(consumption_count), SUM(consumed_value), SUM(purchase_spend) FROM (" +
+        "SELECT w.kitchen_id, CAST(w.wasted_at AS DATE) AS activity_date, 1 AS waste_count, " +
+        "COALESCE(w.estimated_value, 0) AS waste_value, 0 AS consumption_count, 0 AS consumed_value, " +
+        "0 AS purchase_spend FROM waste_logs w WHERE w.wasted_at IS NOT NULL %1$s " +
+        "UNION ALL " +
+        "SELECT ce.kitchen_id, CAST(ce.created_at AS DATE), 0, 0, 1, " +
+        "COALESCE(price.unit_price * ce.quantity_consumed, 0), 0 " +
+        "FROM consumption_events ce " +
+        "LEFT JOIN LATERAL (SELECT ii.price / ii.original_quantity AS unit_price " +
+        "FROM inventory_item ii JOIN inventory i ON i.id = ii.inventory_id " +
+        "WHERE i.kitchen_id = ce.kitchen_id AND i.name = ce.canonical_name AND ii.price IS NOT NULL " +
+        "AND ii.original_quantity > 0 ORDER BY ii.id DESC LIMIT 1) price ON true " +
+        "WHERE ce.created_at IS NOT NULL %2$s " +
+        "UNION ALL " +
+        "SELECT p.kitchen_id, CAST(p.purchased_at AS DATE), 0, 0, 0, 0, COALESCE(p.price_paid, 0) " +
+        "FROM purchase_logs p WHERE p.purchased_at IS NOT NULL %3$s" +
+        ") activity GROUP BY kitchen_id, activity_date " +
+        "ON CONFLICT (kitchen_id, activity_date) DO UPDATE SET " +
+        "waste_count = EXCLUDED.waste_count, waste_value = EXCLUDED.waste_value, " +
+        "consumption_count = EXCLUDED.consumption_count, consumed_value = EXCLUDED.consumed_value, " +
+        "purchase_spend = EXCLUDED.purchase_spend";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int rebuild(Long kitchenId) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        // Days whose source rows are gone would otherwise keep their old totals
+        if (kitchenId == null) {
+            // Holds off incremental upserts until commit: an increment already applied is waited
+            // for and its log rebuilt, a later one lands on top of the rebuilt rows, none is lost
+            jdbcTemplate.update("LOCK TABLE kitchen_daily_activity IN SHARE ROW EXCLUSIVE MODE", params);
+            jdbcTemplate.update("DELETE FROM kitchen_daily_activity", params);
+            return jdbcTemplate.update(String.format(REBUILD_SQL, "", "", ""), params);
+        }
+        params.addValue("kitchenId", kitchenId);
+        jdbcTemplate.update("DELETE FROM kitchen_daily_activity WHERE kitchen_id = :kitchenId", params);
+        return jdbcTemplate.update(String.format(REBUILD_SQL,
+                "AND w.kitchen_id = :kitchenId",
+                "AND ce.kitchen_id = :kitchenId",
+                "AND p.kitchen_id = :kitchenId"), params);
+    }
+}
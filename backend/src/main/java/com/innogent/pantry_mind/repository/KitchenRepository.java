@@ -3,16 +3,21 @@ package com.innogent.pantry_mind.repository;
 import com.innogent.pantry_mind.entity.Kitchen;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface KitchenRepository extends JpaRepository<Kitchen, Long> {
+public interface KitchenRepository extends JpaRepository<Kitchen, Long>, KitchenRepositoryCustom {
     Optional<Kitchen> findByName(String name);
     Optional<Kitchen> findByInvitationCode(String invitationCode);
     
     @Query("SELECT k.id FROM Kitchen k")
     List<Long> findAllKitchenIds();
+    
+    // Kitchens of one shard of a sharded job
+    @Query(value = "SELECT id FROM kitchens WHERE MOD(id, :shardCount) = :shard ORDER BY id", nativeQuery = true)
+    List<Long> findKitchenIdsInShard(@Param("shardCount") int shardCount, @Param("shard") int shard);
 }
@@ -0,0 +1,21 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.response.KitchenAlertCountsDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface KitchenRepositoryCustom {
+
+    /**
+     * Marks kitchens whose alert time falls in [from, to] and that were not alerted on
+     * today as alerted, in one committed statement, and returns their ids. Concurrent
+     * callers get disjoint sets, so each kitchen is claimed at most once per day.
+     */
+    List<Long> claimDueAlerts(LocalTime from, LocalTime to, LocalDate today);
+
+    // Active expired and expiring items and low-stock inventories per kitchen, in one aggregate statement
+    List<KitchenAlertCountsDTO> findAlertCounts(Collection<Long> kitchenIds, LocalDate today);
+}
@@ -0,0 +1,69 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.response.KitchenAlertCountsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class KitchenRepositoryCustomImpl implements KitchenRepositoryCustom {
+
+    // Row comparison on (hour, minute) uses idx_kitchens_alert_time
+    private static final String CLAIM_DUE_SQL =
+        "UPDATE kitchens SET last_alert_date = :today " +
+        "WHERE alerts_enabled = true " +
+        "AND (alert_time_hour, alert_time_minute) >= (:fromHour, :fromMinute) " +
+        "AND (alert_time_hour, alert_time_minute) <= (:toHour, :toMinute) " +
+        "AND (last_alert_date IS NULL OR last_alert_date < :today) " +
+        "RETURNING id";
+
+    // Same thresholds as before: expired on the expiry day, expiring within the inventory's alert window
+    private static final String ALERT_COUNTS_SQL =
+        "SELECT k.id AS kitchen_id, COALESCE(e.expired_count, 0) AS expired_count, " +
+        "COALESCE(e.expiring_count, 0) AS expiring_count, COALESCE(l.low_stock_count, 0) AS low_stock_count " +
+        "FROM kitchens k " +
+        "LEFT JOIN (SELECT inv.kitchen_id, " +
+        "COUNT(*) FILTER (WHERE CAST(ii.expiry_date AS DATE) <= CAST(:today AS DATE)) AS expired_count, " +
+        "COUNT(*) FILTER (WHERE CAST(ii.expiry_date AS DATE) > CAST(:today AS DATE) " +
+        "AND CAST(ii.expiry_date AS DATE) <= CAST(:today AS DATE) + COALESCE(inv.min_expiry_days_alert, 3)) AS expiring_count " +
+        "FROM inventory_item ii JOIN inventory inv ON inv.id = ii.inventory_id " +
+        "WHERE inv.kitchen_id IN (:kitchenIds) AND ii.is_active = true AND ii.expiry_date IS NOT NULL " +
+        "GROUP BY inv.kitchen_id) e ON e.kitchen_id = k.id " +
+        "LEFT JOIN (SELECT kitchen_id, COUNT(*) AS low_stock_count FROM inventory " +
+        "WHERE kitchen_id IN (:kitchenIds) AND total_quantity <= COALESCE(min_stock, 5) " +
+        "GROUP BY kitchen_id) l ON l.kitchen_id = k.id " +
+        "WHERE k.id IN (:kitchenIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> claimDueAlerts(LocalTime from, LocalTime to, LocalDate today) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("today", today)
+            .addValue("fromHour", from.getHour())
+            .addValue("fromMinute", from.getMinute())
+            .addValue("toHour", to.getHour())
+            .addValue("toMinute", to.getMinute());
+        return jdbcTemplate.queryForList(CLAIM_DUE_SQL, params, Long.class);
+    }
+
+    @Override
+    public List<KitchenAlertCountsDTO> findAlertCounts(Collection<Long> kitchenIds, LocalDate today) {
+        if (kitchenIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("kitchenIds", kitchenIds)
+            .addValue("today", today);
+        return jdbcTemplate.query(ALERT_COUNTS_SQL, params, (rs, rowNum) -> KitchenAlertCountsDTO.builder()
+            .kitchenId(rs.getLong("kitchen_id"))
+            .expiredCount(rs.getLong("expired_count"))
+            .expiringCount(rs.getLong("expiring_count"))
+            .lowStockCount(rs.getLong("low_stock_count"))
+            .build());
+    }
+}
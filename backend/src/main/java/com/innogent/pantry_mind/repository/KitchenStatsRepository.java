@@ -0,0 +1,76 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.KitchenStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface KitchenStatsRepository extends JpaRepository<KitchenStats, Long> {
+    
+    // Always bumps the version, even when already stale, so an in-flight recompute cannot clear it.
+    // items_changed_at takes the wall clock rather than NOW() so it tracks the write, not the
+    // transaction start; status-only writes leave it alone.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO kitchen_stats (kitchen_id, stale, change_version, items_changed_at) " +
+                   "VALUES (:kitchenId, true, 1, CASE WHEN :statusOnly THEN NULL ELSE CLOCK_TIMESTAMP() END) " +
+                   "ON CONFLICT (kitchen_id) DO UPDATE SET stale = true, " +
+                   "change_version = kitchen_stats.change_version + 1, " +
+                   "items_changed_at = CASE WHEN :statusOnly THEN kitchen_stats.items_changed_at " +
+                   "ELSE CLOCK_TIMESTAMP() END", nativeQuery = true)
+    int markStale(@Param("kitchenId") Long kitchenId, @Param("statusOnly") boolean statusOnly);
+    
+    // Bumps every kitchen, including those without a snapshot yet, after a full rebuild
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO kitchen_stats (kitchen_id, stale, change_version, items_changed_at) " +
+                   "SELECT id, true, 1, CLOCK_TIMESTAMP() FROM kitchens " +
+                   "ON CONFLICT (kitchen_id) DO UPDATE SET stale = true, " +
+                   "change_version = kitchen_stats.change_version + 1, " +
+                   "items_changed_at = CLOCK_TIMESTAMP()", nativeQuery = true)
+    int markAllStale();
+    
+    // Kitchen id and change time of kitchens whose items changed after since; uses idx_kitchen_stats_items_changed_at
+    @Query("SELECT k.kitchenId, k.itemsChangedAt FROM KitchenStats k WHERE k.itemsChangedAt > :since")
+    List<Object[]> findItemChangesSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT MAX(k.itemsChangedAt) FROM KitchenStats k")
+    LocalDateTime findLatestItemChange();
+    
+    // Primary-key read of the version that markStale bumps; 0 until the kitchen's first write
+    @Query(value = "SELECT COALESCE((SELECT change_version FROM kitchen_stats WHERE kitchen_id = :kitchenId), 0)",
+           nativeQuery = true)
+    long findChangeVersion(@Param("kitchenId") Long kitchenId);
+    
+    // Stores a recomputed snapshot only if no write invalidated it since expectedVersion was read
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO kitchen_stats (kitchen_id, total_products, total_value, low_stock_count, expiry_count, " +
+                   "expired_products_count, expired_waste_value, stats_date, stale, change_version, computed_at) " +
+                   "VALUES (:kitchenId, :totalProducts, :totalValue, :lowStockCount, :expiryCount, " +
+                   ":expiredProductsCount, :expiredWasteValue, :statsDate, false, :expectedVersion, NOW()) " +
+                   "ON CONFLICT (kitchen_id) DO UPDATE SET total_products = EXCLUDED.total_products, " +
+                   "total_value = EXCLUDED.total_value, low_stock_count = EXCLUDED.low_stock_count, " +
+                   "expiry_count = EXCLUDED.expiry_count, expired_products_count = EXCLUDED.expired_products_count, " +
+                   "expired_waste_value = EXCLUDED.expired_waste_value, stats_date = EXCLUDED.stats_date, " +
+                   "stale = false, computed_at = NOW() " +
+                   "WHERE kitchen_stats.change_version = :expectedVersion", nativeQuery = true)
+    int saveIfUnchanged(@Param("kitchenId") Long kitchenId,
+                        @Param("totalProducts") long totalProducts,
+                        @Param("totalValue") double totalValue,
+                        @Param("lowStockCount") long lowStockCount,
+                        @Param("expiryCount") long expiryCount,
+                        @Param("expiredProductsCount") long expiredProductsCount,
+                        @Param("expiredWasteValue") BigDecimal expiredWasteValue,
+                        @Param("statsDate") LocalDate statsDate,
+                        @Param("expectedVersion") long expectedVersion);
+}
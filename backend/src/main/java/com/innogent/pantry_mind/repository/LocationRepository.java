@@ -1,12 +1,30 @@
 package com.innogent.pantry_mind.repository;
 
+import com.innogent.pantry_mind.config.CacheConfig;
 import com.innogent.pantry_mind.entity.Location;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
+    @Cacheable(cacheNames = CacheConfig.LOCATIONS_BY_NAME, unless = "#result == null")
     Optional<Location> findByName(String name);
-}
\ No newline at end of file
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOCATIONS_BY_ID, unless = "#result == null")
+    Optional<Location> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOCATIONS, key = "'all'")
+    List<Location> findAll();
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.LOCATIONS, CacheConfig.LOCATIONS_BY_ID, CacheConfig.LOCATIONS_BY_NAME},
+            allEntries = true)
+    <S extends Location> S save(S location);
+}
@@ -12,27 +12,6 @@ import java.util.List;
 @Repository
 public interface PurchaseLogRepository extends JpaRepository<PurchaseLog, Long> {
 
-    @Query("SELECT FUNCTION('TO_CHAR', p.purchasedAt, 'Mon') as month, " +
-            "SUM(p.pricePaid) as total " +
-            "FROM PurchaseLog p " +
-            "WHERE p.kitchenId = :kitchenId AND p.purchasedAt >= :since " +
-            "GROUP BY FUNCTION('TO_CHAR', p.purchasedAt, 'Mon'), " +
-            "FUNCTION('TO_CHAR', p.purchasedAt, 'MM') " +
-            "ORDER BY MIN(p.purchasedAt)")
-    List<Object[]> findMonthlyPurchaseDataWithMonthNames(
-            @Param("kitchenId") Long kitchenId,
-            @Param("since") LocalDateTime since
-    );
-
-    @Query("SELECT p.purchaseSource, SUM(p.pricePaid) as total " +
-            "FROM PurchaseLog p " +
-            "WHERE p.kitchenId = :kitchenId AND p.purchasedAt >= :since " +
-            "GROUP BY p.purchaseSource")
-    List<Object[]> findSpendingBySource(
-            @Param("kitchenId") Long kitchenId,
-            @Param("since") LocalDateTime since
-    );
-
     @Query("SELECT COUNT(p) FROM PurchaseLog p WHERE p.kitchenId = :kitchenId AND p.purchasedAt >= :since")
     long countByKitchenIdAndPurchasedAtAfter(
             @Param("kitchenId") Long kitchenId,
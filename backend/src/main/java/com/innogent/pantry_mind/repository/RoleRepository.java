@@ -1,10 +1,18 @@
 package com.innogent.pantry_mind.repository;
 
+import com.innogent.pantry_mind.config.CacheConfig;
 import com.innogent.pantry_mind.entity.Role;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @Cacheable(cacheNames = CacheConfig.ROLES_BY_NAME, unless = "#result == null")
     Optional<Role> findByName(String name);
-}
\ No newline at end of file
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES_BY_NAME, allEntries = true)
+    <S extends Role> S save(S role);
+}
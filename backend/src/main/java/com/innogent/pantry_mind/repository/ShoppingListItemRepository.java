@@ -13,11 +13,18 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ShoppingListItemRepository extends JpaRepository<ShoppingListItem, Long> {
+public interface ShoppingListItemRepository extends JpaRepository<ShoppingListItem, Long>, ShoppingListItemRepositoryCustom {
     List<ShoppingListItem> findByShoppingList(ShoppingList shoppingList);
     Optional<ShoppingListItem> findByShoppingListAndCanonicalName(ShoppingList shoppingList, String canonicalName);
     List<ShoppingListItem> findByShoppingListId(Long shoppingListId);
     
+    @Query("SELECT sli.canonicalName FROM ShoppingListItem sli " +
+           "WHERE sli.shoppingList.id = :shoppingListId AND sli.status = :status")
+    List<String> findCanonicalNamesByShoppingListIdAndStatus(
+        @Param("shoppingListId") Long shoppingListId,
+        @Param("status") ShoppingListItem.ItemStatus status
+    );
+    
     @Query("SELECT sli FROM ShoppingListItem sli " +
            "JOIN sli.shoppingList sl " +
            "WHERE sl.kitchen.id = :kitchenId " +
@@ -0,0 +1,15 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
+
+import java.util.List;
+
+public interface ShoppingListItemRepositoryCustom {
+
+    /**
+     * Inserts the suggestions as PENDING items of the list in one JDBC batch.
+     *
+     * @return the number of items inserted
+     */
+    int insertSuggestions(Long shoppingListId, String suggestedBy, List<ShoppingListItemResponseDTO> suggestions);
+}
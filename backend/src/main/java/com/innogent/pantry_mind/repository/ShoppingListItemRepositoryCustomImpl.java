@@ -0,0 +1,39 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ShoppingListItemRepositoryCustomImpl implements ShoppingListItemRepositoryCustom {
+
+    // Mirrors the entity defaults; IDENTITY ids keep Hibernate from batching these inserts itself
+    private static final String INSERT_SQL =
+        "INSERT INTO shopping_list_items (shopping_list_id, canonical_name, suggested_quantity, suggested_by, " +
+        "status, suggestion_reason, confidence_score, created_at, updated_at) " +
+        "VALUES (:shoppingListId, :canonicalName, :suggestedQuantity, :suggestedBy, 'PENDING', " +
+        ":suggestionReason, :confidenceScore, NOW(), NOW())";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertSuggestions(Long shoppingListId, String suggestedBy, List<ShoppingListItemResponseDTO> suggestions) {
+        if (suggestions.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] batch = suggestions.stream()
+            .map(suggestion -> new MapSqlParameterSource("shoppingListId", shoppingListId)
+                .addValue("canonicalName", suggestion.getCanonicalName())
+                .addValue("suggestedQuantity", suggestion.getSuggestedQuantity())
+                .addValue("suggestedBy", suggestedBy)
+                .addValue("suggestionReason", suggestion.getSuggestionReason())
+                .addValue("confidenceScore", suggestion.getConfidenceScore()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        return batch.length;
+    }
+}
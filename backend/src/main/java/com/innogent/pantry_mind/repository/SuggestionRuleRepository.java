@@ -15,4 +15,6 @@ public interface SuggestionRuleRepository extends JpaRepository<SuggestionRule,
     List<SuggestionRule> findActiveRulesByKitchen(@Param("kitchenId") Long kitchenId);
     
     Optional<SuggestionRule> findByCanonicalNameAndKitchenId(String canonicalName, Long kitchenId);
+    
+    List<SuggestionRule> findByKitchenId(Long kitchenId);
 }
@@ -0,0 +1,11 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.UsageLog;
+
+import java.util.List;
+
+public interface UsageLogRepositoryCustom {
+
+    // Inserts usage logs as a single JDBC batch (IDENTITY ids disable Hibernate insert batching)
+    void batchInsert(List<UsageLog> usageLogs);
+}
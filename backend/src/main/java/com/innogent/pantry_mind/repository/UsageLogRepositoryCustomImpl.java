@@ -0,0 +1,46 @@
+package com.innogent.pantry_mind.repository;
+
+import com.innogent.pantry_mind.entity.UsageLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UsageLogRepositoryCustomImpl implements UsageLogRepositoryCustom {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO usage_logs (inventory_item_id, kitchen_id, user_id, quantity_used, unit_id, " +
+        "usage_type, recipe_name, meal_log_id, notes, used_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<UsageLog> usageLogs) {
+        if (usageLogs.isEmpty()) {
+            return;
+        }
+        // Stamped on the entities too, so callers bucket the logs by the same time the rows carry
+        LocalDateTime now = LocalDateTime.now();
+        usageLogs.forEach(usageLog -> {
+            if (usageLog.getUsedAt() == null) {
+                usageLog.setUsedAt(now);
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_SQL, usageLogs, usageLogs.size(), (ps, usageLog) -> {
+            ps.setLong(1, usageLog.getInventoryItemId());
+            ps.setLong(2, usageLog.getKitchenId());
+            ps.setObject(3, usageLog.getUserId(), Types.BIGINT);
+            ps.setBigDecimal(4, usageLog.getQuantityUsed());
+            ps.setObject(5, usageLog.getUnit() != null ? usageLog.getUnit().getId() : null, Types.BIGINT);
+            ps.setString(6, usageLog.getUsageType().name());
+            ps.setString(7, usageLog.getRecipeName());
+            ps.setObject(8, usageLog.getMealLogId(), Types.BIGINT);
+            ps.setString(9, usageLog.getNotes());
+            ps.setTimestamp(10, Timestamp.valueOf(usageLog.getUsedAt()));
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package com.innogent.pantry_mind.repository;
 
+import com.innogent.pantry_mind.config.CacheConfig;
 import com.innogent.pantry_mind.entity.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,6 +13,10 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+    
+    @Cacheable(cacheNames = CacheConfig.USER_KITCHENS, unless = "#result == null")
+    @Query("SELECT u.kitchen.id FROM User u WHERE u.email = :email")
+    Optional<Long> findKitchenIdByEmail(@Param("email") String email);
     Optional<User> findByUsername(String username);
     List<User> findByKitchen_Id(Long kitchenId);
     List<User> findByKitchen_IdAndCreatedAtAfterOrderByCreatedAtDesc(Long kitchenId, LocalDateTime after);
@@ -13,15 +13,6 @@ import java.util.List;
 @Repository
 public interface WasteLogRepository extends JpaRepository<WasteLog, Long> {
     
-    @Query("SELECT FUNCTION('MONTHNAME', w.wastedAt) as month, COUNT(w) as count FROM WasteLog w " +
-           "WHERE w.kitchenId = :kitchenId AND w.wastedAt >= :since " +
-           "GROUP BY FUNCTION('MONTH', w.wastedAt), FUNCTION('MONTHNAME', w.wastedAt) " +
-           "ORDER BY FUNCTION('MONTH', w.wastedAt)")
-    List<Object[]> findMonthlyWasteData(
-        @Param("kitchenId") Long kitchenId, 
-        @Param("since") LocalDateTime since
-    );
-    
     long countByKitchenIdAndWastedAtAfter(Long kitchenId, LocalDateTime since);
     
     List<WasteLog> findTop5ByKitchenIdOrderByWastedAtDesc(Long kitchenId);
@@ -52,12 +43,6 @@ public interface WasteLogRepository extends JpaRepository<WasteLog, Long> {
     @Query("SELECT COALESCE(SUM(w.estimatedValue), 0) FROM WasteLog w WHERE w.kitchenId = :kitchenId AND w.wastedAt >= :startDate")
     BigDecimal calculateWasteValueByKitchenAndPeriod(@Param("kitchenId") Long kitchenId, @Param("startDate") LocalDateTime startDate);
     
-    @Query("SELECT DATE_TRUNC('month', w.wastedAt) as month, SUM(w.estimatedValue) as waste, COUNT(w) as count " +
-           "FROM WasteLog w WHERE w.kitchenId = :kitchenId " +
-           "GROUP BY DATE_TRUNC('month', w.wastedAt) " +
-           "ORDER BY month DESC LIMIT 6")
-    List<Object[]> findMonthlyWasteStats(@Param("kitchenId") Long kitchenId);
-    
     @Query("SELECT COUNT(*) FROM WasteLog w WHERE w.kitchenId = :kitchenId AND DATE(w.wastedAt) = :date")
     Long countWasteByDate(@Param("kitchenId") Long kitchenId, @Param("date") LocalDateTime date);
     
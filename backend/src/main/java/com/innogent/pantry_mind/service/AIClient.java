@@ -0,0 +1,274 @@
+package com.innogent.pantry_mind.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innogent.pantry_mind.exception.AIClientException;
+import com.innogent.pantry_mind.exception.AIClientRejectedException;
+import com.innogent.pantry_mind.util.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JSON client for the Python AI backend at python.backend.url. Connections are pooled
+ * and kept alive by one shared JDK HttpClient. Each call names its endpoint, which
+ * selects the endpoint's timeout, attempt count and circuit breaker; transport errors,
+ * 5xx, 408 and 429 are retried with jittered exponential backoff, other 4xx are not.
+ * Timeouts are retried for GET only: a timed-out POST may still be generating on the
+ * AI backend, and repeating it would start the same expensive work again. A bulkhead
+ * bounds concurrent calls across endpoints; calls it or an open breaker turn away fail
+ * with AIClientRejectedException without reaching the service.
+ *
+ * The per-endpoint breakers are the only ones fed by real calls. Service-wide
+ * availability is AIHealthMonitor's, which decides it from /health probes alone, so one
+ * failing endpoint or a briefly full bulkhead never marks the whole service down.
+ *
+ * Settings are read from the Environment so endpoints can be tuned without code:
+ * ai.client.endpoints.&lt;endpoint&gt;.timeout-ms and .attempts override ai.service.timeout
+ * and ai.service.retry.attempts. Latency per endpoint and outcome is published as
+ * ai.client.requests, with ai.client.retries and ai.client.rejected alongside.
+ */
+@Service
+@Slf4j
+public class AIClient {
+
+    private static final String ENDPOINT_PREFIX = "ai.client.endpoints.";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final String baseUrl;
+    private final long defaultTimeoutMs;
+    private final int defaultAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final boolean fallbackEnabled;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMs;
+    private final int breakerFailureThreshold;
+    private final Duration breakerOpen;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, EndpointSettings> endpointSettings = new ConcurrentHashMap<>();
+
+    public AIClient(ObjectMapper objectMapper, MeterRegistry meterRegistry, Environment environment) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        String url = environment.getProperty("python.backend.url", "http://localhost:8000");
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.defaultTimeoutMs = environment.getProperty("ai.service.timeout", Long.class, 30_000L);
+        this.defaultAttempts = environment.getProperty("ai.service.retry.attempts", Integer.class, 3);
+        this.backoffMs = environment.getProperty("ai.client.retry-backoff-ms", Long.class, 200L);
+        this.maxBackoffMs = environment.getProperty("ai.client.retry-max-backoff-ms", Long.class, 2_000L);
+        this.fallbackEnabled = environment.getProperty("ai.fallback.enabled", Boolean.class, true);
+        int maxConcurrent = Math.max(1, environment.getProperty("ai.client.max-concurrent", Integer.class, 16));
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadWaitMs = environment.getProperty("ai.client.bulkhead-wait-ms", Long.class, 250L);
+        this.breakerFailureThreshold = environment.getProperty("ai.client.breaker.failure-threshold", Integer.class, 5);
+        this.breakerOpen = Duration.ofMillis(environment.getProperty("ai.client.breaker.open-ms", Long.class, 30_000L));
+
+        // Uvicorn speaks HTTP/1.1 only; the JDK client keeps those connections alive and reuses them
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(environment.getProperty("ai.client.connect-timeout-ms", Long.class, 2_000L)))
+                .build();
+        meterRegistry.gauge("ai.client.in_flight", bulkhead, permits -> maxConcurrent - permits.availablePermits());
+    }
+
+    public <T> T post(String endpoint, String path, Object body, Class<T> responseType) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new AIClientException("Failed to serialize request for AI endpoint " + endpoint, e);
+        }
+        return execute(endpoint, responseType, false, () -> HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json)));
+    }
+
+    public <T> T get(String endpoint, String path, Class<T> responseType) {
+        return execute(endpoint, responseType, true, () -> HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    /**
+     * One GET with the endpoint's timeout, bypassing retries, breaker and bulkhead; for
+     * health checks that keep their own view of availability.
+     */
+    public String probe(String endpoint, String path) {
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri(path))
+                    .timeout(settings(endpoint).timeout()).GET().build(), HttpResponse.BodyHandlers.ofString());
+            record(endpoint, response.statusCode() < 300 ? "success" : "server_error", startedAt);
+            if (response.statusCode() >= 300) {
+                throw new AIClientException("AI endpoint " + endpoint + " returned HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (IOException e) {
+            record(endpoint, e instanceof HttpTimeoutException ? "timeout" : "io_error", startedAt);
+            throw new AIClientException("AI endpoint " + endpoint + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AIClientException("Interrupted calling AI endpoint " + endpoint, e);
+        }
+    }
+
+    /**
+     * For callers about to substitute a fallback for a failed call: returns if fallbacks
+     * are enabled (ai.fallback.enabled), otherwise rethrows the failure.
+     */
+    public void requireFallback(Exception failure) {
+        if (!fallbackEnabled) {
+            throw failure instanceof AIClientException clientFailure
+                    ? clientFailure
+                    : new AIClientException("AI call failed and fallback is disabled", failure);
+        }
+    }
+
+    private <T> T execute(String endpoint, Class<T> responseType, boolean retryTimeouts,
+                          Supplier<HttpRequest.Builder> request) {
+        EndpointSettings settings = settings(endpoint);
+        // Bulkhead first: a half-open breaker admits a single trial, which must not then be turned away
+        if (!acquireBulkhead()) {
+            meterRegistry.counter("ai.client.rejected", "endpoint", endpoint, "reason", "bulkhead_full").increment();
+            throw new AIClientRejectedException("Too many concurrent AI calls; rejected call to " + endpoint);
+        }
+        try {
+            CircuitBreaker breaker = breakers.computeIfAbsent(endpoint,
+                    name -> new CircuitBreaker(breakerFailureThreshold, breakerOpen));
+            if (!breaker.allowRequest()) {
+                meterRegistry.counter("ai.client.rejected", "endpoint", endpoint, "reason", "circuit_open").increment();
+                throw new AIClientRejectedException("Circuit open for AI endpoint " + endpoint);
+            }
+            long startedAt = System.nanoTime();
+            HttpResponse<String> response = null;
+            for (int attempt = 1; response == null; attempt++) {
+                String outcome;
+                AIClientException failure;
+                boolean retryable = true;
+                try {
+                    HttpResponse<String> candidate = httpClient.send(request.get().timeout(settings.timeout()).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    int status = candidate.statusCode();
+                    if (status < 500 && status != 408 && status != 429) {
+                        response = candidate;
+                        continue;
+                    }
+                    outcome = "server_error";
+                    failure = new AIClientException("AI endpoint " + endpoint + " returned HTTP " + status);
+                } catch (HttpTimeoutException e) {
+                    outcome = "timeout";
+                    failure = new AIClientException("AI endpoint " + endpoint + " timed out after "
+                            + settings.timeout().toMillis() + " ms", e);
+                    retryable = retryTimeouts;
+                } catch (IOException e) {
+                    outcome = "io_error";
+                    failure = new AIClientException("AI endpoint " + endpoint + " failed: " + e.getMessage(), e);
+                } catch (InterruptedException e) {
+                    breaker.recordFailure();
+                    Thread.currentThread().interrupt();
+                    throw new AIClientException("Interrupted calling AI endpoint " + endpoint, e);
+                }
+                if (!retryable || attempt >= settings.attempts()) {
+                    breaker.recordFailure();
+                    record(endpoint, outcome, startedAt);
+                    throw failure;
+                }
+                meterRegistry.counter("ai.client.retries", "endpoint", endpoint).increment();
+                log.debug("{}; retrying (attempt {} of {})", failure.getMessage(), attempt + 1, settings.attempts());
+                if (!sleep(backoff(attempt))) {
+                    breaker.recordFailure();
+                    throw new AIClientException("Interrupted calling AI endpoint " + endpoint, failure);
+                }
+            }
+
+            // The service answered, so client errors and unreadable bodies do not count against the breaker
+            breaker.recordSuccess();
+            int status = response.statusCode();
+            if (status >= 300) {
+                record(endpoint, "client_error", startedAt);
+                throw new AIClientException("AI endpoint " + endpoint + " returned HTTP " + status);
+            }
+            record(endpoint, "success", startedAt);
+            return parse(endpoint, response.body(), responseType);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T parse(String endpoint, String body, Class<T> responseType) {
+        if (responseType == String.class) {
+            return (T) body;
+        }
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new AIClientException("Unreadable response from AI endpoint " + endpoint, e);
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Equal jitter: half the exponential step plus a random share of the other half
+    private long backoff(int attempt) {
+        long step = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+        return step / 2 + ThreadLocalRandom.current().nextLong(step / 2 + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(String endpoint, String outcome, long startedAt) {
+        meterRegistry.timer("ai.client.requests", "endpoint", endpoint, "outcome", outcome)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private EndpointSettings settings(String endpoint) {
+        return endpointSettings.computeIfAbsent(endpoint, name -> new EndpointSettings(
+                Duration.ofMillis(environment.getProperty(ENDPOINT_PREFIX + name + ".timeout-ms", Long.class, defaultTimeoutMs)),
+                Math.max(1, environment.getProperty(ENDPOINT_PREFIX + name + ".attempts", Integer.class, defaultAttempts))));
+    }
+
+    private record EndpointSettings(Duration timeout, int attempts) {
+    }
+}
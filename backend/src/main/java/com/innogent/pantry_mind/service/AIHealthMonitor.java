@@ -0,0 +1,83 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.util.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the Python AI service is usable, so callers check a cached flag instead
+ * of probing /health before every request. A background thread probes at a fixed
+ * interval and only probe results feed its circuit breaker; failures of individual
+ * calls trip AIClient's per-endpoint breakers instead. While it is open the service
+ * counts as unavailable and probing pauses until the cool-down ends, when one probe
+ * decides whether it closes again.
+ */
+@Service
+@Slf4j
+public class AIHealthMonitor {
+
+    private final AIClient aiClient;
+    private final long probeIntervalMs;
+    private final CircuitBreaker breaker;
+    private final ScheduledExecutorService prober;
+
+    public AIHealthMonitor(AIClient aiClient,
+                           @Value("${ai.health.probe-interval-ms:15000}") long probeIntervalMs,
+                           @Value("${ai.health.failure-threshold:3}") int failureThreshold,
+                           @Value("${ai.health.open-ms:60000}") long openMs) {
+        this.aiClient = aiClient;
+        this.probeIntervalMs = probeIntervalMs;
+        this.breaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMs));
+        this.prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startProbing() {
+        prober.scheduleWithFixedDelay(this::probe, 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return breaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prober.shutdownNow();
+    }
+
+    private void probe() {
+        if (!breaker.allowRequest()) {
+            return;
+        }
+        boolean wasAvailable = isAvailable();
+        boolean healthy;
+        try {
+            String response = aiClient.probe("health", "/health");
+            healthy = response != null && response.contains("healthy");
+        } catch (Exception e) {
+            log.debug("AI health probe failed: {}", e.getMessage());
+            healthy = false;
+        }
+        if (healthy) {
+            breaker.recordSuccess();
+        } else {
+            breaker.recordFailure();
+        }
+        if (wasAvailable != isAvailable()) {
+            log.warn("AI service is now {}", isAvailable() ? "available" : "unavailable");
+        }
+    }
+}
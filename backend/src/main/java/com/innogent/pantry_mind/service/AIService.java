@@ -4,6 +4,7 @@ import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import com.innogent.pantry_mind.dto.response.RecipeResponseDTO;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface AIService {
     
@@ -13,6 +14,12 @@ public interface AIService {
     
     List<ShoppingListItemResponseDTO> generateAISuggestionsForListType(Long kitchenId, String listType, List<String> existingItems);
     
+    // Reads the kitchen's consumption and inventory into a suggestion request; no AI call
+    Map<String, Object> buildSuggestionRequest(Long kitchenId, String listType, List<String> existingItems);
+    
+    // Sends a built request to the AI service; empty when the call failed and fallback is enabled
+    Optional<List<ShoppingListItemResponseDTO>> requestSuggestions(Map<String, Object> aiRequest);
+    
     Map<String, Object> analyzeConsumptionPatterns(Long kitchenId);
     
     List<String> generateSmartRecipeRecommendations(Long kitchenId, Integer servings);
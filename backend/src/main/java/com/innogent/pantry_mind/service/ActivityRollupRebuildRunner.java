@@ -0,0 +1,39 @@
+package com.innogent.pantry_mind.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the activity rollups from the raw logs at startup when enabled. This is an
+ * operator task rather than an API: start one instance with
+ * --rollups.rebuild-on-startup=true, optionally with --rollups.rebuild-kitchen-id=&lt;id&gt;
+ * to limit it to one kitchen.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupRebuildRunner implements CommandLineRunner {
+
+    private final ActivityRollupService activityRollupService;
+
+    @Value("${rollups.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${rollups.rebuild-kitchen-id:}")
+    private Long kitchenId;
+
+    @Override
+    public void run(String... args) {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        try {
+            activityRollupService.rebuild(kitchenId);
+        } catch (Exception e) {
+            log.error("Activity rollup rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.entity.ActivityRollup;
+import com.innogent.pantry_mind.entity.ActivityRollup.Dimension;
+import com.innogent.pantry_mind.entity.ActivityRollup.Granularity;
+import com.innogent.pantry_mind.entity.ActivityRollup.Metric;
+import com.innogent.pantry_mind.entity.InventoryItem;
+import com.innogent.pantry_mind.entity.PurchaseLog;
+import com.innogent.pantry_mind.entity.UsageLog;
+import com.innogent.pantry_mind.entity.WasteLog;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
+import com.innogent.pantry_mind.repository.ActivityRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps activity_rollup in step with the usage, waste and purchase logs. Writers call the
+ * record methods right after inserting a log, inside the same transaction; all buckets a
+ * call touches are written by one upsert statement. Buckets are keyed on the log's own
+ * used_at, wasted_at or purchased_at, as the rebuild does, so both agree on the day. The rollup can be rebuilt from the
+ * logs per kitchen or in full, and is backfilled on startup when empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupService {
+
+    private final ActivityRollupRepository activityRollupRepository;
+    private final KitchenDailyActivityService kitchenDailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        if (activityRollupRepository.count() == 0) {
+            int buckets = activityRollupRepository.rebuild(null);
+            log.info("Backfilled activity rollup with {} buckets", buckets);
+        }
+    }
+
+    /**
+     * Records usage logs; itemsById must hold the batch each log drew from, which supplies
+     * the item name and per-unit price.
+     */
+    @Transactional
+    public void recordUsage(List<UsageLog> usageLogs, Map<Long, InventoryItem> itemsById) {
+        Map<ActivityRollup.Key, ActivityRollup> deltas = new LinkedHashMap<>();
+        for (UsageLog usageLog : usageLogs) {
+            InventoryItem item = itemsById.get(usageLog.getInventoryItemId());
+            String itemName = item != null && item.getInventory() != null ? item.getInventory().getName() : null;
+            BigDecimal value = item != null ? usageValue(item, usageLog.getQuantityUsed()) : BigDecimal.ZERO;
+            addDeltas(deltas, usageLog.getKitchenId(), Metric.USAGE, dayOf(usageLog.getUsedAt()), itemName, null, null,
+                    usageLog.getQuantityUsed(), value);
+        }
+        activityRollupRepository.increment(deltas.values());
+    }
+
+    @Transactional
+    public void recordWaste(WasteLog wasteLog) {
+        recordWaste(List.of(wasteLog));
+    }
+
+    /**
+     * Records a batch of waste logs with one rollup upsert and one daily-activity upsert
+     * per kitchen and day of the logs' wasted_at.
+     */
+    @Transactional
+    public void recordWaste(List<WasteLog> wasteLogs) {
+        Map<ActivityRollup.Key, ActivityRollup> deltas = new LinkedHashMap<>();
+        Map<KitchenDay, BigDecimal> valueByKitchenDay = new LinkedHashMap<>();
+        Map<KitchenDay, Long> countByKitchenDay = new LinkedHashMap<>();
+        for (WasteLog wasteLog : wasteLogs) {
+            addDeltas(deltas, wasteLog.getKitchenId(), Metric.WASTE, dayOf(wasteLog.getWastedAt()), wasteLog.getItemName(),
+                    Dimension.REASON, wasteLog.getWasteReason() != null ? wasteLog.getWasteReason().name() : null,
+                    wasteLog.getQuantityWasted(), wasteLog.getEstimatedValue());
+            if (wasteLog.getKitchenId() != null && wasteLog.getWastedAt() != null) {
+                KitchenDay kitchenDay = new KitchenDay(wasteLog.getKitchenId(), wasteLog.getWastedAt().toLocalDate());
+                valueByKitchenDay.merge(kitchenDay,
+                        wasteLog.getEstimatedValue() != null ? wasteLog.getEstimatedValue() : BigDecimal.ZERO, BigDecimal::add);
+                countByKitchenDay.merge(kitchenDay, 1L, Long::sum);
+            }
+        }
+        activityRollupRepository.increment(deltas.values());
+        countByKitchenDay.forEach((kitchenDay, count) -> kitchenDailyActivityService.recordWaste(
+                kitchenDay.kitchenId(), kitchenDay.day(), count, valueByKitchenDay.get(kitchenDay)));
+    }
+
+    @Transactional
+    public void recordPurchase(PurchaseLog purchaseLog) {
+        Map<ActivityRollup.Key, ActivityRollup> deltas = new LinkedHashMap<>();
+        addDeltas(deltas, purchaseLog.getKitchenId(), Metric.PURCHASE, dayOf(purchaseLog.getPurchasedAt()), purchaseLog.getItemName(),
+                Dimension.SOURCE, purchaseLog.getPurchaseSource() != null ? purchaseLog.getPurchaseSource().name() : null,
+                purchaseLog.getQuantity(), purchaseLog.getPricePaid());
+        activityRollupRepository.increment(deltas.values());
+        kitchenDailyActivityService.recordPurchase(purchaseLog.getKitchenId(), purchaseLog.getPurchasedAt(),
+                purchaseLog.getPricePaid());
+    }
+
+    /**
+     * Recomputes both rollups for one kitchen, or for every kitchen when kitchenId is null.
+     *
+     * @return the number of activity_rollup buckets written
+     */
+    @Transactional
+    public int rebuild(Long kitchenId) {
+        int buckets = activityRollupRepository.rebuild(kitchenId);
+        if (kitchenId != null) {
+            kitchenDailyActivityService.rebuildKitchen(kitchenId);
+        } else {
+            kitchenDailyActivityService.rebuildAll();
+        }
+        // A null kitchen id tells listeners that every kitchen changed
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
+        log.info("Rebuilt activity rollup for {}: {} buckets", kitchenId != null ? "kitchen " + kitchenId : "all kitchens", buckets);
+        return buckets;
+    }
+
+    private void addDeltas(Map<ActivityRollup.Key, ActivityRollup> deltas, Long kitchenId, Metric metric,
+                           LocalDate day, String itemName, Dimension detailDimension, String detailValue,
+                           BigDecimal quantity, BigDecimal amount) {
+        if (kitchenId == null) {
+            return;
+        }
+        for (Granularity granularity : Granularity.values()) {
+            LocalDate bucketStart = granularity == Granularity.DAY ? day : day.withDayOfMonth(1);
+            merge(deltas, kitchenId, metric, granularity, bucketStart, Dimension.TOTAL, "", quantity, amount);
+            merge(deltas, kitchenId, metric, granularity, bucketStart, Dimension.ITEM,
+                    itemName != null ? itemName : "", quantity, amount);
+            if (detailDimension != null && detailValue != null) {
+                merge(deltas, kitchenId, metric, granularity, bucketStart, detailDimension, detailValue, quantity, amount);
+            }
+        }
+    }
+
+    // A statement may upsert each key only once, so repeated keys are summed here first
+    private void merge(Map<ActivityRollup.Key, ActivityRollup> deltas, Long kitchenId, Metric metric,
+                       Granularity granularity, LocalDate bucketStart, Dimension dimension, String dimensionValue,
+                       BigDecimal quantity, BigDecimal amount) {
+        ActivityRollup.Key key = new ActivityRollup.Key(kitchenId, metric, granularity, bucketStart, dimension, dimensionValue);
+        BigDecimal safeQuantity = quantity != null ? quantity : BigDecimal.ZERO;
+        BigDecimal safeAmount = amount != null ? amount : BigDecimal.ZERO;
+        deltas.merge(key, ActivityRollup.builder()
+                .kitchenId(kitchenId)
+                .metric(metric)
+                .granularity(granularity)
+                .bucketStart(bucketStart)
+                .dimension(dimension)
+                .dimensionValue(dimensionValue)
+                .eventCount(1L)
+                .quantity(safeQuantity)
+                .amount(safeAmount)
+                .build(), (existing, added) -> {
+                    existing.setEventCount(existing.getEventCount() + added.getEventCount());
+                    existing.setQuantity(existing.getQuantity().add(added.getQuantity()));
+                    existing.setAmount(existing.getAmount().add(added.getAmount()));
+                    return existing;
+                });
+    }
+
+    // Logs are stamped when saved; the fallback only covers a caller that recorded an unsaved log
+    private static LocalDate dayOf(LocalDateTime occurredAt) {
+        return occurredAt != null ? occurredAt.toLocalDate() : LocalDate.now();
+    }
+
+    // Per-unit price times quantity, matching MONEY_FLOW_SQL
+    private BigDecimal usageValue(InventoryItem item, BigDecimal quantity) {
+        if (item.getPrice() == null || quantity == null || item.getOriginalQuantity() == null
+                || item.getOriginalQuantity().signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return item.getPrice().multiply(quantity).divide(item.getOriginalQuantity(), 4, RoundingMode.HALF_UP);
+    }
+
+    private record KitchenDay(Long kitchenId, LocalDate day) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.innogent.pantry_mind.service;
 
+import com.innogent.pantry_mind.dto.response.ExpiryAnalyticsPageDTO;
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.entity.ActivityRollup.Dimension;
+import com.innogent.pantry_mind.entity.ActivityRollup.Granularity;
+import com.innogent.pantry_mind.entity.ActivityRollup.Metric;
 import com.innogent.pantry_mind.repository.*;
 import com.innogent.pantry_mind.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,9 +12,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.HashMap;
 
@@ -20,18 +24,21 @@ import java.util.HashMap;
 public class AnalyticsService {
     
     private final InventoryItemRepository inventoryRepository;
-    private final UsageLogRepository usageLogRepository;
+    private final InventoryRepository inventoryGroupRepository;
     private final MealLogRepository mealLogRepository;
-    private final WasteLogRepository wasteLogRepository;
-    private final PurchaseLogRepository purchaseLogRepository;
     private final CategoryRepository categoryRepository;
     private final ConsumptionEventRepository consumptionEventRepository;
     private final NotificationRepository notificationRepository;
+    private final ActivityRollupRepository activityRollupRepository;
+    
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM");
     
     public Map<String, Object> getUsageAnalytics(Long kitchenId) {
-        List<Object[]> usageData = usageLogRepository.findTopUsedItemsByKitchen(kitchenId);
+        List<Object[]> usageData = activityRollupRepository.sumByDimensionValue(kitchenId, Metric.USAGE, Dimension.ITEM);
         
+        // Usage whose batch no longer resolves to a name is rolled up under ''
         List<Map<String, Object>> usage = usageData.stream()
+            .filter(row -> !"".equals(row[0]))
             .limit(10)
             .map(row -> Map.of(
                 "name", row[0],
@@ -57,162 +64,65 @@ public class AnalyticsService {
     
     public Map<String, Object> getWasteAnalytics(Long kitchenId) {
         log.info("Fetching waste analytics for kitchenId: {}", kitchenId);
-        LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
-        
-        List<Object[]> wasteData = wasteLogRepository.findMonthlyWasteData(kitchenId, sixMonthsAgo);
-        List<Object[]> consumptionData = usageLogRepository.findMonthlyConsumptionData(kitchenId, sixMonthsAgo);
-        
-        log.info("Raw waste data: {}", Arrays.deepToString(wasteData.toArray()));
-        log.info("Raw consumption data: {}", Arrays.deepToString(consumptionData.toArray()));
-        
-        // Create a map of month name to waste count
-        Map<String, Integer> wasteByMonth = new HashMap<>();
-        for (Object[] row : wasteData) {
-            try {
-                String monthName = (String) row[0];
-                String month = monthName != null && monthName.length() >= 3 ? 
-                    monthName.substring(0, 3) : monthName;
-                int count = row[1] != null ? ((Number) row[1]).intValue() : 0;
-                wasteByMonth.put(month, count);
-                log.info("Waste - Month: {}, Count: {}", month, count);
-            } catch (Exception e) {
-                log.error("Error processing waste data row: " + Arrays.toString(row), e);
-            }
-        }
-        
-        // Create a map of month name to consumption count
-        Map<String, Integer> consumptionByMonth = new HashMap<>();
-        for (Object[] row : consumptionData) {
-            try {
-                String monthName = (String) row[0];
-                String month = monthName != null && monthName.length() >= 3 ? 
-                    monthName.substring(0, 3) : monthName;
-                int count = row[1] != null ? ((Number) row[1]).intValue() : 0;
-                consumptionByMonth.put(month, count);
-                log.info("Consumption - Month: {}, Count: {}", month, count);
-            } catch (Exception e) {
-                log.error("Error processing consumption data row: " + Arrays.toString(row), e);
-            }
-        }
+        List<LocalDate> months = lastSixMonths();
         
-        // Get the last 6 months
-        List<String> lastSixMonths = new ArrayList<>();
-        for (int i = 5; i >= 0; i--) {
-            String month = LocalDateTime.now().minusMonths(i).format(DateTimeFormatter.ofPattern("MMM"));
-            lastSixMonths.add(month);
-            log.info("Including month in report: {}", month);
-        }
+        Map<LocalDate, ActivityRollup> wasteByMonth = monthlyTotals(kitchenId, Metric.WASTE, months.get(0));
+        Map<LocalDate, ActivityRollup> usageByMonth = monthlyTotals(kitchenId, Metric.USAGE, months.get(0));
         
-        // Prepare the response data
         List<Map<String, Object>> waste = new ArrayList<>();
-        for (String month : lastSixMonths) {
+        for (LocalDate month : months) {
             Map<String, Object> map = new HashMap<>();
-            map.put("month", month);
-            map.put("expired", wasteByMonth.getOrDefault(month, 0));
-            map.put("consumed", consumptionByMonth.getOrDefault(month, 0));
+            map.put("month", month.format(MONTH_LABEL));
+            map.put("monthStart", month.toString());
+            map.put("expired", eventCount(wasteByMonth.get(month)));
+            map.put("consumed", eventCount(usageByMonth.get(month)));
             waste.add(map);
-            log.info("Final data - Month: {}, Expired: {}, Consumed: {}", 
-                month, map.get("expired"), map.get("consumed"));
         }
         
         Map<String, Object> result = Map.of("waste", waste);
-        log.info("Final waste analytics result: {}", result);
+        log.debug("Final waste analytics result: {}", result);
         return result;
     }
 
     public Map<String, Object> getPurchaseAnalytics(Long kitchenId) {
         log.info("Fetching purchase analytics for kitchenId: {}", kitchenId);
-        LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6)
-                .withDayOfMonth(1)
-                .withHour(0)
-                .withMinute(0)
-                .withSecond(0)
-                .withNano(0);
+        List<LocalDate> months = lastSixMonths();
+        // Source breakdown keeps its original window: from the first of the month six months back
+        LocalDate sourceWindowStart = LocalDate.now().minusMonths(6).withDayOfMonth(1);
 
         try {
-            // Get monthly purchase data
-            List<Object[]> monthlyData = purchaseLogRepository
-                    .findMonthlyPurchaseDataWithMonthNames(kitchenId, sixMonthsAgo);
-
-            log.info("Raw monthly purchase data: {}", Arrays.deepToString(monthlyData.toArray()));
-
-            // Initialize last 6 months with zero values
-            Map<String, Double> monthlySpending = new LinkedHashMap<>();
-            DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM");
-            for (int i = 5; i >= 0; i--) {
-                String month = LocalDateTime.now().minusMonths(i).format(monthFormatter);
-                monthlySpending.put(month, 0.0);
-            }
-
-            // Update with actual data
-            for (Object[] row : monthlyData) {
-                try {
-                    String month = ((String) row[0]).trim();
-                    if (month.length() > 3) {
-                        month = month.substring(0, 3);
-                    }
-                    double total = ((Number) row[1]).doubleValue();
-                    // Find matching month (case-insensitive)
-                    final String monthKey = month; // Create a final copy for use in lambda
-                    monthlySpending.keySet().stream()
-                            .filter(m -> m.equalsIgnoreCase(monthKey))
-                            .findFirst()
-                            .ifPresent(matchingMonth -> {
-                                monthlySpending.put(matchingMonth, total);
-                                log.info("Processed purchase data - Month: {}, Total: {}", matchingMonth, total);
-                            });
-                } catch (Exception e) {
-                    log.error("Error processing monthly purchase data row: " +
-                            Arrays.toString(row), e);
-                }
-            }
-
-            // Get spending by source
-            List<Object[]> spendingBySource = purchaseLogRepository
-                    .findSpendingBySource(kitchenId, sixMonthsAgo);
-
-            log.info("Raw spending by source data: {}",
-                    Arrays.deepToString(spendingBySource.toArray()));
+            Map<LocalDate, ActivityRollup> spendByMonth = monthlyTotals(kitchenId, Metric.PURCHASE, months.get(0));
 
-            // Process spending by source
-            List<Map<String, Object>> sourceBreakdown = new ArrayList<>();
-            for (Object[] row : spendingBySource) {
-                try {
-                    if (row[0] != null) {
-                        PurchaseLog.PurchaseSource source = (PurchaseLog.PurchaseSource) row[0];
-                        double total = ((Number) row[1]).doubleValue();
-                        sourceBreakdown.add(Map.of(
-                                "source", source.name(),
-                                "total", Math.round(total * 100.0) / 100.0
-                        ));
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing spending by source row: " +
-                            Arrays.toString(row), e);
-                }
-            }
-
-            // Prepare monthly trends
             List<Map<String, Object>> monthlyTrends = new ArrayList<>();
-            for (Map.Entry<String, Double> entry : monthlySpending.entrySet()) {
+            double totalSpending = 0.0;
+            for (LocalDate month : months) {
+                ActivityRollup bucket = spendByMonth.get(month);
+                double total = bucket != null ? bucket.getAmount().doubleValue() : 0.0;
+                totalSpending += total;
                 monthlyTrends.add(Map.of(
-                        "month", entry.getKey(),
-                        "total", Math.round(entry.getValue() * 100.0) / 100.0
+                        "month", month.format(MONTH_LABEL),
+                        "monthStart", month.toString(),
+                        "total", Math.round(total * 100.0) / 100.0
                 ));
             }
 
-            // Calculate total spending
-            double totalSpending = monthlySpending.values().stream()
-                    .mapToDouble(Double::doubleValue)
-                    .sum();
+            Map<String, Double> spendBySource = new LinkedHashMap<>();
+            for (ActivityRollup bucket : activityRollupRepository.findBuckets(
+                    kitchenId, Metric.PURCHASE, Granularity.MONTH, Dimension.SOURCE, sourceWindowStart)) {
+                spendBySource.merge(bucket.getDimensionValue(), bucket.getAmount().doubleValue(), Double::sum);
+            }
+            List<Map<String, Object>> sourceBreakdown = new ArrayList<>();
+            spendBySource.forEach((source, total) -> sourceBreakdown.add(Map.of(
+                    "source", source,
+                    "total", Math.round(total * 100.0) / 100.0
+            )));
 
-            // Prepare the response
             Map<String, Object> result = new HashMap<>();
             result.put("totalSpending", Math.round(totalSpending * 100.0) / 100.0);
             result.put("monthlyTrends", monthlyTrends);
             result.put("spendingBySource", sourceBreakdown);
 
-            log.info("Final purchase analytics result: {}", result);
+            log.debug("Final purchase analytics result: {}", result);
             return result;
 
         } catch (Exception e) {
@@ -227,79 +137,26 @@ public class AnalyticsService {
         }
     }
     
-    public Map<String, Object> getExpiryAnalytics(Long kitchenId) {
+    public Map<String, Object> getExpiryAnalytics(Long kitchenId, String cursor, Integer limit) {
         log.info("Fetching expiry analytics for kitchenId: {}", kitchenId);
-        List<InventoryItem> items = inventoryRepository.findByKitchenId(kitchenId);
-        LocalDate today = LocalDate.now();
-        
-        List<Map<String, Object>> expiry = items.stream()
-            .filter(item -> item.getExpiryDate() != null)
-            .map(item -> {
-                try {
-                    // Convert java.util.Date to java.time.LocalDate
-                    Date expiryDate = item.getExpiryDate();
-                    LocalDate expiryLocalDate = expiryDate.toInstant()
-                        .atZone(java.time.ZoneId.systemDefault())
-                        .toLocalDate();
-                    
-                    long daysLeft = java.time.temporal.ChronoUnit.DAYS.between(today, expiryLocalDate);
-                    
-                    String status = daysLeft <= 0 ? "expired" : 
-                                 daysLeft <= 3 ? "critical" : 
-                                 daysLeft <= 7 ? "warning" : "fresh";
-                    
-                    // Get the inventory name if available, otherwise use a default name
-                    String itemName = "Unnamed Item";
-                    if (item.getInventory() != null && item.getInventory().getName() != null) {
-                        itemName = item.getInventory().getName();
-                    }
-                    
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", item.getId());
-                    map.put("name", itemName);
-                    map.put("expiryDate", expiryDate);
-                    map.put("expiryDateFormatted", expiryLocalDate.toString());
-                    map.put("daysLeft", daysLeft);
-                    map.put("status", status);
-                    
-                    // Add quantity information if available
-                    if (item.getCurrentQuantity() != null) {
-                        map.put("quantity", item.getCurrentQuantity());
-                        if (item.getInventory() != null && item.getInventory().getUnit() != null) {
-                            map.put("unit", item.getInventory().getUnit().getName().toLowerCase());
-                        }
-                    }
-                    
-                    return map;
-                } catch (Exception e) {
-                    log.error("Error processing item with ID: " + item.getId(), e);
-                    return null;
-                }
-            })
-            .filter(Objects::nonNull)
-            .sorted(Comparator.comparing(m -> (Integer) m.get("daysLeft")))
-            .collect(Collectors.toList());
-        
-        // Add summary statistics
-        long expiredCount = expiry.stream().filter(m -> "expired".equals(m.get("status"))).count();
-        long criticalCount = expiry.stream().filter(m -> "critical".equals(m.get("status"))).count();
-        long warningCount = expiry.stream().filter(m -> "warning".equals(m.get("status"))).count();
-        long freshCount = expiry.stream().filter(m -> "fresh".equals(m.get("status"))).count();
+        ExpiryAnalyticsPageDTO page = inventoryGroupRepository.findExpiryPage(kitchenId, cursor, limit);
         
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalItems", expiry.size());
-        summary.put("expired", expiredCount);
-        summary.put("critical", criticalCount);
-        summary.put("warning", warningCount);
-        summary.put("fresh", freshCount);
+        summary.put("totalItems", page.getTotalItems());
+        summary.put("expired", page.getExpired());
+        summary.put("critical", page.getCritical());
+        summary.put("warning", page.getWarning());
+        summary.put("fresh", page.getFresh());
         summary.put("lastUpdated", new Date().toString());
         
         Map<String, Object> result = new HashMap<>();
-        result.put("items", expiry);
+        result.put("items", page.getItems());
         result.put("summary", summary);
+        result.put("nextCursor", page.getNextCursor());
+        result.put("hasMore", page.getHasMore());
         
         log.info("Expiry analytics completed. Found {} items ({} expired, {} critical, {} warning, {} fresh)", 
-                expiry.size(), expiredCount, criticalCount, warningCount, freshCount);
+                page.getTotalItems(), page.getExpired(), page.getCritical(), page.getWarning(), page.getFresh());
                 
         return result;
     }
@@ -321,16 +178,16 @@ public class AnalyticsService {
         log.info("=== DEBUG: Fetching summary analytics for kitchenId: {} ===", kitchenId);
         
         // Count items wasted due to expiry from waste_log
-        long itemsWasted = wasteLogRepository.countByKitchenIdAndWasteReason(
-            kitchenId, WasteLog.WasteReason.EXPIRED);
+        long itemsWasted = activityRollupRepository.countEvents(
+            kitchenId, Metric.WASTE, Dimension.REASON, WasteLog.WasteReason.EXPIRED.name());
         log.info("DEBUG: Items wasted (EXPIRED) from waste_log: {}", itemsWasted);
         
         // Count items saved (used after alert) from usage_log
-        long itemsSaved = usageLogRepository.countByKitchenId(kitchenId);
+        long itemsSaved = activityRollupRepository.countEvents(kitchenId, Metric.USAGE, Dimension.TOTAL, "");
         log.info("DEBUG: Items saved from usage_log: {}", itemsSaved);
         
         // Debug: Check total waste logs
-        long totalWaste = wasteLogRepository.countByKitchenId(kitchenId);
+        long totalWaste = activityRollupRepository.countEvents(kitchenId, Metric.WASTE, Dimension.TOTAL, "");
         log.info("DEBUG: Total waste logs: {}", totalWaste);
         
         // Total alerts = saved + wasted
@@ -351,5 +208,24 @@ public class AnalyticsService {
         
         return result;
     }
-
-}
\ No newline at end of file
+    
+    // First day of the current month and the five before it, oldest first
+    private List<LocalDate> lastSixMonths() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        List<LocalDate> months = new ArrayList<>();
+        for (int i = 5; i >= 0; i--) {
+            months.add(currentMonth.minusMonths(i));
+        }
+        return months;
+    }
+    
+    private Map<LocalDate, ActivityRollup> monthlyTotals(Long kitchenId, Metric metric, LocalDate from) {
+        return activityRollupRepository.findBuckets(kitchenId, metric, Granularity.MONTH, Dimension.TOTAL, from)
+            .stream()
+            .collect(Collectors.toMap(ActivityRollup::getBucketStart, Function.identity()));
+    }
+    
+    private int eventCount(ActivityRollup bucket) {
+        return bucket != null ? bucket.getEventCount().intValue() : 0;
+    }
+}
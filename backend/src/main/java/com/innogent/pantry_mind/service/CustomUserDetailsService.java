@@ -1,19 +1,26 @@
 package com.innogent.pantry_mind.service;
 
+import com.innogent.pantry_mind.config.CacheConfig;
 import com.innogent.pantry_mind.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
     
     @Override
     @Transactional(readOnly = true)  // Add this annotation
@@ -29,4 +36,46 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(roleName)
                 .build();
     }
+    
+    /**
+     * Principal for an already verified JWT, cached briefly by subject. It carries no
+     * password hash, so it is never shared with the login flow, which erases credentials
+     * on the UserDetails it authenticates.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS, key = "#email")
+    @Transactional(readOnly = true)
+    public UserDetails loadPrincipal(String email) throws UsernameNotFoundException {
+        com.innogent.pantry_mind.entity.User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        
+        String roleName = user.getRole() != null ? user.getRole().getName() : "USER";
+        
+        return User.withUsername(user.getEmail())
+                .password("")
+                .authorities(roleName)
+                .build();
+    }
+    
+    /**
+     * Drops the cached principal and kitchen membership now and again after the current
+     * transaction commits, so a request racing the commit cannot re-cache the old values.
+     */
+    public void evictPrincipal(String email) {
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        Cache userKitchens = cacheManager.getCache(CacheConfig.USER_KITCHENS);
+        if (principals == null || userKitchens == null || email == null) {
+            return;
+        }
+        principals.evict(email);
+        userKitchens.evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.evict(email);
+                    userKitchens.evict(email);
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.innogent.pantry_mind.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for dashboard section fan-out. Workers are virtual threads when the JVM
+ * has them (Java 21+); the pool size still caps concurrent sections, and with them the
+ * database connections they hold. When saturated a section is rejected rather than run
+ * on the request thread, where no timeout would bound it; its future fails with
+ * RejectedExecutionException and the overview degrades that section as on a timeout.
+ * Deliberately not an Executor bean, so Boot still creates its applicationTaskExecutor.
+ */
+@Component
+@Slf4j
+public class DashboardSectionExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public DashboardSectionExecutor(@Value("${dashboard.overview.pool-size:16}") int poolSize) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 8), threadFactory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> section, long timeoutMs) {
+        try {
+            return CompletableFuture.supplyAsync(section, executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory(), resolved reflectively so this compiles on Java 17
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads unavailable, using platform threads for {}", prefix);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -13,4 +13,5 @@ public interface DashboardService {
     ExpiryAlertSuccessDTO getExpiryAlertSuccess(String username);
     WasteStreakDTO getWasteStreak(String username);
     MonthlyProgressDTO getMonthlyProgress(String username);
+    Map<String, Object> getOverview(String username);
 }
\ No newline at end of file
@@ -0,0 +1,416 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.entity.InventoryItem.ItemStatus;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
+import com.innogent.pantry_mind.repository.InventoryItemRepository;
+import com.innogent.pantry_mind.repository.KitchenStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of active items with an expiry date, driving their FRESH, EXPIRING_SOON
+ * and EXPIRED statuses. Each item has at most one pending transition in a min-heap keyed
+ * by epoch day (alert threshold, then expiry day); a single timer thread wakes at the
+ * earliest due day and persists due transitions with one UPDATE per status. Per-kitchen
+ * status counters are maintained alongside, so the daily alerts read expiry counts
+ * without touching the database.
+ *
+ * Built from one query at startup. Writes raise KitchenStatsChangedEvent; after commit
+ * the kitchen's rows are reloaded on the timer thread, which also repairs stored statuses
+ * that disagree with the dates. The index's own transitions raise status-only events,
+ * which it ignores.
+ *
+ * Events only reach the node that raised them, so writes handled by another node are
+ * found by polling kitchen_stats.items_changed_at above a high-water mark
+ * (expiry.index.poll-interval-ms) and reloading just those kitchens. The stored statuses
+ * remain the source of truth; every node applying the same due transitions writes the
+ * same values, so running it on several nodes is harmless.
+ */
+@Service
+@Slf4j
+public class ExpiryIndex {
+
+    private static final int UPDATE_BATCH = 1_000;
+    // Polls look back this far past the high-water mark, so a write stamped before a slow commit is still seen
+    private static final Duration CHANGE_OVERLAP = Duration.ofMinutes(5);
+    // More changed kitchens than this in one poll are cheaper to pick up with a single full reload
+    private static final int FULL_RELOAD_KITCHENS = 500;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final KitchenStatsRepository kitchenStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> itemsByKitchen = new HashMap<>();
+    private final Map<Long, Counts> countsByKitchen = new HashMap<>();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>(Comparator.comparingLong(Timer::dueDay));
+
+    // Reloads and transitions run on this thread only; the monitor guards reads from request threads
+    private final ScheduledExecutorService timerThread;
+    private final Set<Long> pendingKitchens = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pollPending = new AtomicBoolean();
+    private ScheduledFuture<?> armed;
+    private long armedDay = Long.MAX_VALUE;
+    private volatile boolean built;
+
+    // Poll state, touched on the timer thread only
+    private LocalDateTime changesSeenUpTo;
+    private final Map<Long, LocalDateTime> seenChanges = new HashMap<>();
+
+    public ExpiryIndex(InventoryItemRepository inventoryItemRepository,
+                       KitchenStatsRepository kitchenStatsRepository,
+                       ApplicationEventPublisher eventPublisher) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.kitchenStatsRepository = kitchenStatsRepository;
+        this.eventPublisher = eventPublisher;
+        this.timerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        timerThread.execute(() -> {
+            // Read before the build, so changes committed while it runs are polled again
+            startChangePolling();
+            reload(null);
+        });
+    }
+
+    // Picks up writes made on other nodes, whose events never reach this one
+    @Scheduled(fixedDelayString = "${expiry.index.poll-interval-ms:60000}",
+               initialDelayString = "${expiry.index.poll-interval-ms:60000}")
+    public void pollChanges() {
+        if (pollPending.compareAndSet(false, true)) {
+            timerThread.execute(() -> {
+                pollPending.set(false);
+                reloadChangedKitchens();
+            });
+        }
+    }
+
+    /**
+     * Active items of the kitchen per stored status, as of the last applied transition;
+     * empty until the index has been built.
+     */
+    public synchronized Optional<ExpiryCounts> getCounts(Long kitchenId) {
+        if (!built) {
+            return Optional.empty();
+        }
+        Counts counts = countsByKitchen.get(kitchenId);
+        return Optional.of(counts == null ? new ExpiryCounts(0, 0) : new ExpiryCounts(counts.expiringSoon, counts.expired));
+    }
+
+    @EventListener
+    public void onKitchenChanged(KitchenStatsChangedEvent event) {
+        // Status-only changes are the index's own transitions, already applied in memory
+        if (event.statusOnly()) {
+            return;
+        }
+        Long kitchenId = event.kitchenId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleReload(kitchenId);
+                }
+            });
+        } else {
+            scheduleReload(kitchenId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timerThread.shutdownNow();
+    }
+
+    // A null kitchen id stands for a full rebuild; bursts of writes to a kitchen coalesce into one reload
+    private void scheduleReload(Long kitchenId) {
+        long key = kitchenId != null ? kitchenId : Long.MIN_VALUE;
+        if (pendingKitchens.add(key)) {
+            timerThread.execute(() -> {
+                pendingKitchens.remove(key);
+                reload(kitchenId);
+            });
+        }
+    }
+
+    private void reload(Long kitchenId) {
+        try {
+            List<Object[]> rows = inventoryItemRepository.findExpiryIndexRows(kitchenId);
+            long today = LocalDate.now().toEpochDay();
+            Map<ItemStatus, List<Long>> repairs = new EnumMap<>(ItemStatus.class);
+            synchronized (this) {
+                if (kitchenId == null) {
+                    entries.clear();
+                    itemsByKitchen.clear();
+                    countsByKitchen.clear();
+                    timers.clear();
+                } else {
+                    removeKitchen(kitchenId);
+                }
+                for (Object[] row : rows) {
+                    Entry entry = new Entry(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                            toEpochDay(row[2]), ((Number) row[3]).intValue());
+                    entry.status = statusOn(entry, today);
+                    if (!entry.status.name().equals(row[4])) {
+                        repairs.computeIfAbsent(entry.status, s -> new ArrayList<>()).add(entry.itemId);
+                    }
+                    add(entry);
+                }
+                compactTimers();
+            }
+            if (kitchenId == null) {
+                built = true;
+                log.info("Built expiry index with {} items", rows.size());
+            }
+            persist(repairs);
+        } catch (Exception e) {
+            log.error("Expiry index reload failed for {}", kitchenId != null ? "kitchen " + kitchenId : "all kitchens", e);
+        }
+        arm();
+    }
+
+    private void startChangePolling() {
+        try {
+            LocalDateTime latest = kitchenStatsRepository.findLatestItemChange();
+            changesSeenUpTo = latest != null ? latest : LocalDateTime.of(1970, 1, 1, 0, 0);
+        } catch (Exception e) {
+            log.error("Failed to read the expiry index change high-water mark", e);
+        }
+    }
+
+    // Reloads kitchens whose items changed since the last poll; runs on the timer thread
+    private void reloadChangedKitchens() {
+        if (changesSeenUpTo == null) {
+            // The startup read failed; start from now, the overlap still covers recent writes
+            startChangePolling();
+            return;
+        }
+        List<Long> changed = new ArrayList<>();
+        LocalDateTime latest = changesSeenUpTo;
+        try {
+            for (Object[] row : kitchenStatsRepository.findItemChangesSince(changesSeenUpTo.minus(CHANGE_OVERLAP))) {
+                Long kitchenId = (Long) row[0];
+                LocalDateTime changedAt = (LocalDateTime) row[1];
+                // Rows inside the overlap come back on every poll; only a newer stamp means a new change
+                if (!changedAt.equals(seenChanges.put(kitchenId, changedAt))) {
+                    changed.add(kitchenId);
+                }
+                if (changedAt.isAfter(latest)) {
+                    latest = changedAt;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Expiry index change poll failed", e);
+            return;
+        }
+        changesSeenUpTo = latest;
+        LocalDateTime horizon = latest.minus(CHANGE_OVERLAP);
+        seenChanges.values().removeIf(changedAt -> !changedAt.isAfter(horizon));
+
+        if (changed.size() > FULL_RELOAD_KITCHENS) {
+            reload(null);
+        } else {
+            changed.forEach(this::reload);
+        }
+        if (!changed.isEmpty()) {
+            log.debug("Expiry index reloaded {} kitchens changed since the last poll", changed.size());
+        }
+    }
+
+    private void advance() {
+        long today = LocalDate.now().toEpochDay();
+        Map<ItemStatus, List<Long>> transitions = new EnumMap<>(ItemStatus.class);
+        synchronized (this) {
+            armed = null;
+            armedDay = Long.MAX_VALUE;
+            while (!timers.isEmpty() && timers.peek().dueDay() <= today) {
+                Timer timer = timers.poll();
+                Entry entry = entries.get(timer.itemId());
+                // Timers are not removed when an entry is replaced or dropped; skip those that no longer apply
+                if (entry == null || entry != timer.entry()) {
+                    continue;
+                }
+                ItemStatus next = statusOn(entry, today);
+                if (next != entry.status) {
+                    counts(entry.kitchenId).move(entry.status, next);
+                    entry.status = next;
+                    transitions.computeIfAbsent(next, s -> new ArrayList<>()).add(entry.itemId);
+                }
+                schedule(entry);
+            }
+        }
+        try {
+            persist(transitions);
+        } catch (Exception e) {
+            // The next reload of these kitchens compares stored statuses with the dates and retries
+            log.error("Failed to persist expiry transitions", e);
+        }
+        arm();
+    }
+
+    private void persist(Map<ItemStatus, List<Long>> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Long> kitchens = new HashSet<>();
+        changes.forEach((status, itemIds) -> {
+            for (int from = 0; from < itemIds.size(); from += UPDATE_BATCH) {
+                List<Long> batch = itemIds.subList(from, Math.min(from + UPDATE_BATCH, itemIds.size()));
+                inventoryItemRepository.updateActiveStatus(batch, status.name());
+            }
+            synchronized (this) {
+                itemIds.forEach(itemId -> {
+                    Entry entry = entries.get(itemId);
+                    if (entry != null) {
+                        kitchens.add(entry.kitchenId);
+                    }
+                });
+            }
+        });
+        kitchens.forEach(kitchenId -> eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId, true)));
+        log.debug("Applied expiry status changes to {} items in {} kitchens",
+                changes.values().stream().mapToInt(List::size).sum(), kitchens.size());
+    }
+
+    // Wakes the timer thread at the start of the earliest due day
+    private synchronized void arm() {
+        if (timerThread.isShutdown() || timers.isEmpty()) {
+            return;
+        }
+        long dueDay = timers.peek().dueDay();
+        if (armed != null && armedDay <= dueDay) {
+            return;
+        }
+        if (armed != null) {
+            armed.cancel(false);
+        }
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(),
+                LocalDate.ofEpochDay(dueDay).atStartOfDay()).toMillis());
+        armedDay = dueDay;
+        armed = timerThread.schedule(this::advance, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.itemId, entry);
+        itemsByKitchen.computeIfAbsent(entry.kitchenId, k -> new HashSet<>()).add(entry.itemId);
+        counts(entry.kitchenId).add(entry.status, 1);
+        schedule(entry);
+    }
+
+    private void removeKitchen(Long kitchenId) {
+        Set<Long> itemIds = itemsByKitchen.remove(kitchenId);
+        if (itemIds != null) {
+            itemIds.forEach(entries::remove);
+        }
+        countsByKitchen.remove(kitchenId);
+    }
+
+    private void schedule(Entry entry) {
+        long dueDay = switch (entry.status) {
+            case FRESH -> entry.expiryDay - Math.max(entry.alertDays, 0);
+            case EXPIRING_SOON -> entry.expiryDay;
+            default -> Long.MAX_VALUE;
+        };
+        if (dueDay != Long.MAX_VALUE) {
+            timers.add(new Timer(dueDay, entry.itemId, entry));
+        }
+    }
+
+    // Drops timers of replaced entries once they outnumber the live ones
+    private void compactTimers() {
+        if (timers.size() > 2 * entries.size() + 1_024) {
+            timers.clear();
+            entries.values().forEach(this::schedule);
+        }
+    }
+
+    private Counts counts(long kitchenId) {
+        return countsByKitchen.computeIfAbsent(kitchenId, k -> new Counts());
+    }
+
+    // Same thresholds as the expiry alerts: expired on the expiry day, expiring within the inventory's alert window
+    private static ItemStatus statusOn(Entry entry, long day) {
+        long daysLeft = entry.expiryDay - day;
+        if (daysLeft <= 0) {
+            return ItemStatus.EXPIRED;
+        }
+        return daysLeft <= entry.alertDays ? ItemStatus.EXPIRING_SOON : ItemStatus.FRESH;
+    }
+
+    private static long toEpochDay(Object date) {
+        return date instanceof LocalDate localDate
+                ? localDate.toEpochDay()
+                : ((java.sql.Date) date).toLocalDate().toEpochDay();
+    }
+
+    public record ExpiryCounts(long expiringSoon, long expired) {
+    }
+
+    private record Timer(long dueDay, long itemId, Entry entry) {
+    }
+
+    private static final class Entry {
+        private final long itemId;
+        private final long kitchenId;
+        private final long expiryDay;
+        private final int alertDays;
+        private ItemStatus status;
+
+        private Entry(long itemId, long kitchenId, long expiryDay, int alertDays) {
+            this.itemId = itemId;
+            this.kitchenId = kitchenId;
+            this.expiryDay = expiryDay;
+            this.alertDays = alertDays;
+        }
+    }
+
+    private static final class Counts {
+        private long expiringSoon;
+        private long expired;
+
+        private void add(ItemStatus status, long delta) {
+            if (status == ItemStatus.EXPIRING_SOON) {
+                expiringSoon += delta;
+            } else if (status == ItemStatus.EXPIRED) {
+                expired += delta;
+            }
+        }
+
+        private void move(ItemStatus from, ItemStatus to) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+}
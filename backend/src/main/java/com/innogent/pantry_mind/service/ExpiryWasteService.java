@@ -1,125 +1,184 @@
 package com.innogent.pantry_mind.service;
 
-import com.innogent.pantry_mind.entity.*;
-import com.innogent.pantry_mind.repository.*;
-import lombok.RequiredArgsConstructor;
+import com.innogent.pantry_mind.entity.JobCheckpoint;
+import com.innogent.pantry_mind.entity.WasteLog;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
+import com.innogent.pantry_mind.exception.LeaseLostException;
+import com.innogent.pantry_mind.repository.InventoryItemRepository;
+import com.innogent.pantry_mind.repository.JobCheckpointRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * Nightly sweep moving expired active items to waste. Kitchens are split into shards run
+ * by {@link ShardedJobRunner}, so shards are spread over nodes and worker threads; each
+ * kitchen is walked in id-ordered chunks, and every chunk is locked, wasted with
+ * set-based statements, fenced and checkpointed in its own transaction. A shard taken
+ * over after a crash resumes after its kitchens' last committed chunks.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class ExpiryWasteService {
-    
+public class ExpiryWasteService implements ShardedJob {
+
+    private static final String JOB_NAME = "expiry-sweep";
+    private static final Long SYSTEM_USER_ID = 1L;
+    private static final int NOTIFIED_NAMES = 3;
+
     private final InventoryItemRepository inventoryItemRepository;
-    private final WasteLogRepository wasteLogRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
     private final NotificationService notificationService;
-    
+    private final ActivityRollupService activityRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardedJobRunner shardedJobRunner;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int shardCount;
+
+    public ExpiryWasteService(InventoryItemRepository inventoryItemRepository,
+                              JobCheckpointRepository jobCheckpointRepository,
+                              NotificationService notificationService,
+                              ActivityRollupService activityRollupService,
+                              ApplicationEventPublisher eventPublisher,
+                              ShardedJobRunner shardedJobRunner,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${expiry.sweep.chunk-size:500}") int chunkSize,
+                              @Value("${expiry.sweep.shards:16}") int shardCount) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.notificationService = notificationService;
+        this.activityRollupService = activityRollupService;
+        this.eventPublisher = eventPublisher;
+        this.shardedJobRunner = shardedJobRunner;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.shardCount = Math.max(1, shardCount);
+    }
+
     @Scheduled(cron = "0 10 1 * * ?") // Run daily at 1:10 AM
-    @Transactional
     public void processExpiredItems() {
-        System.out.println("\n\n=== SCHEDULED TASK RUNNING ===");
-        System.out.println("Time: " + new Date());
-        System.out.println("Looking for expired items...");
-        log.info("Expired items task running at: {}", new Date());
-        
-        // Find items expiring today or before (compare dates only, not time)
-        java.time.LocalDate today = java.time.LocalDate.now();
-        List<InventoryItem> expiredItems = inventoryItemRepository.findAll().stream()
-            .filter(item -> item.getIsActive() != null && item.getIsActive() && 
-                           item.getExpiryDate() != null)
-            .filter(item -> {
-                java.time.LocalDate itemExpiryDate = item.getExpiryDate().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                return itemExpiryDate.equals(today) || itemExpiryDate.isBefore(today);
-            })
-            .toList();
-        
-        System.out.println("\n*** FOUND " + expiredItems.size() + " EXPIRED ITEMS ***");
-        for (InventoryItem item : expiredItems) {
-            System.out.println("-> EXPIRED: " + item.getInventory().getName() + " (ID=" + item.getId() + "), Expiry=" + item.getExpiryDate() + ", Qty=" + item.getCurrentQuantity());
-        }
-        
-        // Debug: Show near expiry items (next 3 days)
-        java.time.LocalDate threeDaysFromNow = today.plusDays(3);
-        List<InventoryItem> nearExpiryItems = inventoryItemRepository.findAll().stream()
-            .filter(item -> item.getIsActive() != null && item.getIsActive() && 
-                           item.getExpiryDate() != null)
-            .filter(item -> {
-                java.time.LocalDate itemExpiryDate = item.getExpiryDate().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                return itemExpiryDate.isAfter(today) && itemExpiryDate.isBefore(threeDaysFromNow.plusDays(1));
-            })
-            .toList();
-        
-        System.out.println("\n*** NEAR EXPIRY (Next 3 days): " + nearExpiryItems.size() + " items ***");
-        for (InventoryItem item : nearExpiryItems) {
-            System.out.println("-> NEAR EXPIRY: " + item.getInventory().getName() + " (ID=" + item.getId() + "), Expiry=" + item.getExpiryDate() + ", Qty=" + item.getCurrentQuantity());
-        }
-        System.out.println("");
-        
-        for (InventoryItem item : expiredItems) {
+        shardedJobRunner.run(this, LocalDate.now().toString());
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public long processShard(ShardContext context) {
+        // The run key is the sweep day, so a shard resumed after midnight keeps its cutoff and checkpoints
+        LocalDate today = LocalDate.parse(context.getRunKey());
+        // Items expiring on that day or before; expiry_date is stored at midnight
+        LocalDateTime cutoff = today.plusDays(1).atStartOfDay();
+
+        List<Long> kitchenIds = inventoryItemRepository.findKitchenIdsWithExpiredItems(
+                cutoff, context.getShardCount(), context.getShard());
+        int wasted = 0;
+        int failedKitchens = 0;
+        for (Long kitchenId : kitchenIds) {
+            context.checkLease();
             try {
-                // Create waste log entry
-                WasteLog wasteLog = WasteLog.builder()
-                    .inventoryItemId(item.getId())
-                    .kitchenId(item.getInventory().getKitchenId())
-                    .itemName(item.getInventory().getName())
-                    .quantityWasted(item.getCurrentQuantity())
-                    .unit(item.getInventory().getUnit())
-                    .wasteReason(WasteLog.WasteReason.EXPIRED)
-                    .estimatedValue(calculateItemValue(item))
-                    .notes("Automatically logged - item expired on " + item.getExpiryDate())
-                    .reportedBy(1L) // System user ID
-                    .build();
-                
-                wasteLogRepository.save(wasteLog);
-                System.out.println("✓ MOVED TO WASTE: " + item.getInventory().getName() + " (ID=" + item.getId() + ") - Qty: " + item.getCurrentQuantity() + " - Value: ₹" + calculateItemValue(item));
-                
-                // Store wasted quantity before reducing
-                BigDecimal wastedQty = item.getCurrentQuantity();
-                
-                // Update parent inventory total quantity
-                Inventory inventory = item.getInventory();
-                long newTotal = Math.max(0, inventory.getTotalQuantity() - wastedQty.longValue());
-                inventory.setTotalQuantity(newTotal);
-                
-                // Reduce quantity to zero and mark as wasted
-                item.setCurrentQuantity(BigDecimal.ZERO);
-                item.setStatus(InventoryItem.ItemStatus.WASTED);
-                item.setIsActive(false);
-                inventoryItemRepository.save(item);
-                
-                // Send notification for expired item moved to waste
-                String message = String.format("%s is expired!", item.getInventory().getName());
-                notificationService.sendInventoryAlert(item.getInventory().getKitchenId(), "ITEM_EXPIRED_WASTED", message, item.getId());
-                
-                log.info("Moved expired item {} to waste: {} {}", item.getId(), wastedQty, item.getInventory().getUnit().getName());
-                
+                wasted += sweepKitchen(kitchenId, today, cutoff, context);
+            } catch (LeaseLostException e) {
+                throw e;
             } catch (Exception e) {
-                log.error("Failed to process expired item ID: {}", item.getId(), e);
+                failedKitchens++;
+                log.error("Expiry sweep failed for kitchen {}; it resumes from its checkpoint when the shard is retried",
+                        kitchenId, e);
             }
         }
-        
-        if (expiredItems.size() > 0) {
-            System.out.println("\n*** COMPLETED: Processed " + expiredItems.size() + " expired items ***\n");
-            log.info("Processed {} expired items at {}", expiredItems.size(), new Date());
-        } else {
-            System.out.println("*** NO EXPIRED ITEMS TO PROCESS ***\n");
+        if (failedKitchens > 0) {
+            throw new IllegalStateException(failedKitchens + " of " + kitchenIds.size() + " kitchens failed");
         }
+        return wasted;
     }
-    
-    private BigDecimal calculateItemValue(InventoryItem item) {
-        if (item.getPrice() != null && item.getCurrentQuantity() != null) {
-            return item.getPrice().multiply(item.getCurrentQuantity())
-                .divide(item.getOriginalQuantity(), 2, BigDecimal.ROUND_HALF_UP);
+
+    /**
+     * Wastes one kitchen's expired items chunk by chunk and sends one notification for
+     * the kitchen once all chunks are committed.
+     *
+     * @return the number of items moved to waste
+     */
+    int sweepKitchen(Long kitchenId, LocalDate today, LocalDateTime cutoff, ShardContext context) {
+        String partitionKey = String.valueOf(kitchenId);
+        long afterId = jobCheckpointRepository.findById(new JobCheckpoint.Key(JOB_NAME, partitionKey))
+                .filter(checkpoint -> today.equals(checkpoint.getRunDate()))
+                .map(JobCheckpoint::getLastId)
+                .orElse(0L);
+
+        List<WasteLog> kitchenWaste = new ArrayList<>();
+        while (true) {
+            long chunkAfterId = afterId;
+            Chunk chunk = chunkTransaction.execute(status -> {
+                context.fence();
+                return wasteChunk(kitchenId, partitionKey, today, cutoff, chunkAfterId);
+            });
+            if (chunk == null) {
+                break;
+            }
+            kitchenWaste.addAll(chunk.wasteLogs());
+            afterId = chunk.lastId();
+        }
+
+        if (!kitchenWaste.isEmpty()) {
+            notifyExpired(kitchenId, kitchenWaste);
+            log.debug("Expiry sweep moved {} items to waste for kitchen {}", kitchenWaste.size(), kitchenId);
+        }
+        return kitchenWaste.size();
+    }
+
+    // Returns null once no expired item is left after afterId
+    private Chunk wasteChunk(Long kitchenId, String partitionKey, LocalDate today,
+                             LocalDateTime cutoff, long afterId) {
+        List<Long> itemIds = inventoryItemRepository.lockExpiredChunk(kitchenId, cutoff, afterId, chunkSize);
+        if (itemIds.isEmpty()) {
+            return null;
         }
-        return BigDecimal.ZERO;
+        long lastId = itemIds.get(itemIds.size() - 1);
+        List<WasteLog> wasteLogs = inventoryItemRepository.moveExpiredToWaste(itemIds, SYSTEM_USER_ID);
+        activityRollupService.recordWaste(wasteLogs);
+        jobCheckpointRepository.advance(JOB_NAME, partitionKey, today, lastId, wasteLogs.size());
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
+        return new Chunk(lastId, wasteLogs);
+    }
+
+    // One alert per kitchen and run instead of one per item
+    private void notifyExpired(Long kitchenId, List<WasteLog> wasteLogs) {
+        try {
+            String message;
+            Long relatedItemId = null;
+            if (wasteLogs.size() == 1) {
+                message = String.format("%s is expired!", wasteLogs.get(0).getItemName());
+                relatedItemId = wasteLogs.get(0).getInventoryItemId();
+            } else {
+                List<String> names = wasteLogs.stream().map(WasteLog::getItemName).distinct().toList();
+                message = String.format("%d items expired and were moved to waste: %s%s",
+                        wasteLogs.size(),
+                        names.stream().limit(NOTIFIED_NAMES).collect(Collectors.joining(", ")),
+                        names.size() > NOTIFIED_NAMES ? " and more" : "");
+            }
+            notificationService.sendInventoryAlert(kitchenId, "ITEM_EXPIRED_WASTED", message, relatedItemId);
+        } catch (Exception e) {
+            log.error("Failed to send expiry notification for kitchen {}", kitchenId, e);
+        }
+    }
+
+    private record Chunk(long lastId, List<WasteLog> wasteLogs) {
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.innogent.pantry_mind.service;
 
 import com.innogent.pantry_mind.entity.InventoryItem;
 import com.innogent.pantry_mind.repository.InventoryItemRepository;
+import com.innogent.pantry_mind.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -17,6 +18,7 @@ import java.util.List;
 public class InventoryMigrationService implements CommandLineRunner {
     
     private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryRepository inventoryRepository;
     
     @Override
     @Transactional
@@ -25,6 +27,7 @@ public class InventoryMigrationService implements CommandLineRunner {
         
         try {
             migrateExistingItems();
+            backfillMinStock();
             log.info("Inventory migration completed successfully");
         } catch (Exception e) {
             log.error("Inventory migration failed", e);
@@ -73,4 +76,11 @@ public class InventoryMigrationService implements CommandLineRunner {
         
         log.info("Migrated {} inventory items to new tracking system", migrated);
     }
+    
+    private void backfillMinStock() {
+        int filled = inventoryRepository.backfillMinStock();
+        if (filled > 0) {
+            log.info("Backfilled min stock for {} inventory groups", filled);
+        }
+    }
 }
\ No newline at end of file
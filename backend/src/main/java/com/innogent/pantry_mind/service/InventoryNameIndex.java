@@ -0,0 +1,80 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.util.NameBkTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cached fuzzy-match index of inventory names, one BK-tree per (kitchen, category, unit)
+ * built from the stored normalized names. Creating an inventory adds to the index;
+ * deletes and renames invalidate the kitchen so it is rebuilt on the next lookup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryNameIndex {
+    
+    private static final int MAX_CACHED_GROUPS = 2000;
+    
+    private final InventoryRepository inventoryRepository;
+    
+    private final Map<GroupKey, NameBkTree> trees = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GroupKey, NameBkTree> eldest) {
+                return size() > MAX_CACHED_GROUPS;
+            }
+        });
+    
+    /**
+     * Closest stored normalized name within maxDistance edits, or null.
+     */
+    public String findClosest(Long kitchenId, Long categoryId, Long unitId, String normalizedName, int maxDistance) {
+        if (normalizedName == null || normalizedName.isEmpty()) {
+            return null;
+        }
+        NameBkTree tree = getTree(new GroupKey(kitchenId, categoryId, unitId));
+        synchronized (tree) {
+            return tree.findClosest(normalizedName, maxDistance);
+        }
+    }
+    
+    public void add(Long kitchenId, Long categoryId, Long unitId, String normalizedName) {
+        NameBkTree tree = trees.get(new GroupKey(kitchenId, categoryId, unitId));
+        if (tree != null) {
+            synchronized (tree) {
+                tree.add(normalizedName);
+            }
+        }
+    }
+    
+    public void invalidateKitchen(Long kitchenId) {
+        synchronized (trees) {
+            trees.keySet().removeIf(key -> Objects.equals(key.kitchenId(), kitchenId));
+        }
+    }
+    
+    private NameBkTree getTree(GroupKey key) {
+        NameBkTree tree = trees.get(key);
+        if (tree != null) {
+            return tree;
+        }
+        NameBkTree built = new NameBkTree();
+        inventoryRepository.findNormalizedNamesByKitchenAndCategoryAndUnit(key.kitchenId(), key.categoryId(), key.unitId())
+            .forEach(built::add);
+        log.debug("Built name index for kitchen {} category {} unit {} with {} names",
+            key.kitchenId(), key.categoryId(), key.unitId(), built.size());
+        NameBkTree existing = trees.putIfAbsent(key, built);
+        return existing != null ? existing : built;
+    }
+    
+    private record GroupKey(Long kitchenId, Long categoryId, Long unitId) {
+    }
+}
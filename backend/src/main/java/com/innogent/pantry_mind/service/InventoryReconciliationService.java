@@ -0,0 +1,34 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Inventory totals are maintained by delta UPDATEs on every item mutation.
+ * This job recomputes them from inventory_item and repairs any drift
+ * (writes from paths that bypass the deltas, rows predating total_quantity_exact).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReconciliationService {
+    
+    private final InventoryRepository inventoryRepository;
+    
+    @Scheduled(cron = "${inventory.reconciliation.cron:0 40 2 * * *}") // Daily at 2:40 AM by default
+    public void reconcileInventoryTotals() {
+        try {
+            int repaired = inventoryRepository.reconcileTotals(null);
+            if (repaired > 0) {
+                log.warn("Inventory totals drift repaired for {} inventories", repaired);
+            } else {
+                log.info("Inventory totals reconciliation found no drift");
+            }
+        } catch (Exception e) {
+            log.error("Inventory totals reconciliation failed", e);
+        }
+    }
+}
@@ -2,22 +2,27 @@ package com.innogent.pantry_mind.service;
 
 import com.innogent.pantry_mind.dto.request.ConsumeItemsRequestDTO;
 import com.innogent.pantry_mind.dto.request.CreateInventoryItemRequestDTO;
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryItemRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryAlertsRequestDTO;
 import com.innogent.pantry_mind.dto.response.ConsumeItemsResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryConsumptionInfoDTO;
 import com.innogent.pantry_mind.dto.response.InventoryItemResponseDTO;
+import com.innogent.pantry_mind.dto.response.InventoryPageResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryResponseDTO;
 import com.innogent.pantry_mind.entity.AiExtractedItems;
 import com.innogent.pantry_mind.entity.InventoryItem;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface InventoryService {
 
     InventoryItemResponseDTO addInventoryItem(CreateInventoryItemRequestDTO dto);
 
-    List<InventoryResponseDTO> getAllInventoryItems();
+    void streamAllInventoryItems(Consumer<InventoryResponseDTO> consumer);
+    
+    InventoryPageResponseDTO getAllInventoryPage(Long afterId, Integer limit);
 
     InventoryResponseDTO getInventoryItemById(Long id);
 
@@ -31,12 +36,15 @@ public interface InventoryService {
     
     List<InventoryResponseDTO> getInventoryItemsByKitchen(Long kitchenId);
     
+    InventoryPageResponseDTO getInventoryPage(Long kitchenId, InventoryListRequestDTO request);
+    
 
     
     InventoryItem addItemFromOcr(AiExtractedItems aiItem, Long userId);
     
 
     
+    // Consumes every requested item or none: a failed usage-log write rolls back the whole call
     ConsumeItemsResponseDTO consumeItems(ConsumeItemsRequestDTO dto);
     
     InventoryConsumptionInfoDTO getConsumptionInfo(Long inventoryId);
@@ -1,9 +1,11 @@
 package com.innogent.pantry_mind.service;
 
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
 import com.innogent.pantry_mind.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +14,7 @@ import java.time.LocalDate;
 import java.util.Date;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +28,8 @@ public class InventoryTrackingService {
     private final WasteLogRepository wasteLogRepository;
     private final PurchaseLogRepository purchaseLogRepository;
     private final NotificationService notificationService;
+    private final ActivityRollupService activityRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void useItem(Long itemId, BigDecimal usedQuantity, UsageLog.UsageType usageType,
@@ -46,7 +51,11 @@ public class InventoryTrackingService {
                 .mealLogId(mealLogId)  // This will be set when called from logMeal
                 .build();
         usageLogRepository.save(usageLog);
+        activityRollupService.recordUsage(List.of(usageLog), Map.of(itemId, item));
 
+        boolean wasActive = Boolean.TRUE.equals(item.getIsActive());
+        BigDecimal previousQuantity = item.getCurrentQuantity();
+        
         // Update item quantity
         BigDecimal newQuantity = item.getCurrentQuantity().subtract(usedQuantity);
         item.setCurrentQuantity(newQuantity);
@@ -58,7 +67,8 @@ public class InventoryTrackingService {
         }
 
         inventoryItemRepository.save(item);
-        updateInventoryTotals(item.getInventory().getId());
+        applyTotalsDelta(item, wasActive, previousQuantity);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(item.getInventory().getKitchenId()));
     }
 
     @Transactional
@@ -98,6 +108,8 @@ public class InventoryTrackingService {
 
         // Update meal log with ingredients
         mealLog.setIngredientsUsed(ingredientsUsed.toString());
+        // Meal analytics change even when the meal used no tracked ingredients
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
         return mealLogRepository.save(mealLog);
     }
     
@@ -115,6 +127,7 @@ public class InventoryTrackingService {
         WasteLog wasteLog = WasteLog.builder()
             .inventoryItemId(itemId)
             .kitchenId(item.getInventory().getKitchenId())
+            .itemName(item.getInventory().getName())
             .reportedBy(reportedBy)
             .quantityWasted(wastedQuantity)
             .unit(item.getInventory().getUnit())
@@ -125,6 +138,10 @@ public class InventoryTrackingService {
             .notes(notes)
             .build();
         wasteLogRepository.save(wasteLog);
+        activityRollupService.recordWaste(wasteLog);
+        
+        boolean wasActive = Boolean.TRUE.equals(item.getIsActive());
+        BigDecimal previousQuantity = item.getCurrentQuantity();
         
         // Update item quantity
         BigDecimal newQuantity = item.getCurrentQuantity().subtract(wastedQuantity);
@@ -137,7 +154,8 @@ public class InventoryTrackingService {
         }
         
         inventoryItemRepository.save(item);
-        updateInventoryTotals(item.getInventory().getId());
+        applyTotalsDelta(item, wasActive, previousQuantity);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(item.getInventory().getKitchenId()));
         
         // Send notification for waste logging
         String message = String.format("%s is wasted!", item.getInventory().getName());
@@ -165,7 +183,10 @@ public class InventoryTrackingService {
             .expiryDate(expiryDate)
             .build();
         
-        return purchaseLogRepository.save(purchaseLog);
+        PurchaseLog saved = purchaseLogRepository.save(purchaseLog);
+        activityRollupService.recordPurchase(saved);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
+        return saved;
     }
     
     @Transactional
@@ -208,20 +229,14 @@ public class InventoryTrackingService {
         log.info("Successfully processed {} expired items for kitchen {}", expiredItems.size(), kitchenId);
     }
     
-    private void updateInventoryTotals(Long inventoryId) {
-        List<InventoryItem> activeItems = inventoryItemRepository
-            .findByInventoryIdAndIsActiveTrue(inventoryId);
-        
-        BigDecimal totalQuantity = activeItems.stream()
-            .map(InventoryItem::getCurrentQuantity)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        Inventory inventory = inventoryRepository.findById(inventoryId)
-            .orElseThrow(() -> new RuntimeException("Inventory not found"));
+    // Applies the item's contribution change to its inventory group with one UPDATE
+    private void applyTotalsDelta(InventoryItem item, boolean wasActive, BigDecimal previousQuantity) {
+        boolean isActive = Boolean.TRUE.equals(item.getIsActive());
+        BigDecimal before = wasActive ? previousQuantity : BigDecimal.ZERO;
+        BigDecimal after = isActive ? item.getCurrentQuantity() : BigDecimal.ZERO;
+        int countDelta = (isActive ? 1 : 0) - (wasActive ? 1 : 0);
         
-        inventory.setTotalQuantity(totalQuantity.longValue());
-        inventory.setItemCount(activeItems.size());
-        inventoryRepository.save(inventory);
+        inventoryRepository.applyTotalsDelta(item.getInventory().getId(), after.subtract(before), countDelta);
     }
     
     private BigDecimal calculateEstimatedValue(InventoryItem item, BigDecimal wastedQuantity) {
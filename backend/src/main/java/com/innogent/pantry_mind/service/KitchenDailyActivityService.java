@@ -0,0 +1,126 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.entity.ConsumptionEvent;
+import com.innogent.pantry_mind.entity.KitchenDailyActivity;
+import com.innogent.pantry_mind.repository.KitchenDailyActivityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Maintains the kitchen_daily_activity rollup. Writers call the record methods next to
+ * the log insert, inside the same transaction, so the rollup commits or rolls back with
+ * it. Rows are keyed by the date of the log row's own timestamp, and consumption is
+ * valued as unit price times quantity consumed, exactly as the rebuild derives both, so
+ * a rebuild reproduces the incremental totals.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KitchenDailyActivityService {
+
+    private final KitchenDailyActivityRepository kitchenDailyActivityRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        if (kitchenDailyActivityRepository.count() == 0) {
+            int days = kitchenDailyActivityRepository.rebuild(null);
+            log.info("Backfilled kitchen daily activity with {} day rows", days);
+        }
+    }
+
+    // day is the date of the waste logs' wasted_at
+    @Transactional
+    public void recordWaste(Long kitchenId, LocalDate day, long count, BigDecimal value) {
+        if (kitchenId != null && day != null && count > 0) {
+            kitchenDailyActivityRepository.addWaste(kitchenId, day, count, nullToZero(value));
+        }
+    }
+
+    /**
+     * Records one saved consumption event, valued at the unit price of the latest batch
+     * with the same name times the quantity consumed.
+     */
+    @Transactional
+    public void recordConsumption(ConsumptionEvent event) {
+        if (event.getKitchen() == null || event.getCreatedAt() == null) {
+            return;
+        }
+        kitchenDailyActivityRepository.addConsumptionPricedByName(event.getKitchen().getId(),
+                event.getCreatedAt().toLocalDate(), event.getCanonicalName(), event.getQuantityConsumed());
+    }
+
+    @Transactional
+    public void recordPurchase(Long kitchenId, LocalDateTime purchasedAt, BigDecimal spend) {
+        if (kitchenId != null && purchasedAt != null) {
+            kitchenDailyActivityRepository.addPurchase(kitchenId, purchasedAt.toLocalDate(), nullToZero(spend));
+        }
+    }
+
+    /**
+     * Recomputes one kitchen's rollup from its logs, for writes that backdate log rows.
+     */
+    @Transactional
+    public void rebuildKitchen(Long kitchenId) {
+        kitchenDailyActivityRepository.rebuild(kitchenId);
+    }
+
+    @Transactional
+    public void rebuildAll() {
+        kitchenDailyActivityRepository.rebuild(null);
+    }
+
+    /**
+     * Derives waste-free streaks from one ordered scan of the kitchen's day rows. History
+     * starts at the kitchen's first recorded activity; a day with waste breaks the streak.
+     */
+    @Transactional(readOnly = true)
+    public WasteStreak getWasteStreak(Long kitchenId, LocalDate today) {
+        List<KitchenDailyActivity> days = kitchenDailyActivityRepository.findByKitchenIdOrderByActivityDateAsc(kitchenId);
+        if (days.isEmpty()) {
+            return new WasteStreak(0, 0, 0L, 0L);
+        }
+
+        LocalDate firstDay = days.get(0).getActivityDate();
+        LocalDate lastWasteDay = null;
+        long longest = 0;
+        long totalWaste = 0;
+        long totalConsumption = 0;
+        for (KitchenDailyActivity day : days) {
+            totalConsumption += day.getConsumptionCount();
+            if (day.getWasteCount() > 0 && !day.getActivityDate().isAfter(today)) {
+                totalWaste += day.getWasteCount();
+                // Waste-free days strictly between the previous waste day (or history start) and this one
+                long run = lastWasteDay == null
+                    ? ChronoUnit.DAYS.between(firstDay, day.getActivityDate())
+                    : ChronoUnit.DAYS.between(lastWasteDay, day.getActivityDate()) - 1;
+                longest = Math.max(longest, run);
+                lastWasteDay = day.getActivityDate();
+            }
+        }
+
+        long current = lastWasteDay == null
+            ? ChronoUnit.DAYS.between(firstDay, today) + 1
+            : ChronoUnit.DAYS.between(lastWasteDay, today);
+        current = Math.max(0, current);
+        longest = Math.max(longest, current);
+        return new WasteStreak((int) current, (int) longest, totalConsumption, totalWaste);
+    }
+
+    private BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    public record WasteStreak(int currentStreak, int longestStreak, long totalConsumption, long totalWaste) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.innogent.pantry_mind.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innogent.pantry_mind.config.CacheConfig;
+import com.innogent.pantry_mind.repository.KitchenStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Caches computed dashboard and analytics results per kitchen. Keys carry the kitchen's
+ * kitchen_stats.change_version, which every KitchenStatsChangedEvent bumps inside the
+ * writing transaction on whichever node handled the write, and the current day, since
+ * expiry buckets move with the calendar. A write therefore makes older entries
+ * unreachable on every node once it commits; they are never scanned for and simply age
+ * out under the cache's size and TTL.
+ *
+ * The price is one primary-key read of kitchen_stats per lookup, hit or miss; the
+ * overview reads it once for all its sections. Keeping the version in memory would make
+ * hits free but leave another node's writes invisible until some poll caught up, so
+ * this trades that read for results that are never stale.
+ */
+@Component
+@Slf4j
+public class KitchenResultCache {
+
+    private final KitchenStatsRepository kitchenStatsRepository;
+    private final Cache<Object, Object> cache;
+
+    @SuppressWarnings("unchecked")
+    public KitchenResultCache(CacheManager cacheManager, KitchenStatsRepository kitchenStatsRepository) {
+        org.springframework.cache.Cache springCache = cacheManager.getCache(CacheConfig.KITCHEN_RESULTS);
+        this.cache = ((CaffeineCache) springCache).getNativeCache();
+        this.kitchenStatsRepository = kitchenStatsRepository;
+    }
+
+    /**
+     * Returns the cached result for this kitchen and name, computing it on a miss. The
+     * version is read before loading, so a write that lands during the load leaves the
+     * result unreachable rather than stale.
+     */
+    public <T> T get(Long kitchenId, String name, Supplier<T> loader) {
+        Key key = keyFor(kitchenId, name);
+        T cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        T value = loader.get();
+        put(key, value);
+        return value;
+    }
+
+    public Key keyFor(Long kitchenId, String name) {
+        return keyFor(kitchenId, currentVersion(kitchenId), name);
+    }
+
+    // For callers building several keys at once, so the version is read a single time
+    public Key keyFor(Long kitchenId, long version, String name) {
+        return new Key(kitchenId, version, LocalDate.now(), name);
+    }
+
+    public long currentVersion(Long kitchenId) {
+        return kitchenStatsRepository.findChangeVersion(kitchenId);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(Key key) {
+        return (T) cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Object value) {
+        if (value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    public record Key(Long kitchenId, long version, LocalDate day, String name) {
+    }
+}
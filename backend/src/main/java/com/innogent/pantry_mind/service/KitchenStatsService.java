@@ -0,0 +1,118 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.dto.response.DashboardStatsDTO;
+import com.innogent.pantry_mind.entity.KitchenStats;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
+import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.repository.KitchenRepository;
+import com.innogent.pantry_mind.repository.KitchenStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Serves dashboard stats from the kitchen_stats snapshot with a single primary-key read.
+ * Domain events invalidate the snapshot in the writer's transaction; the next read
+ * recomputes it with the one-statement aggregate, so bursts of writes cost one recompute.
+ * A nightly rebuild refreshes every kitchen for the new day and reports drift left by
+ * writes that did not raise an event.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KitchenStatsService {
+
+    private final KitchenStatsRepository kitchenStatsRepository;
+    private final InventoryRepository inventoryRepository;
+    private final KitchenRepository kitchenRepository;
+
+    @EventListener
+    public void onKitchenStatsChanged(KitchenStatsChangedEvent event) {
+        if (event.kitchenId() != null) {
+            kitchenStatsRepository.markStale(event.kitchenId(), event.statusOnly());
+        } else {
+            kitchenStatsRepository.markAllStale();
+        }
+    }
+
+    public DashboardStatsDTO getStats(Long kitchenId) {
+        KitchenStats snapshot = kitchenStatsRepository.findById(kitchenId).orElse(null);
+        LocalDate today = LocalDate.now();
+        if (snapshot != null && !Boolean.TRUE.equals(snapshot.getStale()) && today.equals(snapshot.getStatsDate())) {
+            return toDto(snapshot);
+        }
+        return recompute(kitchenId, snapshot, today);
+    }
+
+    @Scheduled(cron = "${kitchen.stats.rebuild.cron:0 5 0 * * *}") // Daily just after midnight by default
+    public void rebuildAll() {
+        int rebuilt = 0;
+        int drifted = 0;
+        LocalDate today = LocalDate.now();
+        for (Long kitchenId : kitchenRepository.findAllKitchenIds()) {
+            try {
+                KitchenStats snapshot = kitchenStatsRepository.findById(kitchenId).orElse(null);
+                DashboardStatsDTO fresh = recompute(kitchenId, snapshot, today);
+                // Only a snapshot that claimed to be current can have drifted
+                if (snapshot != null && !Boolean.TRUE.equals(snapshot.getStale())
+                        && today.equals(snapshot.getStatsDate()) && !sameStats(toDto(snapshot), fresh)) {
+                    drifted++;
+                    log.warn("Kitchen stats drift corrected for kitchen {}", kitchenId);
+                }
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Kitchen stats rebuild failed for kitchen {}", kitchenId, e);
+            }
+        }
+        log.info("Rebuilt kitchen stats for {} kitchens, {} drifted", rebuilt, drifted);
+    }
+
+    private DashboardStatsDTO recompute(Long kitchenId, KitchenStats snapshot, LocalDate today) {
+        long expectedVersion = snapshot != null ? snapshot.getChangeVersion() : 0L;
+        DashboardStatsDTO fresh = inventoryRepository.findDashboardStats(kitchenId);
+        kitchenStatsRepository.saveIfUnchanged(kitchenId,
+                fresh.getTotalProducts(),
+                fresh.getTotalValue(),
+                fresh.getLowStockCount(),
+                fresh.getExpiryCount(),
+                fresh.getExpiredProductsCount(),
+                fresh.getExpiredWasteValue() != null ? fresh.getExpiredWasteValue() : BigDecimal.ZERO,
+                today,
+                expectedVersion);
+        return fresh;
+    }
+
+    private DashboardStatsDTO toDto(KitchenStats snapshot) {
+        return DashboardStatsDTO.builder()
+                .totalProducts(nullToZero(snapshot.getTotalProducts()))
+                .totalValue(snapshot.getTotalValue() != null ? snapshot.getTotalValue() : 0.0)
+                .lowStockCount(nullToZero(snapshot.getLowStockCount()))
+                .expiryCount(nullToZero(snapshot.getExpiryCount()))
+                .expiredProductsCount(nullToZero(snapshot.getExpiredProductsCount()))
+                .expiredWasteValue(snapshot.getExpiredWasteValue() != null ? snapshot.getExpiredWasteValue() : BigDecimal.ZERO)
+                .build();
+    }
+
+    private boolean sameStats(DashboardStatsDTO a, DashboardStatsDTO b) {
+        return a.getTotalProducts() == b.getTotalProducts()
+                && Double.compare(a.getTotalValue(), b.getTotalValue()) == 0
+                && a.getLowStockCount() == b.getLowStockCount()
+                && a.getExpiryCount() == b.getExpiryCount()
+                && a.getExpiredProductsCount() == b.getExpiredProductsCount()
+                && Objects.equals(stripped(a.getExpiredWasteValue()), stripped(b.getExpiredWasteValue()));
+    }
+
+    private BigDecimal stripped(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : BigDecimal.ZERO;
+    }
+
+    private long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -21,6 +21,7 @@ public class OcrIntegrationService {
     private final InventoryTrackingService trackingService;
     private final InventoryService inventoryService;
     private final UnitRepository unitRepository;
+    private final UnitConversionEngine unitConversionEngine;
     
     @Transactional
     public void confirmOcrItems(Long ocrUploadId, List<Long> confirmedItemIds, Long userId) {
@@ -77,16 +78,18 @@ public class OcrIntegrationService {
     
     private Unit findOrCreateUnit(String unitName) {
         if (unitName == null || unitName.trim().isEmpty()) {
-            return unitRepository.findByName("pieces")
-                .orElse(createDefaultUnit());
+            return unitConversionEngine.findByName("pieces")
+                .orElseGet(this::createDefaultUnit);
         }
         
-        return unitRepository.findByName(unitName.toLowerCase())
+        return unitConversionEngine.findByName(unitName.toLowerCase())
             .orElseGet(() -> {
                 Unit newUnit = new Unit();
                 newUnit.setName(unitName.toLowerCase());
                 newUnit.setType("weight"); // Default type
-                return unitRepository.save(newUnit);
+                Unit saved = unitRepository.save(newUnit);
+                unitConversionEngine.refreshAfterCommit();
+                return saved;
             });
     }
     
@@ -94,7 +97,9 @@ public class OcrIntegrationService {
         Unit defaultUnit = new Unit();
         defaultUnit.setName("pieces");
         defaultUnit.setType("count");
-        return unitRepository.save(defaultUnit);
+        Unit saved = unitRepository.save(defaultUnit);
+        unitConversionEngine.refreshAfterCommit();
+        return saved;
     }
     
     private Long getKitchenIdFromOcr(Long ocrUploadId) {
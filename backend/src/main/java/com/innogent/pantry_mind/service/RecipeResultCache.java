@@ -0,0 +1,117 @@
+package com.innogent.pantry_mind.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.innogent.pantry_mind.config.CacheConfig;
+import com.innogent.pantry_mind.dto.response.RecipeResponseDTO;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches LLM recipe responses by a fingerprint of the request sent to the AI backend:
+ * the kitchen's inventory as sent (names, quantities, units, expiring flags) together
+ * with servings, category, recipe type and the user preferences applied. Any change to
+ * those yields a new fingerprint, so a result is never served for a pantry it was not
+ * generated from; superseded entries age out under the cache's size and TTL bounds.
+ *
+ * Fingerprints ignore field and list order, since inventory rows come back in no
+ * particular order. Hits and misses are reported as cache.gets for the recipeResults
+ * cache. Failed calls, fallback results and responses without recipes are never cached.
+ *
+ * Entries are stored as serialized JSON and every hit returns a fresh copy, so a caller
+ * modifying its response cannot change what the next caller receives.
+ */
+@Component
+public class RecipeResultCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, Object> cache;
+
+    public RecipeResultCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        org.springframework.cache.Cache springCache = cacheManager.getCache(CacheConfig.RECIPE_RESULTS);
+        this.cache = ((CaffeineCache) springCache).getNativeCache();
+    }
+
+    /**
+     * Returns the cached response for this kitchen, AI path and request, calling the
+     * loader on a miss. A response with no recipes, or an exception from the loader, is
+     * not cached.
+     */
+    public RecipeResponseDTO get(Long kitchenId, String path, Object request, Supplier<RecipeResponseDTO> loader) {
+        Key key = new Key(kitchenId, path, fingerprint(request));
+        byte[] cached = (byte[]) cache.getIfPresent(key);
+        if (cached != null) {
+            try {
+                return objectMapper.readValue(cached, RecipeResponseDTO.class);
+            } catch (IOException e) {
+                cache.invalidate(key);
+            }
+        }
+        RecipeResponseDTO value = loader.get();
+        if (value != null && value.getRecipes() != null && !value.getRecipes().isEmpty()) {
+            try {
+                cache.put(key, objectMapper.writeValueAsBytes(value));
+            } catch (IOException e) {
+                // Not cacheable; the caller still gets the response
+            }
+        }
+        return value;
+    }
+
+    String fingerprint(Object request) {
+        JsonNode canonical = canonicalize(objectMapper.valueToTree(request));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Sorts object fields by name and array elements by their canonical form
+    private JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, JsonNode> fields = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey(), canonicalize(field.getValue()));
+                }
+            }
+            ObjectNode sorted = objectMapper.createObjectNode();
+            sorted.setAll(fields);
+            return sorted;
+        }
+        if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>(node.size());
+            node.forEach(element -> elements.add(canonicalize(element)));
+            elements.sort((a, b) -> a.toString().compareTo(b.toString()));
+            ArrayNode sorted = objectMapper.createArrayNode();
+            sorted.addAll(elements);
+            return sorted;
+        }
+        return node;
+    }
+
+    private record Key(Long kitchenId, String path, String fingerprint) {
+    }
+}
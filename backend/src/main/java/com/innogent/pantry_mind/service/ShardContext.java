@@ -0,0 +1,68 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.exception.LeaseLostException;
+import com.innogent.pantry_mind.repository.JobLeaseRepository;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The lease a worker holds on one shard of a run. The runner renews it in the background;
+ * the job fences its transactions with it.
+ */
+@Getter
+public class ShardContext {
+
+    private final String jobName;
+    private final String runKey;
+    private final int shard;
+    private final int shardCount;
+    private final long fencingToken;
+    @Getter(AccessLevel.NONE)
+    private final JobLeaseRepository jobLeaseRepository;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean lost;
+
+    ShardContext(String jobName, String runKey, int shard, int shardCount, long fencingToken,
+                 JobLeaseRepository jobLeaseRepository) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.fencingToken = fencingToken;
+        this.jobLeaseRepository = jobLeaseRepository;
+    }
+
+    /**
+     * Checks within the current transaction that this worker still holds the lease and
+     * share-locks the lease row until commit, so no other node can take the shard over
+     * while this transaction's writes are pending.
+     *
+     * @throws LeaseLostException if the lease expired or was taken over
+     */
+    public void fence() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("fence() must be called inside a transaction");
+        }
+        checkLease();
+        if (!jobLeaseRepository.lockIfCurrent(jobName, runKey, shard, fencingToken)) {
+            lost = true;
+            throw new LeaseLostException(describe() + " is no longer held by this worker");
+        }
+    }
+
+    // Cheap check for long loops between transactions
+    public void checkLease() {
+        if (lost) {
+            throw new LeaseLostException(describe() + " was lost");
+        }
+    }
+
+    void markLost() {
+        lost = true;
+    }
+
+    String describe() {
+        return String.format("Shard %d/%d of %s run %s (token %d)", shard, shardCount, jobName, runKey, fencingToken);
+    }
+}
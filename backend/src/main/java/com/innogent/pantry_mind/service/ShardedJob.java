@@ -0,0 +1,22 @@
+package com.innogent.pantry_mind.service;
+
+/**
+ * A scheduled job whose work splits into a fixed number of shards, run through
+ * {@link ShardedJobRunner} so each shard of a run is worked by one node at a time.
+ */
+public interface ShardedJob {
+
+    // Stable across releases; keys the job's lease rows
+    String jobName();
+
+    // Must not change while a run is unfinished, or shards of that run would overlap
+    int shardCount();
+
+    /**
+     * Processes one shard. Writes should be committed in transactions that call
+     * {@link ShardContext#fence()} first, so a node that lost its lease cannot commit.
+     *
+     * @return the number of items processed, for run history
+     */
+    long processShard(ShardContext context);
+}
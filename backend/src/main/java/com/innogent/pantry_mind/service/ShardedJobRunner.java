@@ -0,0 +1,251 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.exception.LeaseLostException;
+import com.innogent.pantry_mind.repository.JobLeaseRepository;
+import com.innogent.pantry_mind.repository.JobLeaseRepositoryCustom.Claim;
+import com.innogent.pantry_mind.repository.JobLeaseRepositoryCustom.RunRef;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ShardedJob}s across backend instances. A run is identified by job name and
+ * run key (e.g. the day); its shards are rows in job_lease. Every node whose schedule
+ * fires joins the run: its workers claim shards one at a time with SKIP LOCKED, so each
+ * shard has one owner and one worker thread, and nodes share the run between them.
+ *
+ * Leases are renewed in the background while a shard is worked. If a node dies, its
+ * leases expire and the recovery tick on any surviving node takes the shards over with
+ * a higher fencing token; the dead owner's late writes fail their fence. Failed shards
+ * are retried up to the attempt limit, and so are shards whose lease expired: one that
+ * still has not finished after its last attempt is parked as FAILED. The lease rows are the run history; shard
+ * durations and item counts are also published as metrics.
+ */
+@Service
+@Slf4j
+public class ShardedJobRunner {
+
+    private static final int ERROR_MAX_LENGTH = 1_000;
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final ObjectProvider<ShardedJob> jobs;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final int parallelism;
+    private final int leaseSeconds;
+    private final int maxAttempts;
+    private final int recoveryWindowHours;
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService heartbeat;
+    private final Set<ShardContext> heldShards = ConcurrentHashMap.newKeySet();
+    private final Set<String> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public ShardedJobRunner(JobLeaseRepository jobLeaseRepository,
+                            ObjectProvider<ShardedJob> jobs,
+                            MeterRegistry meterRegistry,
+                            @Value("${jobs.node-id:}") String nodeId,
+                            @Value("${jobs.runner.parallelism:4}") int parallelism,
+                            @Value("${jobs.runner.lease-seconds:120}") int leaseSeconds,
+                            @Value("${jobs.runner.max-attempts:3}") int maxAttempts,
+                            @Value("${jobs.runner.recovery-window-hours:48}") int recoveryWindowHours) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.jobs = jobs;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.parallelism = Math.max(1, parallelism);
+        this.leaseSeconds = Math.max(10, leaseSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.recoveryWindowHours = recoveryWindowHours;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "sharded-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sharded-job-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long renewEvery = Math.max(1, this.leaseSeconds / 3);
+        heartbeat.scheduleWithFixedDelay(this::renewHeldLeases, renewEvery, renewEvery, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Joins the run, creating its shards if this node is first, and works shards until
+     * none is left to claim. Returns what this node did; other nodes may have done the rest.
+     */
+    public RunSummary run(ShardedJob job, String runKey) {
+        String runId = job.jobName() + "/" + runKey;
+        // The recovery tick must not start a second set of workers for a run this node is already in
+        if (!activeRuns.add(runId)) {
+            return new RunSummary(0, 0, 0);
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            jobLeaseRepository.createShards(job.jobName(), runKey, job.shardCount());
+            Tally tally = new Tally();
+            int workerCount = Math.min(parallelism, job.shardCount());
+            List<CompletableFuture<Void>> loops = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                loops.add(CompletableFuture.runAsync(() -> workShards(job, runKey, tally), workers));
+            }
+            CompletableFuture.allOf(loops.toArray(new CompletableFuture[0])).join();
+
+            RunSummary summary = new RunSummary(tally.completed.get(), tally.failed.get(), tally.items.get());
+            log.info("{} run {} on {}: {} shards completed, {} failed attempts, {} items in {} ms",
+                    job.jobName(), runKey, nodeId, summary.shardsCompleted(), summary.shardsFailed(),
+                    summary.itemsProcessed(), System.currentTimeMillis() - startedAt);
+            return summary;
+        } finally {
+            activeRuns.remove(runId);
+        }
+    }
+
+    // Resumes recent runs with pending shards or shards whose owner stopped renewing
+    @Scheduled(fixedDelayString = "${jobs.runner.recovery-interval-ms:60000}", initialDelay = 60_000)
+    public void recoverAbandonedShards() {
+        List<RunRef> runs;
+        try {
+            int parked = jobLeaseRepository.parkExhausted(maxAttempts);
+            if (parked > 0) {
+                meterRegistry.counter("jobs.shard.parked").increment(parked);
+                log.warn("Parked {} shards whose lease expired on all {} attempts", parked, maxAttempts);
+            }
+            runs = jobLeaseRepository.findRecoverableRuns(LocalDateTime.now().minusHours(recoveryWindowHours),
+                    maxAttempts);
+        } catch (Exception e) {
+            log.error("Failed to look up recoverable job runs", e);
+            return;
+        }
+        for (RunRef ref : runs) {
+            Optional<ShardedJob> job = jobs.stream().filter(j -> j.jobName().equals(ref.jobName())).findFirst();
+            if (job.isEmpty()) {
+                log.warn("No job named {} on this node; run {} left for another node", ref.jobName(), ref.runKey());
+                continue;
+            }
+            log.info("Resuming {} run {}", ref.jobName(), ref.runKey());
+            run(job.get(), ref.runKey());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void workShards(ShardedJob job, String runKey, Tally tally) {
+        while (true) {
+            Optional<Claim> claim;
+            try {
+                claim = jobLeaseRepository.claimNext(job.jobName(), runKey, nodeId, leaseSeconds, maxAttempts);
+            } catch (Exception e) {
+                log.error("Failed to claim a shard of {} run {}; the recovery tick will retry", job.jobName(), runKey, e);
+                return;
+            }
+            if (claim.isEmpty()) {
+                return;
+            }
+            Claim c = claim.get();
+            runShard(job, new ShardContext(job.jobName(), runKey, c.shard(), c.shardCount(), c.fencingToken(),
+                    jobLeaseRepository), tally);
+        }
+    }
+
+    private void runShard(ShardedJob job, ShardContext context, Tally tally) {
+        heldShards.add(context);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            long items = job.processShard(context);
+            if (jobLeaseRepository.complete(context.getJobName(), context.getRunKey(), context.getShard(),
+                    context.getFencingToken(), items)) {
+                outcome = "completed";
+                tally.completed.incrementAndGet();
+                tally.items.addAndGet(items);
+                meterRegistry.counter("jobs.shard.items", "job", job.jobName()).increment(items);
+            } else {
+                outcome = "lost";
+                log.warn("{} finished after its lease was taken over", context.describe());
+            }
+        } catch (LeaseLostException e) {
+            outcome = "lost";
+            log.warn("{}; stopped without committing further work", e.getMessage());
+        } catch (Exception e) {
+            tally.failed.incrementAndGet();
+            log.error("{} failed", context.describe(), e);
+            try {
+                jobLeaseRepository.fail(context.getJobName(), context.getRunKey(), context.getShard(),
+                        context.getFencingToken(), truncate(String.valueOf(e)), maxAttempts);
+            } catch (Exception failError) {
+                // The lease expires and the shard is picked up again by the recovery tick
+                log.error("Failed to record failure of {}", context.describe(), failError);
+            }
+        } finally {
+            heldShards.remove(context);
+            sample.stop(meterRegistry.timer("jobs.shard.duration", "job", job.jobName(), "outcome", outcome));
+        }
+    }
+
+    private void renewHeldLeases() {
+        for (ShardContext context : heldShards) {
+            try {
+                if (!jobLeaseRepository.renew(context.getJobName(), context.getRunKey(), context.getShard(),
+                        context.getFencingToken(), leaseSeconds)) {
+                    context.markLost();
+                    log.warn("{} could not be renewed", context.describe());
+                }
+            } catch (Exception e) {
+                // Keep working; if the lease runs out meanwhile, the next fence fails
+                log.warn("Failed to renew {}", context.describe(), e);
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= ERROR_MAX_LENGTH ? error : error.substring(0, ERROR_MAX_LENGTH);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public record RunSummary(int shardsCompleted, int shardsFailed, long itemsProcessed) {
+    }
+
+    private static final class Tally {
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong items = new AtomicLong();
+    }
+}
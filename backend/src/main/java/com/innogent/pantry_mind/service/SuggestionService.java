@@ -2,12 +2,27 @@ package com.innogent.pantry_mind.service;
 
 import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import java.util.List;
+import java.util.Map;
 
 public interface SuggestionService {
     
-    List<ShoppingListItemResponseDTO> generateRuleSuggestions(Long kitchenId);
+    /**
+     * Reads everything a kitchen's suggestions need: the rule-based suggestions and, when
+     * the AI service is available, the request to send it. Call inside a read transaction.
+     */
+    SuggestionInputs loadSuggestionInputs(Long kitchenId);
+    
+    /**
+     * Calls the AI service with the loaded request, if any, and merges its answer over the
+     * rule suggestions. Touches no database, so call it outside any transaction.
+     */
+    List<ShoppingListItemResponseDTO> completeSuggestions(SuggestionInputs inputs);
     
     void recordConsumption(String itemName, Long kitchenId, String quantity, String reason, Long userId);
     
     void createOrUpdateRule(String itemName, Long kitchenId, String threshold, String suggestedQty);
+    
+    // aiRequest is null when the AI service was unavailable at load time
+    record SuggestionInputs(List<ShoppingListItemResponseDTO> ruleSuggestions, Map<String, Object> aiRequest) {
+    }
 }
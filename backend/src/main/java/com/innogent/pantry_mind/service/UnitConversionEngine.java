@@ -0,0 +1,247 @@
+package com.innogent.pantry_mind.service;
+
+import com.innogent.pantry_mind.entity.Unit;
+import com.innogent.pantry_mind.repository.UnitRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory unit table and conversion matrix built from the units table. Each unit
+ * points at its base unit by name with a to-base factor; the matrix holds the factor
+ * between every pair of units sharing a base, so a conversion is one lookup and one
+ * exact BigDecimal multiply. Units returned here are shared detached instances and
+ * must not be modified.
+ *
+ * An unknown id triggers a reload, since the unit may have been created on another
+ * node, but at most one per units.miss-reload-interval-ms; misses in between, such as
+ * repeated bogus ids, are answered as not found without touching the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnitConversionEngine {
+
+    private final UnitRepository unitRepository;
+
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    
+    @Value("${units.miss-reload-interval-ms:5000}")
+    private long missReloadIntervalMs;
+    
+    // System.nanoTime() of the last miss-triggered reload; starts far enough back to allow the first
+    private final AtomicLong lastMissReload = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        Snapshot rebuilt = Snapshot.build(unitRepository.findAll());
+        snapshot = rebuilt;
+        log.debug("Loaded {} units into conversion matrix", rebuilt.units.length);
+    }
+
+    /**
+     * Refreshes once the surrounding transaction commits, so a rolled-back unit insert
+     * never becomes visible; refreshes immediately when there is no transaction.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public List<Unit> findAll() {
+        return List.of(snapshot.units);
+    }
+
+    public Optional<Unit> findById(Long unitId) {
+        Integer index = indexOf(unitId);
+        return index == null ? Optional.empty() : Optional.of(snapshot.units[index]);
+    }
+
+    public Optional<Unit> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        Integer index = current.indexByName.get(name);
+        if (index == null) {
+            index = current.indexByName.get(name.trim().toLowerCase(Locale.ROOT));
+        }
+        return index == null ? Optional.empty() : Optional.of(current.units[index]);
+    }
+
+    public Optional<Unit> getBaseUnit(Long unitId) {
+        Integer index = indexOf(unitId);
+        if (index == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        return Optional.of(current.units[current.baseIndex[index]]);
+    }
+
+    public BigDecimal toBaseQuantity(BigDecimal quantity, Long unitId) {
+        Integer index = indexOf(unitId);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown unit: " + unitId);
+        }
+        Snapshot current = snapshot;
+        return scale(quantity, current.factors[index][current.baseIndex[index]]);
+    }
+
+    /**
+     * Converts between two units sharing a base unit, e.g. kg to grams or dozen to piece.
+     */
+    public BigDecimal convert(BigDecimal quantity, Long fromUnitId, Long toUnitId) {
+        Integer from = indexOf(fromUnitId);
+        Integer to = indexOf(toUnitId);
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Unknown unit: " + (from == null ? fromUnitId : toUnitId));
+        }
+        BigDecimal factor = snapshot.factors[from][to];
+        if (factor == null) {
+            throw new IllegalArgumentException("Cannot convert unit " + fromUnitId + " to unit " + toUnitId);
+        }
+        return scale(quantity, factor);
+    }
+
+    public boolean isConvertible(Long fromUnitId, Long toUnitId) {
+        Integer from = indexOf(fromUnitId);
+        Integer to = indexOf(toUnitId);
+        return from != null && to != null && snapshot.factors[from][to] != null;
+    }
+
+    // A miss by id may mean the unit was created after the last load (ids come from the table)
+    private Integer indexOf(Long unitId) {
+        if (unitId == null) {
+            return null;
+        }
+        Integer index = snapshot.indexById.get(unitId);
+        if (index == null && claimMissReload()) {
+            refresh();
+            index = snapshot.indexById.get(unitId);
+        }
+        return index;
+    }
+
+    private boolean claimMissReload() {
+        long now = System.nanoTime();
+        long last = lastMissReload.get();
+        return now - last >= TimeUnit.MILLISECONDS.toNanos(missReloadIntervalMs)
+                && lastMissReload.compareAndSet(last, now);
+    }
+
+    private static BigDecimal scale(BigDecimal quantity, BigDecimal factor) {
+        if (quantity == null) {
+            return null;
+        }
+        BigDecimal result = BigDecimal.ONE.compareTo(factor) == 0
+                ? quantity
+                : quantity.multiply(factor).stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    private static final class Snapshot {
+        private final Unit[] units;
+        private final Map<Long, Integer> indexById;
+        private final Map<String, Integer> indexByName;
+        private final int[] baseIndex;
+        // factors[from][to]; null when the units do not share a base
+        private final BigDecimal[][] factors;
+
+        private Snapshot(Unit[] units, Map<Long, Integer> indexById, Map<String, Integer> indexByName,
+                         int[] baseIndex, BigDecimal[][] factors) {
+            this.units = units;
+            this.indexById = indexById;
+            this.indexByName = indexByName;
+            this.baseIndex = baseIndex;
+            this.factors = factors;
+        }
+
+        private static Snapshot build(List<Unit> loaded) {
+            int n = loaded.size();
+            Unit[] units = loaded.toArray(new Unit[0]);
+            Map<Long, Integer> indexById = new HashMap<>(n * 2);
+            Map<String, Integer> indexByName = new HashMap<>(n * 4);
+            for (int i = 0; i < n; i++) {
+                indexById.put(units[i].getId(), i);
+                if (units[i].getName() != null) {
+                    indexByName.putIfAbsent(units[i].getName(), i);
+                    indexByName.putIfAbsent(units[i].getName().trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+
+            // Follow base-unit chains (e.g. a unit defined in kg) down to the root unit
+            int[] baseIndex = new int[n];
+            BigDecimal[] toRoot = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                int current = i;
+                BigDecimal factor = BigDecimal.ONE;
+                Integer parent = parentOf(units[current], indexByName);
+                for (int hops = 0; parent != null && parent != current && hops < n; hops++) {
+                    factor = factor.multiply(units[current].getToBaseFactor());
+                    current = parent;
+                    parent = parentOf(units[current], indexByName);
+                }
+                if (parent != null && parent != current) {
+                    log.warn("Unit '{}' has a cyclic base unit chain; treating it as its own base", units[i].getName());
+                    current = i;
+                    factor = BigDecimal.ONE;
+                }
+                baseIndex[i] = current;
+                toRoot[i] = factor;
+            }
+
+            BigDecimal[][] factors = new BigDecimal[n][n];
+            for (int from = 0; from < n; from++) {
+                for (int to = 0; to < n; to++) {
+                    if (baseIndex[from] == baseIndex[to]) {
+                        factors[from][to] = ratio(toRoot[from], toRoot[to]);
+                    }
+                }
+            }
+            return new Snapshot(units, indexById, indexByName, baseIndex, factors);
+        }
+
+        private static Integer parentOf(Unit unit, Map<String, Integer> indexByName) {
+            if (unit.getBaseUnitName() == null || unit.getToBaseFactor() == null
+                    || unit.getToBaseFactor().signum() <= 0) {
+                return null;
+            }
+            return indexByName.get(unit.getBaseUnitName().trim().toLowerCase(Locale.ROOT));
+        }
+
+        private static BigDecimal ratio(BigDecimal fromToRoot, BigDecimal toToRoot) {
+            try {
+                return fromToRoot.divide(toToRoot).stripTrailingZeros();
+            } catch (ArithmeticException nonTerminating) {
+                return fromToRoot.divide(toToRoot, MathContext.DECIMAL64);
+            }
+        }
+    }
+}
@@ -4,14 +4,15 @@ import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import com.innogent.pantry_mind.dto.response.RecipeResponseDTO;
 import com.innogent.pantry_mind.entity.ConsumptionEvent;
 import com.innogent.pantry_mind.entity.Inventory;
+import com.innogent.pantry_mind.exception.AIClientRejectedException;
 import com.innogent.pantry_mind.repository.ConsumptionEventRepository;
 import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.service.AIClient;
+import com.innogent.pantry_mind.service.AIHealthMonitor;
 import com.innogent.pantry_mind.service.AIService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,20 +26,12 @@ public class AIServiceImpl implements AIService {
 
     private final InventoryRepository inventoryRepository;
     private final ConsumptionEventRepository consumptionEventRepository;
-    private final RestTemplate restTemplate;
-    
-    @Value("${python.backend.url:http://localhost:8000}")
-    private String pythonBackendUrl;
+    private final AIClient aiClient;
+    private final AIHealthMonitor aiHealthMonitor;
 
     @Override
     public boolean isAIAvailable() {
-        try {
-            String response = restTemplate.getForObject(pythonBackendUrl + "/health", String.class);
-            return response != null && response.contains("healthy");
-        } catch (Exception e) {
-            log.warn("AI Service unavailable: {}", e.getMessage());
-            return false;
-        }
+        return aiHealthMonitor.isAvailable();
     }
 
     @Override
@@ -47,26 +40,41 @@ public class AIServiceImpl implements AIService {
     }
 
     public List<ShoppingListItemResponseDTO> generateAISuggestionsForListType(Long kitchenId, String listType, List<String> existingItems) {
+        if (!aiHealthMonitor.isAvailable()) {
+            log.info("AI service unavailable, using rule-based suggestions");
+            return generateRuleBasedSuggestions(kitchenId);
+        }
+        return requestSuggestions(buildSuggestionRequest(kitchenId, listType, existingItems))
+            .orElseGet(() -> {
+                log.info("Falling back to rule-based suggestions");
+                return generateRuleBasedSuggestions(kitchenId);
+            });
+    }
+
+    @Override
+    public Map<String, Object> buildSuggestionRequest(Long kitchenId, String listType, List<String> existingItems) {
+        // Fetch real consumption data from database
+        LocalDateTime analysisStartDate = LocalDateTime.now().minusDays(90); // Last 90 days
+        List<ConsumptionEvent> consumptionEvents = consumptionEventRepository
+            .findByKitchenIdAndCreatedAtAfter(kitchenId, analysisStartDate);
+        
+        // Fetch current inventory
+        List<Inventory> currentInventory = inventoryRepository.findByKitchenId(kitchenId);
+        
+        log.info("Built AI request with {} consumption events and {} inventory items", 
+            consumptionEvents.size(), currentInventory.size());
+        return buildAIRequest(kitchenId, listType, existingItems, 
+            consumptionEvents, currentInventory, analysisStartDate);
+    }
+
+    @Override
+    public Optional<List<ShoppingListItemResponseDTO>> requestSuggestions(Map<String, Object> aiRequest) {
         try {
-            // Fetch real consumption data from database
-            LocalDateTime analysisStartDate = LocalDateTime.now().minusDays(90); // Last 90 days
-            List<ConsumptionEvent> consumptionEvents = consumptionEventRepository
-                .findByKitchenIdAndCreatedAtAfter(kitchenId, analysisStartDate);
-            
-            // Fetch current inventory
-            List<Inventory> currentInventory = inventoryRepository.findByKitchenId(kitchenId);
-            
-            // Prepare AI request with real data
-            Map<String, Object> aiRequest = buildAIRequest(kitchenId, listType, existingItems, 
-                consumptionEvents, currentInventory, analysisStartDate);
-            
-            log.info("Sending AI request with {} consumption events and {} inventory items", 
-                consumptionEvents.size(), currentInventory.size());
-            
             // Call Python AI service
             @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(
-                pythonBackendUrl + "/api/ai-shopping/suggestions", 
+            Map<String, Object> response = aiClient.post(
+                "shopping-suggestions",
+                "/api/ai-shopping/suggestions", 
                 aiRequest, 
                 Map.class
             );
@@ -75,16 +83,18 @@ public class AIServiceImpl implements AIService {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> suggestions = (List<Map<String, Object>>) response.get("suggestions");
                 log.info("Received {} AI suggestions", suggestions.size());
-                return suggestions.stream()
+                return Optional.of(suggestions.stream()
                     .map(this::convertMapToShoppingItem)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
             }
+        } catch (AIClientRejectedException e) {
+            log.warn("AI suggestion generation skipped: {}", e.getMessage());
+            aiClient.requireFallback(e);
         } catch (Exception e) {
             log.error("AI suggestion generation failed: {}", e.getMessage());
+            aiClient.requireFallback(e);
         }
-        
-        log.info("Falling back to rule-based suggestions");
-        return generateRuleBasedSuggestions(kitchenId);
+        return Optional.empty();
     }
 
     private Map<String, Object> buildAIRequest(Long kitchenId, String listType, List<String> existingItems,
@@ -147,7 +157,7 @@ public class AIServiceImpl implements AIService {
             List<ConsumptionEvent> consumptionEvents = consumptionEventRepository
                 .findByKitchenIdAndCreatedAtAfter(kitchenId, analysisStartDate);
             
-            if (consumptionEvents.isEmpty()) {
+            if (consumptionEvents.isEmpty() || !aiHealthMonitor.isAvailable()) {
                 return generateBasicAnalysis(kitchenId);
             }
             
@@ -162,8 +172,9 @@ public class AIServiceImpl implements AIService {
             analysisRequest.put("consumptionEvents", eventMaps);
             
             @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(
-                pythonBackendUrl + "/api/ai-shopping/analyze-consumption", 
+            Map<String, Object> response = aiClient.post(
+                "consumption-analysis",
+                "/api/ai-shopping/analyze-consumption", 
                 analysisRequest, 
                 Map.class
             );
@@ -171,8 +182,12 @@ public class AIServiceImpl implements AIService {
             if (response != null) {
                 return response;
             }
+        } catch (AIClientRejectedException e) {
+            log.warn("AI consumption analysis skipped: {}", e.getMessage());
+            aiClient.requireFallback(e);
         } catch (Exception e) {
             log.error("AI consumption analysis failed: {}", e.getMessage());
+            aiClient.requireFallback(e);
         }
         
         return generateBasicAnalysis(kitchenId);
@@ -1,24 +1,41 @@
 package com.innogent.pantry_mind.service.impl;
 
 import com.innogent.pantry_mind.dto.response.*;
-import com.innogent.pantry_mind.entity.User;
+import com.innogent.pantry_mind.entity.ActivityRollup;
 import com.innogent.pantry_mind.repository.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import com.innogent.pantry_mind.service.DashboardSectionExecutor;
 import com.innogent.pantry_mind.service.DashboardService;
+import com.innogent.pantry_mind.service.KitchenDailyActivityService;
+import com.innogent.pantry_mind.service.KitchenResultCache;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.Comparator;
 import java.util.Date;
 
 @Service
+@Slf4j
 public class DashboardServiceImpl implements DashboardService {
 
+    // Shared by the single-section endpoints and the overview so both hit the same entries
+    private static final String SECTION_PREFIX = "dashboard:";
+
     @Autowired
     private InventoryItemRepository inventoryItemRepository;
     
@@ -38,103 +55,164 @@ public class DashboardServiceImpl implements DashboardService {
     private CategoryRepository categoryRepository;
     
     @Autowired
-    private PurchaseLogRepository purchaseLogRepository;
+    private ConsumptionEventRepository consumptionEventRepository;
     
     @Autowired
-    private ConsumptionEventRepository consumptionEventRepository;
+    private ActivityRollupRepository activityRollupRepository;
     
     @Autowired
     private com.innogent.pantry_mind.service.AnalyticsService analyticsService;
     
     @Autowired
-    private com.innogent.pantry_mind.mapper.InventoryMapper inventoryMapper;
+    private com.innogent.pantry_mind.service.KitchenStatsService kitchenStatsService;
+    
+    @Autowired
+    private KitchenDailyActivityService kitchenDailyActivityService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private DashboardSectionExecutor dashboardSectionExecutor;
+    
+    @Autowired
+    private KitchenResultCache kitchenResultCache;
+    
+    @Value("${dashboard.overview.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
 
     @Override
     public Map<String, Object> getDashboardStats(String username) {
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "stats", () -> getDashboardStatsForKitchen(kitchenId))
+            : emptyDashboardStats();
+    }
+    
+    private Map<String, Object> emptyDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
+        stats.put("totalProducts", 0);
+        stats.put("totalValue", 0.0);
+        stats.put("lowStockCount", 0);
+        stats.put("expiryCount", 0);
+        return stats;
+    }
+    
+    private Map<String, Object> getDashboardStatsForKitchen(Long kitchenId) {
+        DashboardStatsDTO dashboardStats = kitchenStatsService.getStats(kitchenId);
         
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            stats.put("totalProducts", 0);
-            stats.put("totalValue", 0.0);
-            stats.put("lowStockCount", 0);
-            stats.put("expiryCount", 0);
-            return stats;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalProducts", dashboardStats.getTotalProducts());
+        stats.put("totalValue", dashboardStats.getTotalValue());
+        stats.put("lowStockCount", dashboardStats.getLowStockCount());
+        stats.put("expiryCount", dashboardStats.getExpiryCount());
+        stats.put("expiredProductsCount", dashboardStats.getExpiredProductsCount());
+        stats.put("expiredWasteValue", dashboardStats.getExpiredWasteValue() != null
+            ? dashboardStats.getExpiredWasteValue() : BigDecimal.ZERO);
+        return stats;
+    }
+    
+    /**
+     * Resolves the kitchen once, then runs the independent sections concurrently, each in its
+     * own transaction and with its own timeout. A failed or slow section is returned as null
+     * with a FAILED/TIMEOUT marker under "errors" instead of failing the whole page.
+     * Sections already in the kitchen result cache are served without a worker; fresh
+     * results are cached under the key taken before the fan-out.
+     */
+    @Override
+    public Map<String, Object> getOverview(String username) {
+        Map<String, Object> overview = new LinkedHashMap<>();
+        Long kitchenId = resolveKitchenId(username);
+        if (kitchenId == null) {
+            overview.put("stats", emptyDashboardStats());
+            overview.put("financialSummary", emptyFinancialSummary());
+            overview.put("mostUsedIngredients", emptyMostUsedIngredients());
+            overview.put("categoryBreakdown", emptyCategoryBreakdown());
+            overview.put("moneyFlow", emptyMoneyFlow());
+            overview.put("wasteStreak", emptyWasteStreak());
+            overview.put("monthlyProgress", emptyMonthlyProgress());
+            overview.put("errors", Map.of());
+            return overview;
         }
         
-        Long kitchenId = user.getKitchen().getId();
-        System.out.println("\n\n=== DASHBOARD STATS CALLED ===");
-        System.out.println("Kitchen ID: " + kitchenId);
-        System.out.println("Time: " + new java.util.Date());
-        
-        // Ensure all inventory records have proper minStock values
-        ensureMinStockValues(kitchenId);
-        
-        // Only count inventories with active items and positive quantities
-        List<com.innogent.pantry_mind.entity.Inventory> inventories = inventoryRepository.findByKitchenId(kitchenId);
-        long totalProducts = inventories.stream()
-            .filter(inv -> inv.getTotalQuantity() != null && inv.getTotalQuantity() > 0)
-            .count();
-        System.out.println("Total products with quantity > 0: " + totalProducts);
-        
-        Double totalValueResult = inventoryItemRepository.calculateTotalValueByKitchen(kitchenId);
-        double totalValue = totalValueResult != null ? totalValueResult : 0.0;
-        System.out.println("Total value: " + totalValue);
-        
-        // Calculate low stock count
-        long lowStockCount = 0;
-        for (com.innogent.pantry_mind.entity.Inventory inv : inventories) {
-            if (inv.getTotalQuantity() != null && inv.getMinStock() != null && 
-                inv.getTotalQuantity() > 0 && inv.getTotalQuantity() < inv.getMinStock()) {
-                lowStockCount++;
+        Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+        sections.put("stats", () -> getDashboardStatsForKitchen(kitchenId));
+        sections.put("financialSummary", () -> getFinancialSummaryForKitchen(kitchenId));
+        sections.put("mostUsedIngredients", () -> getMostUsedIngredientsForKitchen(kitchenId));
+        sections.put("categoryBreakdown", () -> getCategoryBreakdownForKitchen(kitchenId));
+        sections.put("moneyFlow", () -> getMoneyFlowForKitchen(kitchenId));
+        sections.put("wasteStreak", () -> getWasteStreakForKitchen(kitchenId));
+        sections.put("monthlyProgress", () -> getMonthlyProgressForKitchen(kitchenId));
+        
+        // Worker threads have no request-bound session, so each section opens its own transaction
+        TransactionTemplate sectionTransaction = new TransactionTemplate(transactionManager);
+        Map<String, KitchenResultCache.Key> keys = new HashMap<>();
+        Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+        long version = kitchenResultCache.currentVersion(kitchenId);
+        sections.forEach((name, section) -> {
+            KitchenResultCache.Key key = kitchenResultCache.keyFor(kitchenId, version, SECTION_PREFIX + name);
+            Object cached = kitchenResultCache.getIfPresent(key);
+            if (cached != null) {
+                futures.put(name, CompletableFuture.completedFuture(cached));
+                return;
             }
-        }
-        System.out.println("Low stock count: " + lowStockCount);
-        
-        // Use shared method to get expiring items count
-        long expiryCount = getExpiringItemsCount(kitchenId);
-        System.out.println("Expiry count (shared method): " + expiryCount);
-        
-        // Get expired products data from waste logs
-        Long expiredProductsCount = wasteLogRepository.countExpiredItemsByKitchen(kitchenId);
-        BigDecimal expiredWasteValue = wasteLogRepository.calculateExpiredWasteValueByKitchen(kitchenId);
-        
-        stats.put("totalProducts", totalProducts);
-        stats.put("totalValue", totalValue);
-        stats.put("lowStockCount", lowStockCount);
-        stats.put("expiryCount", expiryCount);
-        stats.put("expiredProductsCount", expiredProductsCount != null ? expiredProductsCount : 0L);
-        stats.put("expiredWasteValue", expiredWasteValue != null ? expiredWasteValue : BigDecimal.ZERO);
-        
-        System.out.println("Final stats: " + stats);
-        return stats;
+            keys.put(name, key);
+            futures.put(name, dashboardSectionExecutor.submit(
+                () -> sectionTransaction.execute(status -> section.get()), sectionTimeoutMs));
+        });
+        
+        Map<String, String> errors = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            try {
+                Object result = future.join();
+                if (keys.containsKey(name)) {
+                    kitchenResultCache.put(keys.get(name), result);
+                }
+                overview.put(name, result);
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                String error;
+                if (cause instanceof TimeoutException) {
+                    log.warn("Dashboard section {} timed out after {} ms for kitchen {}", name, sectionTimeoutMs, kitchenId);
+                    error = "TIMEOUT";
+                } else if (cause instanceof RejectedExecutionException) {
+                    log.warn("Dashboard section {} rejected for kitchen {}: section pool saturated", name, kitchenId);
+                    error = "BUSY";
+                } else {
+                    log.error("Dashboard section {} failed for kitchen {}", name, kitchenId, cause);
+                    error = "FAILED";
+                }
+                overview.put(name, null);
+                errors.put(name, error);
+            }
+        });
+        overview.put("errors", errors);
+        return overview;
     }
     
-    private void ensureMinStockValues(Long kitchenId) {
-        List<com.innogent.pantry_mind.entity.Inventory> inventories = inventoryRepository.findByKitchenId(kitchenId);
-        for (com.innogent.pantry_mind.entity.Inventory inventory : inventories) {
-            if (inventory.getMinStock() == null) {
-                inventory.setDefaultMinStock();
-                inventoryRepository.save(inventory);
-            }
-        }
+    private Long resolveKitchenId(String username) {
+        return userRepository.findKitchenIdByEmail(username).orElse(null);
     }
     
     @Override
     public FinancialSummaryDTO getFinancialSummary(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return FinancialSummaryDTO.builder()
-                .currentPantryValue(BigDecimal.ZERO)
-                .monthlyAdditions(BigDecimal.ZERO)
-                .wasteValue(BigDecimal.ZERO)
-                .averageItemPrice(BigDecimal.ZERO)
-                .wastePercentage(0.0)
-                .build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "financialSummary", () -> getFinancialSummaryForKitchen(kitchenId))
+            : emptyFinancialSummary();
+    }
+    
+    private FinancialSummaryDTO emptyFinancialSummary() {
+        return FinancialSummaryDTO.builder()
+            .currentPantryValue(BigDecimal.ZERO)
+            .monthlyAdditions(BigDecimal.ZERO)
+            .wasteValue(BigDecimal.ZERO)
+            .averageItemPrice(BigDecimal.ZERO)
+            .wastePercentage(0.0)
+            .build();
+    }
+    
+    private FinancialSummaryDTO getFinancialSummaryForKitchen(Long kitchenId) {
         // Current pantry value
         Double totalValueResult = inventoryItemRepository.calculateTotalValueByKitchen(kitchenId);
         BigDecimal currentPantryValue = totalValueResult != null ? BigDecimal.valueOf(totalValueResult) : BigDecimal.ZERO;
@@ -171,13 +249,17 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public MostUsedIngredientsDTO getMostUsedIngredients(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return MostUsedIngredientsDTO.builder().ingredients(List.of()).build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "mostUsedIngredients", () -> getMostUsedIngredientsForKitchen(kitchenId))
+            : emptyMostUsedIngredients();
+    }
+    
+    private MostUsedIngredientsDTO emptyMostUsedIngredients() {
+        return MostUsedIngredientsDTO.builder().ingredients(List.of()).build();
+    }
+    
+    private MostUsedIngredientsDTO getMostUsedIngredientsForKitchen(Long kitchenId) {
         // Get usage logs grouped by inventory item
         List<Object[]> usageData = usageLogRepository.findMostUsedItemsByKitchen(kitchenId);
         
@@ -196,13 +278,17 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public CategoryBreakdownDTO getCategoryBreakdown(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return CategoryBreakdownDTO.builder().categories(List.of()).build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "categoryBreakdown", () -> getCategoryBreakdownForKitchen(kitchenId))
+            : emptyCategoryBreakdown();
+    }
+    
+    private CategoryBreakdownDTO emptyCategoryBreakdown() {
+        return CategoryBreakdownDTO.builder().categories(List.of()).build();
+    }
+    
+    private CategoryBreakdownDTO getCategoryBreakdownForKitchen(Long kitchenId) {
         // Get category breakdown data
         List<Object[]> categoryData = inventoryRepository.findCategoryBreakdownByKitchen(kitchenId);
         
@@ -231,46 +317,32 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public MoneyFlowDTO getMoneyFlow(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return MoneyFlowDTO.builder()
-                .totalSpent(BigDecimal.ZERO)
-                .totalConsumed(BigDecimal.ZERO)
-                .totalWasted(BigDecimal.ZERO)
-                .savedFromAlerts(BigDecimal.ZERO)
-                .wastePercentage(0.0)
-                .savingsPercentage(0.0)
-                .build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "moneyFlow", () -> getMoneyFlowForKitchen(kitchenId))
+            : emptyMoneyFlow();
+    }
+    
+    private MoneyFlowDTO emptyMoneyFlow() {
+        return MoneyFlowDTO.builder()
+            .totalSpent(BigDecimal.ZERO)
+            .totalConsumed(BigDecimal.ZERO)
+            .totalWasted(BigDecimal.ZERO)
+            .savedFromAlerts(BigDecimal.ZERO)
+            .wastePercentage(0.0)
+            .savingsPercentage(0.0)
+            .build();
+    }
+    
+    private MoneyFlowDTO getMoneyFlowForKitchen(Long kitchenId) {
         LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
         
-        // Total spent this month (actual purchases from PurchaseLog)
-        BigDecimal totalSpent = purchaseLogRepository.calculateTotalSpentByPeriod(kitchenId, monthStart);
-        if (totalSpent == null) totalSpent = BigDecimal.ZERO;
-        
-        // Total consumed value this month
-        BigDecimal totalConsumed = usageLogRepository.calculateConsumedValueByPeriod(kitchenId, monthStart);
-        if (totalConsumed == null) totalConsumed = BigDecimal.ZERO;
-        
-        // Total wasted this month
-        BigDecimal totalWasted = wasteLogRepository.calculateWasteValueByKitchenAndPeriod(kitchenId, monthStart);
-        if (totalWasted == null) totalWasted = BigDecimal.ZERO;
-        
-        // Items saved from expiry alerts
-        List<com.innogent.pantry_mind.entity.UsageLog> savedItems = usageLogRepository.findItemsSavedFromExpiry(kitchenId);
-        BigDecimal savedFromAlerts = savedItems.stream()
-            .map(log -> {
-                try {
-                    com.innogent.pantry_mind.entity.InventoryItem item = inventoryItemRepository.findById(log.getInventoryItemId()).orElse(null);
-                    return item != null && item.getPrice() != null ? 
-                        item.getPrice().multiply(log.getQuantityUsed()) : BigDecimal.ZERO;
-                } catch (Exception e) {
-                    return BigDecimal.ZERO;
-                }
-            })
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Spent, consumed, wasted and saved-from-alert values for this month in one round trip
+        MoneyFlowDTO totals = inventoryRepository.findMoneyFlowTotals(kitchenId, monthStart);
+        BigDecimal totalSpent = totals.getTotalSpent();
+        BigDecimal totalConsumed = totals.getTotalConsumed();
+        BigDecimal totalWasted = totals.getTotalWasted();
+        BigDecimal savedFromAlerts = totals.getSavedFromAlerts();
         
         // Calculate percentages
         Double wastePercentage = totalSpent.compareTo(BigDecimal.ZERO) > 0 ? 
@@ -291,21 +363,25 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public ExpiryAlertSuccessDTO getExpiryAlertSuccess(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return ExpiryAlertSuccessDTO.builder()
-                .alertItems(List.of())
-                .totalAlerts(0L)
-                .itemsSaved(0L)
-                .itemsWasted(0L)
-                .valueSaved(BigDecimal.ZERO)
-                .valueWasted(BigDecimal.ZERO)
-                .successRate(0.0)
-                .build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "expiryAlertSuccess", () -> getExpiryAlertSuccessForKitchen(kitchenId))
+            : emptyExpiryAlertSuccess();
+    }
+    
+    private ExpiryAlertSuccessDTO emptyExpiryAlertSuccess() {
+        return ExpiryAlertSuccessDTO.builder()
+            .alertItems(List.of())
+            .totalAlerts(0L)
+            .itemsSaved(0L)
+            .itemsWasted(0L)
+            .valueSaved(BigDecimal.ZERO)
+            .valueWasted(BigDecimal.ZERO)
+            .successRate(0.0)
+            .build();
+    }
+    
+    private ExpiryAlertSuccessDTO getExpiryAlertSuccessForKitchen(Long kitchenId) {
         // Use AnalyticsService for simple and accurate data
         Map<String, Object> analytics = analyticsService.getSummaryAnalytics(kitchenId);
         
@@ -327,74 +403,46 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public WasteStreakDTO getWasteStreak(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return WasteStreakDTO.builder()
-                .currentStreak(0)
-                .longestStreak(0)
-                .streakStartDate(LocalDate.now())
-                .daysToNextMilestone(7)
-                .nextMilestone(7)
-                .recentWins(List.of())
-                .build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
-        // Calculate current streak (days without waste)
-        Integer currentStreak = 0;
-        java.time.LocalDate checkDate = java.time.LocalDate.now();
-        
-        // Count consecutive days without waste from today backwards
-        while (checkDate.isAfter(java.time.LocalDate.now().minusDays(365))) {
-            Long wasteCount = wasteLogRepository.countWasteByDate(kitchenId, checkDate.atStartOfDay());
-            if (wasteCount > 0) break;
-            currentStreak++;
-            checkDate = checkDate.minusDays(1);
-        }
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "wasteStreak", () -> getWasteStreakForKitchen(kitchenId))
+            : emptyWasteStreak();
+    }
+    
+    private WasteStreakDTO emptyWasteStreak() {
+        return WasteStreakDTO.builder()
+            .currentStreak(0)
+            .longestStreak(0)
+            .streakStartDate(LocalDate.now())
+            .daysToNextMilestone(7)
+            .nextMilestone(7)
+            .recentWins(List.of())
+            .build();
+    }
+    
+    private WasteStreakDTO getWasteStreakForKitchen(Long kitchenId) {
+        LocalDate today = LocalDate.now();
+        KitchenDailyActivityService.WasteStreak streak = kitchenDailyActivityService.getWasteStreak(kitchenId, today);
+        Integer currentStreak = streak.currentStreak();
         
-        // If no waste in recent days, calculate streak from consumption vs waste ratio
+        // If there was waste today, calculate streak from consumption vs waste ratio
         if (currentStreak == 0) {
-            long totalConsumption = consumptionEventRepository.countByKitchenId(kitchenId);
-            long totalWaste = wasteLogRepository.countByKitchenId(kitchenId);
             // If items are being consumed and waste is minimal, show positive streak
-            if (totalConsumption > 0 && totalWaste <= 5) {
-                currentStreak = Math.min((int)(totalConsumption / 10), 14); // 1 day per 10 consumption events
+            if (streak.totalConsumption() > 0 && streak.totalWaste() <= 5) {
+                currentStreak = Math.min((int)(streak.totalConsumption() / 10), 14); // 1 day per 10 consumption events
             }
         }
         
-        // Get recent consumption events as wins
-        List<com.innogent.pantry_mind.entity.ConsumptionEvent> recentConsumption = consumptionEventRepository
-            .findByKitchenIdAndCreatedAtAfter(kitchenId, LocalDateTime.now().minusDays(7))
+        // Get recent consumption events as wins, one per item
+        List<WasteStreakDTO.RecentWin> recentWins = consumptionEventRepository
+            .findRecentWins(kitchenId, LocalDateTime.now().minusDays(7), 5)
             .stream()
-            .collect(Collectors.groupingBy(
-                ce -> ce.getCanonicalName(),
-                Collectors.maxBy(Comparator.comparing(ce -> ce.getCreatedAt()))
-            ))
-            .values()
-            .stream()
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .limit(5)
-            .collect(Collectors.toList());
-        
-        List<WasteStreakDTO.RecentWin> recentWins = recentConsumption.stream()
-            .map(event -> {
-                // Find inventory item by name to get price
-                List<com.innogent.pantry_mind.entity.InventoryItem> items = inventoryItemRepository.findByKitchenId(kitchenId);
-                BigDecimal value = items.stream()
-                    .filter(item -> event.getCanonicalName().equals(item.getInventory().getName()))
-                    .findFirst()
-                    .map(item -> item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO)
-                    .orElse(BigDecimal.ZERO);
-                
-                return WasteStreakDTO.RecentWin.builder()
-                    .date(event.getCreatedAt().toLocalDate())
-                    .itemName(event.getCanonicalName())
-                    .valueSaved(value)
-                    .action("Used before expiry")
-                    .build();
-            })
+            .map(row -> WasteStreakDTO.RecentWin.builder()
+                .date(toLocalDate(row[0]))
+                .itemName((String) row[1])
+                .valueSaved((BigDecimal) row[2])
+                .action("Used before expiry")
+                .build())
             .collect(Collectors.toList());
         
         // Calculate next milestone
@@ -407,12 +455,12 @@ public class DashboardServiceImpl implements DashboardService {
             }
         }
         
-        Integer daysToNextMilestone = nextMilestone - currentStreak;
+        Integer daysToNextMilestone = Math.max(0, nextMilestone - currentStreak);
         
         return WasteStreakDTO.builder()
             .currentStreak(currentStreak)
-            .longestStreak(currentStreak) // Simplified - could track historical max
-            .streakStartDate(java.time.LocalDate.now().minusDays(currentStreak))
+            .longestStreak(Math.max(currentStreak, streak.longestStreak()))
+            .streakStartDate(today.minusDays(currentStreak))
             .daysToNextMilestone(daysToNextMilestone)
             .nextMilestone(nextMilestone)
             .recentWins(recentWins)
@@ -421,28 +469,34 @@ public class DashboardServiceImpl implements DashboardService {
     
     @Override
     public MonthlyProgressDTO getMonthlyProgress(String username) {
-        User user = userRepository.findByEmail(username).orElse(null);
-        if (user == null || user.getKitchen() == null) {
-            return MonthlyProgressDTO.builder()
-                .monthlyData(List.of())
-                .totalSaved(BigDecimal.ZERO)
-                .overallImprovement(0.0)
-                .build();
-        }
-        
-        Long kitchenId = user.getKitchen().getId();
-        
-        // Get monthly waste statistics
-        List<Object[]> monthlyStats = wasteLogRepository.findMonthlyWasteStats(kitchenId);
+        Long kitchenId = resolveKitchenId(username);
+        return kitchenId != null
+            ? kitchenResultCache.get(kitchenId, SECTION_PREFIX + "monthlyProgress", () -> getMonthlyProgressForKitchen(kitchenId))
+            : emptyMonthlyProgress();
+    }
+    
+    private MonthlyProgressDTO emptyMonthlyProgress() {
+        return MonthlyProgressDTO.builder()
+            .monthlyData(List.of())
+            .totalSaved(BigDecimal.ZERO)
+            .overallImprovement(0.0)
+            .build();
+    }
+    
+    private MonthlyProgressDTO getMonthlyProgressForKitchen(Long kitchenId) {
+        // Latest six months with waste, newest first, from the monthly rollup
+        List<ActivityRollup> monthlyStats = activityRollupRepository
+            .findTop6ByKitchenIdAndMetricAndGranularityAndDimensionOrderByBucketStartDesc(
+                kitchenId, ActivityRollup.Metric.WASTE, ActivityRollup.Granularity.MONTH, ActivityRollup.Dimension.TOTAL);
         
         List<MonthlyProgressDTO.MonthlyData> monthlyData = new ArrayList<>();
         BigDecimal baselineWaste = null;
         
         for (int i = monthlyStats.size() - 1; i >= 0; i--) {
-            Object[] stat = monthlyStats.get(i);
-            LocalDateTime month = (LocalDateTime) stat[0];
-            BigDecimal wasteValue = (BigDecimal) stat[1];
-            Long itemCount = (Long) stat[2];
+            ActivityRollup stat = monthlyStats.get(i);
+            LocalDate month = stat.getBucketStart();
+            BigDecimal wasteValue = stat.getAmount();
+            Long itemCount = stat.getEventCount();
             
             if (baselineWaste == null) baselineWaste = wasteValue;
             
@@ -476,46 +530,9 @@ public class DashboardServiceImpl implements DashboardService {
             .build();
     }
     
-    private long getExpiringItemsCount(Long kitchenId) {
-        // Get inventory with earliest expiry populated (same as ExpiryAlerts page)
-        List<com.innogent.pantry_mind.dto.response.InventoryResponseDTO> inventoryDTOs = 
-            inventoryRepository.findByKitchenId(kitchenId).stream()
-                .filter(inventory -> {
-                    Long activeCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventory.getId());
-                    return activeCount != null && activeCount > 0 && inventory.getTotalQuantity() > 0;
-                })
-                .map(inventory -> {
-                    com.innogent.pantry_mind.dto.response.InventoryResponseDTO dto = inventoryMapper.toResponseDTO(inventory);
-                    dto.setEarliestExpiry(inventoryItemRepository.findEarliestExpiryByInventoryId(inventory.getId()));
-                    return dto;
-                })
-                .toList();
-        
-        // Apply same filtering logic as ExpiryAlerts page
-        java.time.LocalDate today = java.time.LocalDate.now();
-        System.out.println("=== DASHBOARD EXPIRY DEBUG ===");
-        System.out.println("Today: " + today);
-        System.out.println("Total inventory items: " + inventoryDTOs.size());
-        
-        return inventoryDTOs.stream()
-            .filter(inv -> {
-                if (inv.getEarliestExpiry() == null) {
-                    System.out.println("SKIP (no expiry): " + inv.getName());
-                    return false;
-                }
-                
-                java.time.LocalDate expiryDate = inv.getEarliestExpiry().toInstant()
-                    .atZone(java.time.ZoneId.systemDefault()).toLocalDate();
-                
-                int alertDays = inv.getMinExpiryDaysAlert() != null ? inv.getMinExpiryDaysAlert() : 3;
-                java.time.LocalDate alertDate = today.plusDays(alertDays);
-                
-                boolean isExpiring = expiryDate.isBefore(alertDate) || expiryDate.isEqual(alertDate);
-                System.out.println((isExpiring ? "INCLUDE" : "SKIP") + ": " + inv.getName() + 
-                    ", expires: " + expiryDate + ", alertDays: " + alertDays + ", alertDate: " + alertDate);
-                
-                return isExpiring;
-            })
-            .count();
+    // Native queries return timestamp columns as java.sql.Timestamp or LocalDateTime depending on the driver
+    private LocalDate toLocalDate(Object timestamp) {
+        return timestamp instanceof java.sql.Timestamp ts ? ts.toLocalDateTime().toLocalDate()
+            : ((LocalDateTime) timestamp).toLocalDate();
     }
-}
\ No newline at end of file
+}
@@ -1,97 +1,112 @@
 package com.innogent.pantry_mind.service.impl;
 
-import com.innogent.pantry_mind.entity.Inventory;
-import com.innogent.pantry_mind.entity.InventoryItem;
-import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.dto.response.KitchenAlertCountsDTO;
 import com.innogent.pantry_mind.repository.KitchenRepository;
+import com.innogent.pantry_mind.service.ExpiryIndex;
 import com.innogent.pantry_mind.service.InventoryAlertService;
 import com.innogent.pantry_mind.service.NotificationService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Sends each kitchen's daily expiry and low-stock alerts at its configured time. Every
+ * minute the kitchens whose alert time fell in the tick window are claimed for the day
+ * with one indexed UPDATE; counts for all of them come from one aggregate query, with
+ * expiry counts taken from the ExpiryIndex once it is built, and the notifications go
+ * out in parallel. A kitchen is claimed before anything is sent, so it
+ * is alerted at most once per day even across nodes or when sending fails. The window
+ * reaches back catch-up-minutes, so alerts missed during a restart still go out late.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class InventoryAlertServiceImpl implements InventoryAlertService {
     
-    private final InventoryRepository inventoryRepository;
     private final KitchenRepository kitchenRepository;
     private final NotificationService notificationService;
+    private final ExpiryIndex expiryIndex;
+    private final long catchUpMinutes;
+    private final ExecutorService dispatchPool;
     
-    @Override
-    @Scheduled(cron = "0 */15 * * * *") // Check every 15 minutes
-    @org.springframework.transaction.annotation.Transactional
-    public void checkInventoryAlerts() {
-        java.time.LocalTime now = java.time.LocalTime.now();
-        System.out.println("🕐 Scheduler running at: " + now);
-        
-        kitchenRepository.findAll().forEach(kitchen -> {
-            System.out.println("Kitchen " + kitchen.getId() + " - Alerts enabled: " + kitchen.getAlertsEnabled() + ", Alert time: " + kitchen.getAlertTimeHour() + ":" + kitchen.getAlertTimeMinute());
-            if (kitchen.getAlertsEnabled() && shouldSendAlertsNow(kitchen, now)) {
-                System.out.println("🔔 Sending alerts for kitchen " + kitchen.getId());
-                checkExpiryAlertsForKitchen(kitchen.getId());
-                checkLowStockAlertsForKitchen(kitchen.getId());
-            }
+    public InventoryAlertServiceImpl(KitchenRepository kitchenRepository,
+                                     NotificationService notificationService,
+                                     ExpiryIndex expiryIndex,
+                                     @Value("${alerts.dispatch.catch-up-minutes:60}") long catchUpMinutes,
+                                     @Value("${alerts.dispatch.parallelism:4}") int parallelism) {
+        this.kitchenRepository = kitchenRepository;
+        this.notificationService = notificationService;
+        this.expiryIndex = expiryIndex;
+        this.catchUpMinutes = Math.max(0, catchUpMinutes);
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatchPool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "alert-dispatch-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
         });
     }
     
-    private boolean shouldSendAlertsNow(com.innogent.pantry_mind.entity.Kitchen kitchen, java.time.LocalTime now) {
-        int alertHour = kitchen.getAlertTimeHour();
-        int alertMinute = kitchen.getAlertTimeMinute();
-        
-        // Check if current time matches alert time exactly
-        return now.getHour() == alertHour && now.getMinute() == alertMinute;
-    }
-    
-    private void checkExpiryAlertsForKitchen(Long kitchenId) {
-        List<Inventory> inventories = inventoryRepository.findByKitchenId(kitchenId);
-        
-        long criticalCount = 0;
-        long warningCount = 0;
-        
-        LocalDate today = LocalDate.now();
-        
-        for (Inventory inventory : inventories) {
-            if (inventory.getItems() != null) {
-                for (InventoryItem item : inventory.getItems()) {
-                    if (item.getExpiryDate() != null) {
-                        LocalDate expiryDate = item.getExpiryDate().toInstant()
-                            .atZone(ZoneId.systemDefault()).toLocalDate();
-                        
-                        long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, expiryDate);
-                        
-                        if (daysUntilExpiry <= 0) {
-                            criticalCount++;
-                        } else if (daysUntilExpiry <= inventory.getMinExpiryDaysAlert()) {
-                            warningCount++;
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    @Scheduled(cron = "0 * * * * *") // Every minute, so any alert minute is honoured
+    public void checkInventoryAlerts() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalDate today = now.toLocalDate();
+        // The window never crosses midnight: yesterday's missed alerts belong to yesterday
+        LocalDateTime windowStart = now.minusMinutes(catchUpMinutes);
+        LocalTime from = windowStart.toLocalDate().equals(today) ? windowStart.toLocalTime() : LocalTime.MIDNIGHT;
         
-        if (criticalCount > 0) {
-            notificationService.sendInventoryAlert(kitchenId, "ITEMS_EXPIRED", 
-                criticalCount + " items have expired", null);
+        List<Long> dueKitchenIds = kitchenRepository.claimDueAlerts(from, now.toLocalTime(), today);
+        if (dueKitchenIds.isEmpty()) {
+            return;
         }
         
-        if (warningCount > 0) {
-            notificationService.sendInventoryAlert(kitchenId, "EXPIRY_WARNING", 
-                warningCount + " items expiring soon", null);
+        List<KitchenAlertCountsDTO> counts = kitchenRepository.findAlertCounts(dueKitchenIds, today);
+        List<CompletableFuture<Void>> dispatches = new ArrayList<>(counts.size());
+        for (KitchenAlertCountsDTO kitchenCounts : counts) {
+            expiryIndex.getCounts(kitchenCounts.getKitchenId()).ifPresent(expiry -> {
+                kitchenCounts.setExpiredCount(expiry.expired());
+                kitchenCounts.setExpiringCount(expiry.expiringSoon());
+            });
+            dispatches.add(CompletableFuture.runAsync(() -> sendAlerts(kitchenCounts), dispatchPool));
         }
+        CompletableFuture.allOf(dispatches.toArray(new CompletableFuture[0])).join();
+        log.info("Dispatched daily alerts for {} kitchens", dueKitchenIds.size());
     }
     
-    private void checkLowStockAlertsForKitchen(Long kitchenId) {
-        List<Inventory> lowStockItems = inventoryRepository.findLowStockItems(kitchenId);
-        System.out.println("Low stock items found: " + lowStockItems.size());
-        
-        if (!lowStockItems.isEmpty()) {
-            System.out.println("📦 Sending low stock alert");
-            notificationService.sendInventoryAlert(kitchenId, "LOW_STOCK",
-                lowStockItems.size() + " items are running low on stock", null);
+    @PreDestroy
+    public void shutdown() {
+        dispatchPool.shutdown();
+    }
+    
+    private void sendAlerts(KitchenAlertCountsDTO counts) {
+        Long kitchenId = counts.getKitchenId();
+        try {
+            if (counts.getExpiredCount() > 0) {
+                notificationService.sendInventoryAlert(kitchenId, "ITEMS_EXPIRED",
+                    counts.getExpiredCount() + " items have expired", null);
+            }
+            if (counts.getExpiringCount() > 0) {
+                notificationService.sendInventoryAlert(kitchenId, "EXPIRY_WARNING",
+                    counts.getExpiringCount() + " items expiring soon", null);
+            }
+            if (counts.getLowStockCount() > 0) {
+                notificationService.sendInventoryAlert(kitchenId, "LOW_STOCK",
+                    counts.getLowStockCount() + " items are running low on stock", null);
+            }
+        } catch (Exception e) {
+            log.error("Failed to send daily alerts for kitchen {}", kitchenId, e);
         }
     }
-}
\ No newline at end of file
+}
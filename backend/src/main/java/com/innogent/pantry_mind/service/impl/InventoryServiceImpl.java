@@ -2,9 +2,11 @@ package com.innogent.pantry_mind.service.impl;
 
 import com.innogent.pantry_mind.dto.request.ConsumeItemsRequestDTO;
 import com.innogent.pantry_mind.dto.request.CreateInventoryItemRequestDTO;
+import com.innogent.pantry_mind.dto.request.InventoryListRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryItemRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateInventoryAlertsRequestDTO;
 import com.innogent.pantry_mind.dto.response.InventoryItemResponseDTO;
+import com.innogent.pantry_mind.dto.response.InventoryPageResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryResponseDTO;
 import com.innogent.pantry_mind.dto.response.ConsumeItemsResponseDTO;
 import com.innogent.pantry_mind.dto.response.InventoryConsumptionInfoDTO;
@@ -14,20 +16,33 @@ import com.innogent.pantry_mind.entity.*;
 import com.innogent.pantry_mind.repository.*;
 import com.innogent.pantry_mind.repository.WasteLogRepository;
 import com.innogent.pantry_mind.util.NameNormalizationUtil;
-import com.innogent.pantry_mind.util.UnitConversionUtil;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
+import com.innogent.pantry_mind.service.ActivityRollupService;
+import com.innogent.pantry_mind.service.InventoryNameIndex;
 import com.innogent.pantry_mind.service.InventoryService;
+import com.innogent.pantry_mind.service.KitchenDailyActivityService;
+import com.innogent.pantry_mind.service.UnitConversionEngine;
 import com.innogent.pantry_mind.exception.ItemNotFoundException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,6 +63,11 @@ public class InventoryServiceImpl implements InventoryService {
     private final WasteLogRepository wasteLogRepository;
     private final InventoryItemMapper inventoryItemMapper;
     private final InventoryMapper inventoryMapper;
+    private final InventoryNameIndex inventoryNameIndex;
+    private final UnitConversionEngine unitConversionEngine;
+    private final KitchenDailyActivityService kitchenDailyActivityService;
+    private final ActivityRollupService activityRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -74,14 +94,9 @@ public class InventoryServiceImpl implements InventoryService {
             }
             
             // Convert unit and quantity to base units
-            Unit inputUnit = unitRepository.findById(dto.getUnitId())
+            Unit baseUnit = unitConversionEngine.getBaseUnit(dto.getUnitId())
                     .orElseThrow(() -> new ItemNotFoundException("Unit not found: " + dto.getUnitId()));
-            
-            String baseUnitName = UnitConversionUtil.getBaseUnit(inputUnit.getName());
-            Long convertedQuantity = UnitConversionUtil.convertToBaseUnit(dto.getQuantity(), inputUnit.getName());
-            
-            Unit baseUnit = unitRepository.findByName(baseUnitName)
-                    .orElseThrow(() -> new ItemNotFoundException("Base unit not found: " + baseUnitName));
+            BigDecimal quantityBD = unitConversionEngine.toBaseQuantity(BigDecimal.valueOf(dto.getQuantity()), dto.getUnitId());
             
             // Find or create inventory group with base unit
             Inventory inventory = findOrCreateInventory(dto.getName(), dto.getCategoryId(), 
@@ -93,7 +108,6 @@ public class InventoryServiceImpl implements InventoryService {
             item.setDescription(dto.getDescription());
             
             // Set both original and current quantity
-            BigDecimal quantityBD = new BigDecimal(convertedQuantity);
             item.setOriginalQuantity(quantityBD);
             item.setCurrentQuantity(quantityBD);
             item.setIsActive(true);
@@ -113,7 +127,8 @@ public class InventoryServiceImpl implements InventoryService {
             createPurchaseLogForInventoryItem(saved, dto);
             
             // Update total quantity and item count
-            updateInventoryTotalQuantity(inventory.getId());
+            inventoryRepository.applyTotalsDelta(inventory.getId(), quantityBD, 1);
+            eventPublisher.publishEvent(new KitchenStatsChangedEvent(inventory.getKitchenId()));
             
             return inventoryItemMapper.toResponseDTO(saved);
         } catch (Exception e) {
@@ -151,40 +166,24 @@ public class InventoryServiceImpl implements InventoryService {
                 .inventoryItemId(item.getId())
                 .build();
             purchaseLogRepository.save(purchaseLog);
+            activityRollupService.recordPurchase(purchaseLog);
         } catch (Exception e) {
             log.warn("Failed to create purchase log for item: {}", item.getId(), e);
         }
     }
 
     @Override
-    public List<InventoryResponseDTO> getAllInventoryItems() {
-        // Update existing records with correct itemCount (only active items)
-        List<Inventory> inventories = inventoryRepository.findAll();
-        for (Inventory inventory : inventories) {
-            Long activeCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventory.getId());
-            int newItemCount = activeCount != null ? activeCount.intValue() : 0;
-            if (inventory.getItemCount() != newItemCount) {
-                inventory.setItemCount(newItemCount);
-                inventoryRepository.save(inventory);
-            }
-        }
-        
-        return inventories.stream()
-                .filter(inventory -> {
-                    // Only show inventories with active items or positive total quantity
-                    Long activeCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventory.getId());
-                    return activeCount != null && activeCount > 0 && inventory.getTotalQuantity() > 0;
-                })
-                .map(inventory -> {
-                    InventoryResponseDTO dto = inventoryMapper.toResponseDTO(inventory);
-                    dto.setEarliestExpiry(inventoryItemRepository.findEarliestExpiryByInventoryId(inventory.getId()));
-                    return dto;
-                })
-                .toList();
+    @Transactional(readOnly = true)
+    public void streamAllInventoryItems(Consumer<InventoryResponseDTO> consumer) {
+        // Read-only: item counts are corrected offline by InventoryReconciliationService
+        inventoryRepository.streamAllInventoryRows(consumer);
     }
-
-
     
+    @Override
+    public InventoryPageResponseDTO getAllInventoryPage(Long afterId, Integer limit) {
+        return inventoryRepository.findAllInventoryPage(afterId, limit);
+    }
+
     @Override
     @Transactional
     public InventoryResponseDTO updateInventoryAlerts(Long inventoryId, UpdateInventoryAlertsRequestDTO dto) {
@@ -199,6 +198,7 @@ public class InventoryServiceImpl implements InventoryService {
         }
         
         Inventory saved = inventoryRepository.save(inventory);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(saved.getKitchenId()));
         return inventoryMapper.toResponseDTO(saved);
     }
     
@@ -246,53 +246,44 @@ public class InventoryServiceImpl implements InventoryService {
         recordConsumptionEvent(item, ConsumptionEvent.EventReason.CONSUMED);
         
         Inventory inventory = item.getInventory();
+        boolean wasActive = Boolean.TRUE.equals(item.getIsActive());
+        BigDecimal removedQuantity = wasActive ? item.getCurrentQuantity() : BigDecimal.ZERO;
+        int remainingCount = inventory.getItemCount() - (wasActive ? 1 : 0);
         inventoryItemRepository.deleteById(id);
         
-        // Update item count
-        inventory.setItemCount(inventory.getItemCount() - 1);
-        
-        // Update total quantity or delete inventory if no items left
-        if (inventory.getItemCount() <= 0) {
+        // Update totals or delete inventory if no items left
+        if (remainingCount <= 0) {
             inventoryRepository.deleteById(inventory.getId());
+            inventoryNameIndex.invalidateKitchen(inventory.getKitchenId());
         } else {
-            updateInventoryTotalQuantity(inventory.getId());
-            inventoryRepository.save(inventory);
+            inventoryRepository.applyTotalsDelta(inventory.getId(), removedQuantity.negate(), wasActive ? -1 : 0);
         }
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(inventory.getKitchenId()));
     }
 
+    @Override
     public List<InventoryResponseDTO> getInventoryItemsByKitchen(Long kitchenId) {
-        // Fix totalQuantity for all inventories first
-        List<Inventory> allInventories = inventoryRepository.findByKitchenId(kitchenId);
-        for (Inventory inv : allInventories) {
-            updateInventoryTotalQuantity(inv.getId());
-        }
-        
-        return inventoryRepository.findByKitchenId(kitchenId).stream()
-                .filter(inventory -> {
-                    // Match dashboard logic exactly - only check active items, not total quantity
-                    Long activeCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventory.getId());
-                    return activeCount != null && activeCount > 0;
-                })
-                .map(inventory -> {
-                    InventoryResponseDTO dto = inventoryMapper.toResponseDTO(inventory);
-                    dto.setEarliestExpiry(inventoryItemRepository.findEarliestExpiryByInventoryId(inventory.getId()));
-                    return dto;
-                })
-                .toList();
+        // Read-only projection: active count, earliest expiry and names come from one statement
+        return inventoryRepository.findInventoryRowsByKitchen(kitchenId);
+    }
+    
+    @Override
+    public InventoryPageResponseDTO getInventoryPage(Long kitchenId, InventoryListRequestDTO request) {
+        return inventoryRepository.findInventoryPage(kitchenId, request);
     }
     
     @Transactional
     public InventoryItemResponseDTO updateInventoryItem(Long itemId, UpdateInventoryItemRequestDTO dto) {
         InventoryItem item = inventoryItemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException(itemId));
+        BigDecimal previousQuantity = item.getCurrentQuantity();
         
         if (dto.getDescription() != null) item.setDescription(dto.getDescription());
         if (dto.getQuantity() != null) {
             // Convert quantity if needed (assuming same unit as existing item)
-            String currentUnitName = item.getInventory().getUnit().getName();
-            Long convertedQuantity = UnitConversionUtil.convertToBaseUnit(dto.getQuantity(), currentUnitName);
+            BigDecimal quantityBD = unitConversionEngine.toBaseQuantity(
+                    BigDecimal.valueOf(dto.getQuantity()), item.getInventory().getUnit().getId());
             // Legacy support - convert to new fields
-        BigDecimal quantityBD = new BigDecimal(convertedQuantity);
         if (item.getOriginalQuantity() == null) {
             item.setOriginalQuantity(quantityBD);
         }
@@ -307,8 +298,13 @@ public class InventoryServiceImpl implements InventoryService {
         
         InventoryItem saved = inventoryItemRepository.save(item);
         
-        // Update total quantity
-        updateInventoryTotalQuantity(item.getInventory().getId());
+        // Only active items contribute to the group total
+        if (Boolean.TRUE.equals(saved.getIsActive()) && previousQuantity != null
+                && saved.getCurrentQuantity().compareTo(previousQuantity) != 0) {
+            inventoryRepository.applyTotalsDelta(saved.getInventory().getId(),
+                    saved.getCurrentQuantity().subtract(previousQuantity), 0);
+        }
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(saved.getInventory().getKitchenId()));
         
         return inventoryItemMapper.toResponseDTO(saved);
     }
@@ -334,6 +330,7 @@ public class InventoryServiceImpl implements InventoryService {
                     .build();
                     
                 consumptionEventRepository.save(event);
+                kitchenDailyActivityService.recordConsumption(event);
             }
         } catch (Exception e) {
             System.err.println("Failed to record consumption event: " + e.getMessage());
@@ -351,25 +348,12 @@ public class InventoryServiceImpl implements InventoryService {
             return existing.get();
         }
         
-        // Check if there's an existing inventory with same normalized name but different display name
-        List<String> existingNames = inventoryRepository
-                .findExistingNamesByKitchenAndCategoryAndUnit(kitchenId, categoryId, unitId);
-        
-        for (String existingName : existingNames) {
-            if (NameNormalizationUtil.normalizeName(existingName).equals(normalizedName)) {
-                return inventoryRepository
-                        .findByNormalizedNameAndCategoryIdAndUnitIdAndKitchenId(normalizedName, categoryId, unitId, kitchenId)
-                        .orElse(null);
-            }
-        }
-        
-        // Try fuzzy matching with existing names
+        // Fuzzy match against the cached per-kitchen name index
         try {
-            String bestMatch = NameNormalizationUtil.findBestMatch(name, existingNames);
-            if (bestMatch != null) {
-                String bestMatchNormalized = NameNormalizationUtil.normalizeName(bestMatch);
+            String closest = inventoryNameIndex.findClosest(kitchenId, categoryId, unitId, normalizedName, 2);
+            if (closest != null) {
                 Optional<Inventory> fuzzyMatch = inventoryRepository
-                        .findByNormalizedNameAndCategoryIdAndUnitIdAndKitchenId(bestMatchNormalized, categoryId, unitId, kitchenId);
+                        .findByNormalizedNameAndCategoryIdAndUnitIdAndKitchenId(closest, categoryId, unitId, kitchenId);
                 if (fuzzyMatch.isPresent()) {
                     return fuzzyMatch.get();
                 }
@@ -394,15 +378,15 @@ public class InventoryServiceImpl implements InventoryService {
             
             Category category = categoryRepository.findById(categoryId)
                     .orElseThrow(() -> new ItemNotFoundException("Category not found: " + categoryId));
-            Unit unit = unitRepository.findById(unitId)
+            Unit unit = unitConversionEngine.findById(unitId)
                     .orElseThrow(() -> new ItemNotFoundException("Unit not found: " + unitId));
             
             inventory.setCategory(category);
             inventory.setUnit(unit);
-            inventory.setTotalQuantity(0L);
-            inventory.setItemCount(0);
             
-            return inventoryRepository.save(inventory);
+            Inventory created = inventoryRepository.save(inventory);
+            inventoryNameIndex.add(kitchenId, categoryId, unitId, created.getNormalizedName());
+            return created;
         } catch (Exception e) {
             // If save fails due to constraint, try to find existing again
             return inventoryRepository
@@ -411,31 +395,6 @@ public class InventoryServiceImpl implements InventoryService {
         }
     }
     
-    private void updateInventoryTotalQuantity(Long inventoryId) {
-        BigDecimal totalQuantity = inventoryItemRepository.sumCurrentQuantityByInventoryId(inventoryId);
-        Inventory inventory = inventoryRepository.findById(inventoryId)
-                .orElseThrow(() -> new ItemNotFoundException(inventoryId));
-        
-        // If totalQuantity is 0 but there are active items, recalculate from active items
-        if ((totalQuantity == null || totalQuantity.longValue() == 0)) {
-            Long activeCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventoryId);
-            if (activeCount != null && activeCount > 0) {
-                // Force update totalQuantity to 1 if there are active items to ensure frontend shows them
-                inventory.setTotalQuantity(1L);
-            } else {
-                inventory.setTotalQuantity(0L);
-            }
-        } else {
-            inventory.setTotalQuantity(totalQuantity.longValue());
-        }
-        
-        // Update item count to only active items
-        Long activeItemCount = inventoryItemRepository.countByInventoryIdAndIsActiveTrue(inventoryId);
-        inventory.setItemCount(activeItemCount != null ? activeItemCount.intValue() : 0);
-        
-        inventoryRepository.save(inventory);
-    }
-    
     // New method to support OCR integration
     public InventoryItem addItemFromOcr(AiExtractedItems aiItem, Long userId) {
         // Find or create category
@@ -448,12 +407,14 @@ public class InventoryServiceImpl implements InventoryService {
             });
         
         // Find or create unit
-        Unit unit = unitRepository.findByName(aiItem.getUnitName())
+        Unit unit = unitConversionEngine.findByName(aiItem.getUnitName())
             .orElseGet(() -> {
                 Unit newUnit = new Unit();
                 newUnit.setName(aiItem.getUnitName());
                 newUnit.setType("weight");
-                return unitRepository.save(newUnit);
+                Unit saved = unitRepository.save(newUnit);
+                unitConversionEngine.refreshAfterCommit();
+                return saved;
             });
         
         // Find kitchen ID from OCR upload
@@ -484,7 +445,8 @@ public class InventoryServiceImpl implements InventoryService {
         InventoryItem saved = inventoryItemRepository.save(item);
         
         // Update inventory totals
-        updateInventoryTotalQuantity(inventory.getId());
+        inventoryRepository.applyTotalsDelta(inventory.getId(), saved.getCurrentQuantity(), 1);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
         
         return saved;
     }
@@ -497,83 +459,131 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional
     public ConsumeItemsResponseDTO consumeItems(ConsumeItemsRequestDTO dto) {
+        // All-or-nothing: the usage logs are one batch insert in this transaction, so anything
+        // that would fail that insert is rejected here, before any quantity is touched
+        if (dto.getUserId() == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (dto.getItems() == null || dto.getItems().isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        for (ConsumeItemsRequestDTO.ConsumeItemDTO consumeItem : dto.getItems()) {
+            if (consumeItem == null || consumeItem.getId() == null) {
+                throw new IllegalArgumentException("Inventory ID is required");
+            }
+            if (consumeItem.getConsumedQuantity() == null || consumeItem.getConsumedQuantity().signum() <= 0) {
+                throw new IllegalArgumentException("Valid quantity is required");
+            }
+        }
+        
+        List<ConsumeItemsRequestDTO.ConsumeItemDTO> requests = dto.getItems();
+        Set<Long> inventoryIds = requests.stream()
+            .map(ConsumeItemsRequestDTO.ConsumeItemDTO::getId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        
+        // Load all requested inventories and their FIFO-ordered active items in two queries
+        Map<Long, Inventory> inventoriesById = inventoryRepository.findAllWithUnitByIdIn(inventoryIds).stream()
+            .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+        for (Long inventoryId : inventoryIds) {
+            if (!inventoriesById.containsKey(inventoryId)) {
+                throw new RuntimeException("Inventory not found with ID: " + inventoryId);
+            }
+        }
+        
+        Map<Long, List<InventoryItem>> itemsByInventory = new HashMap<>();
+        for (InventoryItem item : inventoryItemRepository.findActiveByInventoryIdsOrderByExpiryDateAsc(inventoryIds)) {
+            itemsByInventory.computeIfAbsent(item.getInventory().getId(), id -> new ArrayList<>()).add(item);
+        }
+        
+        Set<Long> creatorIds = itemsByInventory.values().stream()
+            .flatMap(List::stream)
+            .map(InventoryItem::getCreatedBy)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, String> userNames = getUserNames(creatorIds);
+        
+        // Allocate in memory; the same inventory may be requested more than once
+        List<UsageLog> usageLogs = new ArrayList<>();
         List<ConsumeItemsResponseDTO.ConsumedItemDetail> consumedDetails = new ArrayList<>();
         
-        for (ConsumeItemsRequestDTO.ConsumeItemDTO consumeItem : dto.getItems()) {
-            // Always treat as inventory group for FIFO consumption
-            Optional<Inventory> inventory = inventoryRepository.findById(consumeItem.getId());
+        for (ConsumeItemsRequestDTO.ConsumeItemDTO consumeItem : requests) {
+            Inventory inv = inventoriesById.get(consumeItem.getId());
+            List<InventoryItem> items = itemsByInventory.getOrDefault(inv.getId(), List.of());
+            BigDecimal requestedQuantity = consumeItem.getConsumedQuantity();
             
-            if (inventory.isPresent()) {
-                Inventory inv = inventory.get();
-                BigDecimal requestedQuantity = consumeItem.getConsumedQuantity();
-                
-                // Get active items ordered by expiry date (FIFO)
-                List<InventoryItem> items = inventoryItemRepository
-                    .findByInventoryIdAndIsActiveTrueOrderByExpiryDateAsc(inv.getId());
+            // Check if sufficient quantity available
+            BigDecimal totalAvailable = items.stream()
+                .filter(item -> Boolean.TRUE.equals(item.getIsActive()))
+                .map(InventoryItem::getCurrentQuantity)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            
+            if (requestedQuantity.compareTo(totalAvailable) > 0) {
+                throw new RuntimeException("Insufficient quantity. Requested: " + requestedQuantity + 
+                                         ", Available: " + totalAvailable);
+            }
+            
+            BigDecimal remainingToConsume = requestedQuantity;
+            List<ConsumeItemsResponseDTO.ItemConsumptionDetail> itemDetails = new ArrayList<>();
+            
+            for (InventoryItem item : items) {
+                if (remainingToConsume.compareTo(BigDecimal.ZERO) <= 0) break;
+                if (!Boolean.TRUE.equals(item.getIsActive())) continue;
                 
-                // Check if sufficient quantity available
-                BigDecimal totalAvailable = items.stream()
-                    .map(InventoryItem::getCurrentQuantity)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                BigDecimal toConsumeFromThisItem = remainingToConsume.min(item.getCurrentQuantity());
+                usageLogs.add(buildUsageLogForConsumption(inv, item, toConsumeFromThisItem, dto.getUserId()));
                 
-                if (requestedQuantity.compareTo(totalAvailable) > 0) {
-                    throw new RuntimeException("Insufficient quantity. Requested: " + requestedQuantity + 
-                                             ", Available: " + totalAvailable);
-                }
+                BigDecimal newQuantity = item.getCurrentQuantity().subtract(toConsumeFromThisItem);
+                remainingToConsume = remainingToConsume.subtract(toConsumeFromThisItem);
                 
-                BigDecimal remainingToConsume = requestedQuantity;
-                List<ConsumeItemsResponseDTO.ItemConsumptionDetail> itemDetails = new ArrayList<>();
+                itemDetails.add(ConsumeItemsResponseDTO.ItemConsumptionDetail.builder()
+                    .itemId(item.getId())
+                    .expiryDate(item.getExpiryDate())
+                    .addedBy(item.getCreatedBy())
+                    .addedByName(item.getCreatedBy() != null
+                        ? userNames.getOrDefault(item.getCreatedBy(), "Unknown") : "Unknown")
+                    .quantityConsumed(toConsumeFromThisItem)
+                    .remainingQuantity(newQuantity)
+                    .build());
                 
-                for (InventoryItem item : items) {
-                    if (remainingToConsume.compareTo(BigDecimal.ZERO) <= 0) break;
-                    
-                    BigDecimal toConsumeFromThisItem = remainingToConsume.min(item.getCurrentQuantity());
-                    
-                    // CREATE USAGE LOG for each item
-                    createUsageLogForConsumption(item, toConsumeFromThisItem, dto.getUserId());
-                    
-                    // Update item quantity
-                    BigDecimal newQuantity = item.getCurrentQuantity().subtract(toConsumeFromThisItem);
-                    remainingToConsume = remainingToConsume.subtract(toConsumeFromThisItem);
-                    
-                    // Create consumption detail
-                    ConsumeItemsResponseDTO.ItemConsumptionDetail detail = 
-                        ConsumeItemsResponseDTO.ItemConsumptionDetail.builder()
-                            .itemId(item.getId())
-                            .expiryDate(item.getExpiryDate())
-                            .addedBy(item.getCreatedBy())
-                            .addedByName(getUserName(item.getCreatedBy()))
-                            .quantityConsumed(toConsumeFromThisItem)
-                            .remainingQuantity(newQuantity)
-                            .build();
-                    itemDetails.add(detail);
-                    
-                    if (newQuantity.compareTo(BigDecimal.ZERO) <= 0) {
-                        item.setCurrentQuantity(BigDecimal.ZERO);
-                        item.setIsActive(false);
-                        item.setStatus(InventoryItem.ItemStatus.CONSUMED);
-                    } else {
-                        item.setCurrentQuantity(newQuantity);
-                    }
-                    
-                    inventoryItemRepository.save(item);
+                // Managed entities: Hibernate flushes these as one batched UPDATE per chunk
+                if (newQuantity.compareTo(BigDecimal.ZERO) <= 0) {
+                    item.setCurrentQuantity(BigDecimal.ZERO);
+                    item.setIsActive(false);
+                    item.setStatus(InventoryItem.ItemStatus.CONSUMED);
+                } else {
+                    item.setCurrentQuantity(newQuantity);
                 }
-                
-                updateInventoryTotalQuantity(inv.getId());
-                
-                ConsumeItemsResponseDTO.ConsumedItemDetail consumedDetail = 
-                    ConsumeItemsResponseDTO.ConsumedItemDetail.builder()
-                        .inventoryId(inv.getId())
-                        .itemName(inv.getName())
-                        .totalConsumed(requestedQuantity)
-                        .unit(inv.getUnit().getName())
-                        .itemDetails(itemDetails)
-                        .build();
-                consumedDetails.add(consumedDetail);
-            } else {
-                throw new RuntimeException("Inventory not found with ID: " + consumeItem.getId());
             }
+            
+            consumedDetails.add(ConsumeItemsResponseDTO.ConsumedItemDetail.builder()
+                .inventoryId(inv.getId())
+                .itemName(inv.getName())
+                .totalConsumed(requestedQuantity)
+                .unit(inv.getUnit().getName())
+                .itemDetails(itemDetails)
+                .build());
+        }
+        
+        usageLogRepository.batchInsert(usageLogs);
+        activityRollupService.recordUsage(usageLogs, itemsByInventory.values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toMap(InventoryItem::getId, Function.identity())));
+        
+        // One delta UPDATE per inventory; every loaded item was active before allocation
+        Map<Long, BigDecimal> consumedByInventory = new HashMap<>();
+        for (ConsumeItemsRequestDTO.ConsumeItemDTO consumeItem : requests) {
+            consumedByInventory.merge(consumeItem.getId(), consumeItem.getConsumedQuantity(), BigDecimal::add);
+        }
+        for (Long inventoryId : inventoryIds) {
+            int deactivated = (int) itemsByInventory.getOrDefault(inventoryId, List.of()).stream()
+                .filter(item -> !Boolean.TRUE.equals(item.getIsActive()))
+                .count();
+            inventoryRepository.applyTotalsDelta(inventoryId, consumedByInventory.get(inventoryId).negate(), -deactivated);
         }
+        inventoriesById.values().stream()
+            .map(Inventory::getKitchenId)
+            .distinct()
+            .forEach(kitchenId -> eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId)));
         
         return ConsumeItemsResponseDTO.builder()
             .consumedItems(consumedDetails)
@@ -581,6 +591,13 @@ public class InventoryServiceImpl implements InventoryService {
             .build();
     }
     
+    private Map<Long, String> getUserNames(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return Map.of();
+        return userRepository.findAllById(userIds).stream()
+            .filter(user -> user.getName() != null)
+            .collect(Collectors.toMap(User::getId, User::getName));
+    }
+    
     private String getUserName(Long userId) {
         if (userId == null) return "Unknown";
         return userRepository.findById(userId)
@@ -619,21 +636,16 @@ public class InventoryServiceImpl implements InventoryService {
             .build();
     }
     
-    private void createUsageLogForConsumption(InventoryItem item, BigDecimal quantity, Long userId) {
-        try {
-            UsageLog usageLog = UsageLog.builder()
-                .inventoryItemId(item.getId())
-                .kitchenId(item.getInventory().getKitchenId())
-                .userId(userId)
-                .quantityUsed(quantity)
-                .unit(item.getInventory().getUnit())
-                .usageType(UsageLog.UsageType.DIRECT_CONSUMPTION)
-                .notes("Manual consumption")
-                .build();
-            usageLogRepository.save(usageLog);
-        } catch (Exception e) {
-            log.warn("Failed to create usage log for item: {}", item.getId(), e);
-        }
+    private UsageLog buildUsageLogForConsumption(Inventory inventory, InventoryItem item, BigDecimal quantity, Long userId) {
+        return UsageLog.builder()
+            .inventoryItemId(item.getId())
+            .kitchenId(inventory.getKitchenId())
+            .userId(userId)
+            .quantityUsed(quantity)
+            .unit(inventory.getUnit())
+            .usageType(UsageLog.UsageType.DIRECT_CONSUMPTION)
+            .notes("Manual consumption")
+            .build();
     }
     
     @Override
@@ -11,6 +11,8 @@ import com.innogent.pantry_mind.repository.KitchenRepository;
 import com.innogent.pantry_mind.repository.UserRepository;
 import com.innogent.pantry_mind.repository.RoleRepository;
 import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.service.CustomUserDetailsService;
+import com.innogent.pantry_mind.service.InventoryNameIndex;
 import com.innogent.pantry_mind.service.KitchenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,8 @@ public class KitchenServiceImpl implements KitchenService {
     private final UserMapper userMapper;
     private final NotificationService notificationService;
     private final InventoryRepository inventoryRepository;
+    private final InventoryNameIndex inventoryNameIndex;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public KitchenResponseDTO create(KitchenRequestDTO requestDTO) {
@@ -75,6 +79,7 @@ public class KitchenServiceImpl implements KitchenService {
         
         // Delete all inventory items first
         inventoryRepository.deleteAll(inventoryRepository.findByKitchenId(id));
+        inventoryNameIndex.invalidateKitchen(id);
         
         // Remove all users from kitchen
         List<User> users = userRepository.findByKitchen_Id(id);
@@ -85,6 +90,7 @@ public class KitchenServiceImpl implements KitchenService {
             user.setKitchen(null);
             user.setRole(userRole);
             userRepository.save(user);
+            userDetailsService.evictPrincipal(user.getEmail());
         }
         
         kitchenRepository.deleteById(id);
@@ -108,6 +114,7 @@ public class KitchenServiceImpl implements KitchenService {
         user.setRole(adminRole);
         user.setKitchen(savedKitchen);
         User savedUser = userRepository.save(user);
+        userDetailsService.evictPrincipal(savedUser.getEmail());
         log.info("Admin user created: {} for kitchen: {}", savedUser.getUsername(), savedUser.getKitchen() != null ? savedUser.getKitchen().getId() : "null");
         
         return kitchenMapper.toResponse(savedKitchen);
@@ -130,6 +137,7 @@ public class KitchenServiceImpl implements KitchenService {
         user.setRole(memberRole);
         user.setKitchen(kitchen);
         User savedUser = userRepository.save(user);
+        userDetailsService.evictPrincipal(savedUser.getEmail());
         log.info("Member user joined: {} for kitchen: {}", savedUser.getUsername(), savedUser.getKitchen() != null ? savedUser.getKitchen().getId() : "null");
         
         // Send real-time notification to kitchen members
@@ -166,6 +174,8 @@ public class KitchenServiceImpl implements KitchenService {
         user.setRole(userRole);
         
         userRepository.save(user);
+        // Revoke the cached principal so the old role stops authorizing immediately
+        userDetailsService.evictPrincipal(user.getEmail());
         
         // Send real-time notification
         if (kitchenId != null) {
@@ -2,9 +2,13 @@ package com.innogent.pantry_mind.service.impl;
 
 import com.innogent.pantry_mind.dto.request.ConfirmItemsRequestDto;
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
 import com.innogent.pantry_mind.repository.*;
+import com.innogent.pantry_mind.service.InventoryNameIndex;
 import com.innogent.pantry_mind.service.PantryService;
+import com.innogent.pantry_mind.service.UnitConversionEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,9 @@ public class PantryServiceImpl implements PantryService {
     private final CategoryRepository categoryRepository;
     private final UnitRepository unitRepository;
     private final LocationRepository locationRepository;
+    private final InventoryNameIndex inventoryNameIndex;
+    private final UnitConversionEngine unitConversionEngine;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -75,7 +82,11 @@ public class PantryServiceImpl implements PantryService {
             })
             .toList();
         
-        return inventoryItemRepository.saveAll(inventoryItems);
+        List<InventoryItem> saved = inventoryItemRepository.saveAll(inventoryItems);
+        saved.forEach(item -> inventoryRepository.applyTotalsDelta(
+            item.getInventory().getId(), item.getCurrentQuantity(), 1));
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(ocrUpload.getKitchenId()));
+        return saved;
     }
     
     private Category findOrCreateCategory(String categoryName) {
@@ -93,12 +104,14 @@ public class PantryServiceImpl implements PantryService {
     private Unit findOrCreateUnit(String unitName) {
         final String finalUnitName = (unitName == null || unitName.isEmpty()) ? "piece" : unitName;
         
-        return unitRepository.findByName(finalUnitName)
+        return unitConversionEngine.findByName(finalUnitName)
             .orElseGet(() -> {
                 Unit unit = new Unit();
                 unit.setName(finalUnitName);
                 unit.setType("weight"); // Default type
-                return unitRepository.save(unit);
+                Unit saved = unitRepository.save(unit);
+                unitConversionEngine.refreshAfterCommit();
+                return saved;
             });
     }
     
@@ -112,9 +125,10 @@ public class PantryServiceImpl implements PantryService {
                 inventory.setNormalizedName(normalizedName);
                 inventory.setKitchenId(kitchenId);
                 inventory.setCategory(categoryRepository.findById(categoryId).orElse(null));
-                inventory.setUnit(unitRepository.findById(unitId).orElse(null));
-                inventory.setTotalQuantity(0L);
-                return inventoryRepository.save(inventory);
+                inventory.setUnit(unitConversionEngine.findById(unitId).orElse(null));
+                Inventory created = inventoryRepository.save(inventory);
+                inventoryNameIndex.add(kitchenId, categoryId, unitId, created.getNormalizedName());
+                return created;
             });
     }
     
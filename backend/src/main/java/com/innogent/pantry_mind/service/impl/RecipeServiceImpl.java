@@ -1,5 +1,7 @@
 package com.innogent.pantry_mind.service.impl;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -8,7 +10,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innogent.pantry_mind.dto.request.AdvancedRecipeRequestDTO;
@@ -17,18 +18,23 @@ import com.innogent.pantry_mind.dto.response.RecipeResponseDTO;
 import com.innogent.pantry_mind.dto.response.UserPreferencesResponseDTO;
 import com.innogent.pantry_mind.entity.Inventory;
 import com.innogent.pantry_mind.repository.InventoryRepository;
+import com.innogent.pantry_mind.service.AIClient;
+import com.innogent.pantry_mind.service.RecipeResultCache;
 import com.innogent.pantry_mind.service.RecipeService;
 import com.innogent.pantry_mind.service.UserPreferencesService;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RecipeServiceImpl implements RecipeService {
     
     private final InventoryRepository inventoryRepository;
-    private final RestTemplate restTemplate;
+    private final AIClient aiClient;
+    private final RecipeResultCache recipeResultCache;
     private final UserPreferencesService userPreferencesService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
@@ -39,84 +45,61 @@ public class RecipeServiceImpl implements RecipeService {
     
     @Override
     public RecipeResponseDTO generateRecipes(Long kitchenId, Integer servings, String category) {
-        System.out.println("🚀 [BACKEND] Recipe generation started for kitchenId: " + kitchenId + ", servings: " + servings + ", category: " + category);
+        log.debug("Recipe generation started for kitchen {}, servings: {}, category: {}", kitchenId, servings, category);
         
         List<Inventory> inventory = inventoryRepository.findByKitchenIdAndTotalQuantityGreaterThan(kitchenId, 0L);
-        System.out.println("📦 [BACKEND] Found " + inventory.size() + " inventory items");
+        log.debug("Found {} inventory items", inventory.size());
         
         if (inventory.isEmpty()) {
-            System.out.println("⚠️ [BACKEND] No inventory found, returning empty recipes");
+            log.debug("No inventory found, returning empty recipes");
             return createEmptyRecipes();
         }
         
-        System.out.println("📋 [BACKEND] DETAILED INVENTORY ITEMS BEING SENT TO AI:");
-        System.out.println("=" .repeat(60));
-        
         RecipeRequestDTO request = new RecipeRequestDTO();
         request.setItems(inventory.stream().map(this::mapToInventoryItemDTO).collect(Collectors.toList()));
         request.setServings(servings);
         
-        // Add category if provided
-        if (category != null && !category.trim().isEmpty()) {
-            System.out.println("🏷️ [BACKEND] Adding category filter: " + category);
-        }
-        
-        // Log each inventory item in detail
-        for (int i = 0; i < inventory.size(); i++) {
-            Inventory item = inventory.get(i);
-            System.out.println("📦 Item " + (i+1) + ":");
-            System.out.println("   Name: " + item.getName());
-            System.out.println("   Quantity: " + item.getTotalQuantity());
-            System.out.println("   Unit: " + (item.getUnit() != null ? item.getUnit().getName() : "pieces"));
-            System.out.println("   Category: " + (item.getCategory() != null ? item.getCategory().getName() : "No category"));
-            System.out.println("   Item Count: " + item.getItemCount());
-            System.out.println("   ---");
+        if (log.isDebugEnabled()) {
+            for (Inventory item : inventory) {
+                log.debug("Inventory item sent to AI: {} ({} {}), category: {}, item count: {}",
+                        item.getName(), item.getTotalQuantity(),
+                        item.getUnit() != null ? item.getUnit().getName() : "pieces",
+                        item.getCategory() != null ? item.getCategory().getName() : "No category",
+                        item.getItemCount());
+            }
         }
         
-        System.out.println("=" .repeat(60));
-        System.out.println("📝 [BACKEND] SUMMARY - Inventory data being sent to AI:");
-        request.getItems().forEach(item -> 
-            System.out.println("  ✅ " + item.getName() + ": " + item.getQuantity() + " " + item.getUnit())
-        );
-        System.out.println("👥 [BACKEND] Target servings: " + servings + " people");
-        System.out.println("=" .repeat(60));
-        
         try {
-            String url = "http://localhost:8001/ai/recipes";
+            String url = "/ai/recipes";
             if (category != null && !category.trim().isEmpty()) {
-                url += "?category=" + category.trim();
-                System.out.println("🎯 [BACKEND] Calling AI service with category at: " + url);
-            } else {
-                System.out.println("🤖 [BACKEND] Calling AI service at: " + url);
+                url += "?category=" + URLEncoder.encode(category.trim(), StandardCharsets.UTF_8);
             }
-            System.out.println("📤 [BACKEND] Request payload:");
-            System.out.println("   Items count: " + request.getItems().size());
-            System.out.println("   Servings: " + request.getServings());
-            System.out.println("   Category: " + (category != null ? category : "None"));
+            log.debug("Calling AI service at {} with {} items for {} servings", url, request.getItems().size(), request.getServings());
             
-            RecipeResponseDTO response = restTemplate.postForObject(url, request, RecipeResponseDTO.class);
+            String path = url;
+            RecipeResponseDTO response = recipeResultCache.get(kitchenId, path, request,
+                () -> aiClient.post("recipes", path, request, RecipeResponseDTO.class));
             
             if (response != null && response.getRecipes() != null) {
-                System.out.println("✅ [BACKEND] AI service responded successfully!" + (category != null ? " for category: " + category : ""));
-                System.out.println("📊 [BACKEND] Generated " + response.getRecipes().size() + " recipes:");
-                
-                for (int i = 0; i < response.getRecipes().size(); i++) {
-                    RecipeResponseDTO.Recipe recipe = response.getRecipes().get(i);
-                    System.out.println("🍳 Recipe " + (i+1) + ": " + recipe.getName());
-                    System.out.println("   Servings: " + recipe.getServings());
-                    System.out.println("   Cooking time: " + recipe.getCookingTime());
-                    System.out.println("   Ingredients count: " + (recipe.getIngredients() != null ? recipe.getIngredients().size() : 0));
-                    System.out.println("   Missing items count: " + (recipe.getMissingItems() != null ? recipe.getMissingItems().size() : 0));
+                log.debug("AI service generated {} recipes{}", response.getRecipes().size(),
+                        category != null ? " for category " + category : "");
+                if (log.isDebugEnabled()) {
+                    for (RecipeResponseDTO.Recipe recipe : response.getRecipes()) {
+                        log.debug("Recipe {}: servings: {}, cooking time: {}, ingredients: {}, missing items: {}",
+                                recipe.getName(), recipe.getServings(), recipe.getCookingTime(),
+                                recipe.getIngredients() != null ? recipe.getIngredients().size() : 0,
+                                recipe.getMissingItems() != null ? recipe.getMissingItems().size() : 0);
+                    }
                 }
             } else {
-                System.out.println("⚠️ [BACKEND] AI service returned null or empty response");
+                log.debug("AI service returned null or empty response");
             }
             
             return response;
         } catch (Exception e) {
-            System.err.println("❌ [BACKEND] AI service call failed: " + e.getMessage());
-            System.err.println("🔄 [BACKEND] Falling back to default recipes" + (category != null ? " for category: " + category : ""));
-            e.printStackTrace();
+            log.debug("AI service call failed: {}", e.getMessage());
+            aiClient.requireFallback(e);
+            log.debug("Falling back to default recipes{}", category != null ? " for category " + category : "", e);
             return createFallbackRecipes(servings);
         }
     }
@@ -126,17 +109,10 @@ public class RecipeServiceImpl implements RecipeService {
         dto.setName(inventory.getName());
         dto.setQuantity(inventory.getTotalQuantity());
         dto.setUnit(inventory.getUnit() != null ? inventory.getUnit().getName() : "pieces");
-        
-        // Log the mapping
-        System.out.println("🔄 [BACKEND] Mapping: " + inventory.getName() + 
-                          " (" + inventory.getTotalQuantity() + " " + 
-                          (inventory.getUnit() != null ? inventory.getUnit().getName() : "pieces") + ")");
-        
         return dto;
     }
     
     private RecipeResponseDTO createEmptyRecipes() {
-        System.out.println("📝 [BACKEND] Creating empty recipe response");
         RecipeResponseDTO response = new RecipeResponseDTO();
         RecipeResponseDTO.Recipe recipe = new RecipeResponseDTO.Recipe();
         recipe.setName("No Recipe Available");
@@ -151,7 +127,7 @@ public class RecipeServiceImpl implements RecipeService {
     }
     
     private RecipeResponseDTO createFallbackRecipes(Integer servings) {
-        System.out.println("🔄 [BACKEND] Creating fallback recipes for " + servings + " servings");
+        log.debug("Creating fallback recipe for {} servings", servings);
         RecipeResponseDTO response = new RecipeResponseDTO();
         
         // Create 1 fallback recipe
@@ -164,47 +140,42 @@ public class RecipeServiceImpl implements RecipeService {
         recipe1.setCookingTime("15 mins");
         
         response.setRecipes(List.of(recipe1));
-        
-        System.out.println("✅ [BACKEND] Created 1 fallback recipe");
         return response;
     }
     
     @Override
     public RecipeResponseDTO generateAdvancedRecipes(Long kitchenId, AdvancedRecipeRequestDTO request) {
-        // System.out.println("🚀 [BACKEND] Advanced recipe generation started for kitchenId: " + kitchenId);
-        // System.out.println("📋 [BACKEND] Recipe type: " + request.getRecipeType());
+        log.debug("Advanced recipe generation started for kitchen {}, recipe type: {}", kitchenId, request.getRecipeType());
         
         try {
             // Call specific endpoint based on recipe type
-            String url;
+            String endpoint;
             if ("QUICK".equals(request.getRecipeType())) {
-                url = "http://localhost:8001/ai/quick-recipes";
+                endpoint = "quick-recipes";
             } else if ("EXPIRY_BASED".equals(request.getRecipeType())) {
-                url = "http://localhost:8001/ai/expiry-recipes";
+                endpoint = "expiry-recipes";
             } else {
-                url = "http://localhost:8001/ai/advanced-recipes";
+                endpoint = "advanced-recipes";
             }
             
-            // System.out.println("🎯 [BACKEND] Calling Python service at: " + url);
-            // System.out.println("📎 [BACKEND] Request data: recipeType=" + request.getRecipeType() + ", maxTime=" + request.getMaxCookingTime());
-            RecipeResponseDTO response = restTemplate.postForObject(url, request, RecipeResponseDTO.class);
+            String path = "/ai/" + endpoint;
+            RecipeResponseDTO response = recipeResultCache.get(kitchenId, path, request,
+                () -> aiClient.post(endpoint, path, request, RecipeResponseDTO.class));
             
             if (response != null && response.getRecipes() != null) {
-                // System.out.println("✅ [BACKEND] Advanced recipes generated successfully!");
-                // System.out.println("📊 [BACKEND] Generated " + response.getRecipes().size() + " recipes");
+                log.debug("Generated {} advanced recipes", response.getRecipes().size());
             }
             
             return response;
         } catch (Exception e) {
-            System.err.println("❌ [BACKEND] Advanced recipe generation failed: " + e.getMessage());
+            log.debug("Advanced recipe generation failed: {}", e.getMessage());
+            aiClient.requireFallback(e);
             return createFallbackRecipes(request.getServings());
         }
     }
     
     @Override
     public RecipeResponseDTO generateExpiryBasedRecipes(Long kitchenId, Integer servings, Long userId) {
-        // System.out.println("⏰ [BACKEND] Expiry-based recipe generation for kitchenId: " + kitchenId);
-        
         // Get items expiring in next 3 days
         Calendar cal = Calendar.getInstance();
         cal.add(Calendar.DAY_OF_MONTH, 3);
@@ -213,11 +184,6 @@ public class RecipeServiceImpl implements RecipeService {
         List<Inventory> expiringInventory = inventoryRepository.findExpiringInventoryByKitchenId(kitchenId, threeDaysFromNow);
         List<Inventory> allInventory = inventoryRepository.findByKitchenIdAndTotalQuantityGreaterThan(kitchenId, 0L);
         
-        // System.out.println("⚠️ [BACKEND] Found " + expiringInventory.size() + " expiring items:");
-        // expiringInventory.forEach(item -> 
-        //     System.out.println("   - " + item.getName() + " (expires soon)")
-        // );
-        
         AdvancedRecipeRequestDTO request = new AdvancedRecipeRequestDTO();
         request.setItems(allInventory.stream().map(this::mapToAdvancedInventoryItemDTO).collect(Collectors.toList()));
         
@@ -235,14 +201,7 @@ public class RecipeServiceImpl implements RecipeService {
         request.setRecipeType("EXPIRY_BASED");
         request.setUserId(userId);
         
-        // DEBUG LOGS
-        // System.out.println("🔍 [BACKEND] DEBUG - Request expiring items size: " + request.getExpiringItems().size());
-        // if (!request.getExpiringItems().isEmpty()) {
-        //     System.out.println("🔍 [BACKEND] First expiring item: " + request.getExpiringItems().get(0).getName());
-        //     System.out.println("🔍 [BACKEND] First expiring item isExpiring: " + request.getExpiringItems().get(0).getIsExpiring());
-        // }
-        
-        System.out.println("📤 [BACKEND] Sending " + expiringItemDTOs.size() + " expiring items to AI");
+        log.debug("Sending {} expiring items to AI for kitchen {}", expiringItemDTOs.size(), kitchenId);
         
         // Add user preferences if available
         if (userId != null) {
@@ -253,7 +212,7 @@ public class RecipeServiceImpl implements RecipeService {
                 request.setDietaryRestrictions(preferences.getDietaryRestrictions());
                 request.setCuisinePreferences(preferences.getCuisinePreferences());
             } catch (Exception e) {
-                System.out.println("⚠️ [BACKEND] Could not load user preferences: " + e.getMessage());
+                log.debug("Could not load user preferences: {}", e.getMessage());
             }
         }
         
@@ -262,11 +221,9 @@ public class RecipeServiceImpl implements RecipeService {
     
     @Override
     public RecipeResponseDTO generateQuickRecipes(Long kitchenId, Integer maxTime, Integer servings, Long userId) {
-        System.out.println("⚡ [BACKEND] Quick recipe generation for kitchenId: " + kitchenId + ", maxTime: " + maxTime);
-        System.out.println("🔍 [BACKEND] generateQuickRecipes method called - this should be QUICK type");
-        
         List<Inventory> inventory = inventoryRepository.findByKitchenIdAndTotalQuantityGreaterThan(kitchenId, 0L);
-        System.out.println("📦 [BACKEND] Found " + inventory.size() + " inventory items for quick recipes");
+        log.debug("Quick recipe generation for kitchen {}: {} inventory items, max time: {}, servings: {}",
+                kitchenId, inventory.size(), maxTime, servings);
         
         AdvancedRecipeRequestDTO request = new AdvancedRecipeRequestDTO();
         request.setItems(inventory.stream().map(this::mapToAdvancedInventoryItemDTO).collect(Collectors.toList()));
@@ -275,23 +232,6 @@ public class RecipeServiceImpl implements RecipeService {
         request.setMaxCookingTime(maxTime);
         request.setUserId(userId);
         
-        System.out.println("📋 [BACKEND] Setting recipe type to: QUICK");
-        System.out.println("⏱️ [BACKEND] Setting max cooking time to: " + maxTime);
-        System.out.println("🍽️ [BACKEND] Setting servings to: " + servings);
-        System.out.println("📤 [BACKEND] QUICK RECIPE REQUEST DATA:");
-        System.out.println("   Total Items: " + request.getItems().size());
-        System.out.println("   Recipe Type: " + request.getRecipeType());
-        System.out.println("   Max Time: " + request.getMaxCookingTime());
-        
-        System.out.println("🔍 [BACKEND] INVENTORY ITEMS BEING SENT:");
-        for (int i = 0; i < Math.min(5, request.getItems().size()); i++) {
-            AdvancedRecipeRequestDTO.InventoryItemDTO item = request.getItems().get(i);
-            System.out.println("   " + (i+1) + ". " + item.getName() + ": " + item.getQuantity() + " " + item.getUnit());
-        }
-        if (request.getItems().size() > 5) {
-            System.out.println("   ... and " + (request.getItems().size() - 5) + " more items");
-        }
-        
         // Add user preferences if available
         if (userId != null) {
             try {
@@ -299,7 +239,7 @@ public class RecipeServiceImpl implements RecipeService {
                 request.setSkillLevel(preferences.getSkillLevel());
                 request.setDietaryRestrictions(preferences.getDietaryRestrictions());
             } catch (Exception e) {
-                System.out.println("⚠️ [BACKEND] Could not load user preferences: " + e.getMessage());
+                log.debug("Could not load user preferences: {}", e.getMessage());
             }
         }
         
@@ -310,9 +250,7 @@ public class RecipeServiceImpl implements RecipeService {
     
     @Override
     public RecipeResponseDTO generateRecipeByName(Long kitchenId, String recipeName, Integer servings) {
-        System.out.println("🍳 [BACKEND] Recipe by name generation for: " + recipeName);
-        System.out.println("👥 [BACKEND] Servings requested: " + servings);
-        System.out.println("🏠 [BACKEND] Kitchen ID: " + kitchenId);
+        log.debug("Recipe by name generation for '{}' in kitchen {}, servings: {}", recipeName, kitchenId, servings);
         
         List<Inventory> inventory = inventoryRepository.findByKitchenIdAndTotalQuantityGreaterThan(kitchenId, 0L);
         
@@ -326,23 +264,20 @@ public class RecipeServiceImpl implements RecipeService {
         request.put("servings", servings);
         request.put("availableItems", inventory.stream().map(this::mapToInventoryItemDTO).collect(Collectors.toList()));
         
-        System.out.println("🎯 [BACKEND] Requesting specific recipe: " + recipeName);
-        System.out.println("📦 [BACKEND] Available items: " + inventory.size());
-        System.out.println("📝 [BACKEND] Request payload being sent to Python:");
-        System.out.println("   Recipe Name: " + request.get("recipeName"));
-        System.out.println("   Servings: " + request.get("servings"));
-        System.out.println("   Available Items Count: " + ((List<?>) request.get("availableItems")).size());
+        log.debug("Requesting recipe '{}' with {} available items", recipeName, inventory.size());
         
         try {
-            RecipeResponseDTO response = restTemplate.postForObject("http://localhost:8001/ai/recipe-by-name", request, RecipeResponseDTO.class);
+            RecipeResponseDTO response = recipeResultCache.get(kitchenId, "/ai/recipe-by-name", request,
+                () -> aiClient.post("recipe-by-name", "/ai/recipe-by-name", request, RecipeResponseDTO.class));
             
             if (response != null && response.getRecipes() != null) {
-                System.out.println("✅ [BACKEND] Recipe generated for: " + recipeName);
+                log.debug("Recipe generated for '{}'", recipeName);
             }
             
             return response;
         } catch (Exception e) {
-            System.err.println("❌ [BACKEND] Recipe by name failed: " + e.getMessage());
+            log.debug("Recipe by name failed: {}", e.getMessage());
+            aiClient.requireFallback(e);
             return createFallbackRecipeByName(recipeName, servings);
         }
     }
@@ -1,43 +1,119 @@
 package com.innogent.pantry_mind.service.impl;
 
+import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import com.innogent.pantry_mind.entity.Kitchen;
 import com.innogent.pantry_mind.entity.ShoppingList;
 import com.innogent.pantry_mind.entity.ShoppingListItem;
+import com.innogent.pantry_mind.exception.LeaseLostException;
 import com.innogent.pantry_mind.repository.KitchenRepository;
 import com.innogent.pantry_mind.repository.ShoppingListRepository;
 import com.innogent.pantry_mind.repository.ShoppingListItemRepository;
+import com.innogent.pantry_mind.service.ShardContext;
+import com.innogent.pantry_mind.service.ShardedJob;
+import com.innogent.pantry_mind.service.ShardedJobRunner;
 import com.innogent.pantry_mind.service.SuggestionService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Daily rule-based suggestions, sharded by kitchen through {@link ShardedJobRunner}, so
+ * shards run in parallel up to the runner's per-node limit. For each kitchen the inputs
+ * are read in a short read-only transaction, the AI is called with no transaction open,
+ * so a slow call holds no connection, and the new items are then written in one short
+ * fenced transaction with a single batch insert. The AI call is bounded by the
+ * shopping-suggestions endpoint timeout in AIClient, which starts when the request is
+ * sent; a timed-out call falls back to the rule suggestions.
+ */
 @Service
-@RequiredArgsConstructor
-public class ScheduledSuggestionService {
+@Slf4j
+public class ScheduledSuggestionService implements ShardedJob {
+
+    private static final String JOB_NAME = "daily-suggestions";
 
     private final SuggestionService suggestionService;
     private final KitchenRepository kitchenRepository;
     private final ShoppingListRepository shoppingListRepository;
     private final ShoppingListItemRepository shoppingListItemRepository;
+    private final ShardedJobRunner shardedJobRunner;
+    private final TransactionTemplate kitchenTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int shardCount;
+
+    public ScheduledSuggestionService(SuggestionService suggestionService,
+                                      KitchenRepository kitchenRepository,
+                                      ShoppingListRepository shoppingListRepository,
+                                      ShoppingListItemRepository shoppingListItemRepository,
+                                      ShardedJobRunner shardedJobRunner,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${suggestions.daily.shards:16}") int shardCount) {
+        this.suggestionService = suggestionService;
+        this.kitchenRepository = kitchenRepository;
+        this.shoppingListRepository = shoppingListRepository;
+        this.shoppingListItemRepository = shoppingListItemRepository;
+        this.shardedJobRunner = shardedJobRunner;
+        this.kitchenTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.shardCount = Math.max(1, shardCount);
+    }
 
     @Scheduled(cron = "0 0 8 * * *") // Daily at 8 AM
-    @Transactional
     public void generateDailySuggestions() {
-        List<Kitchen> kitchens = kitchenRepository.findAll();
-        
-        for (Kitchen kitchen : kitchens) {
+        shardedJobRunner.run(this, LocalDate.now().toString());
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public long processShard(ShardContext context) {
+        List<Long> kitchenIds = kitchenRepository.findKitchenIdsInShard(context.getShardCount(), context.getShard());
+        long added = 0;
+        for (Long kitchenId : kitchenIds) {
+            context.checkLease();
             try {
-                generateSuggestionsForKitchen(kitchen);
+                List<ShoppingListItemResponseDTO> suggestions = generate(kitchenId);
+                Integer inserted = kitchenTransaction.execute(status -> {
+                    context.fence();
+                    return addSuggestions(kitchenRepository.getReferenceById(kitchenId), suggestions);
+                });
+                added += inserted != null ? inserted : 0;
+            } catch (LeaseLostException e) {
+                throw e;
             } catch (Exception e) {
-                System.err.println("Failed to generate suggestions for kitchen " + kitchen.getId() + ": " + e.getMessage());
+                // Suggestions are regenerated tomorrow; a retry of the shard would redo the other kitchens
+                log.error("Failed to generate suggestions for kitchen {}", kitchenId, e);
             }
         }
+        return added;
+    }
+
+    private List<ShoppingListItemResponseDTO> generate(Long kitchenId) {
+        // Inputs are read in a short read-only transaction that closes before the AI call
+        List<ShoppingListItemResponseDTO> suggestions = suggestionService.completeSuggestions(
+                readTransaction.execute(status -> suggestionService.loadSuggestionInputs(kitchenId)));
+        return suggestions != null ? suggestions : List.of();
     }
 
-    private void generateSuggestionsForKitchen(Kitchen kitchen) {
+    // Returns the number of items added
+    private int addSuggestions(Kitchen kitchen, List<ShoppingListItemResponseDTO> suggestions) {
         // Get or create DAILY shopping list
         ShoppingList dailyList = shoppingListRepository
             .findByKitchenIdAndListType(kitchen.getId(), ShoppingList.ListType.DAILY)
@@ -50,29 +126,17 @@ public class ScheduledSuggestionService {
                 return shoppingListRepository.save(list);
             });
         
-        // Generate and add suggestions
-        var suggestions = suggestionService.generateRuleSuggestions(kitchen.getId());
-        
-        for (var suggestion : suggestions) {
-            // Check if item already exists in list
-            boolean exists = shoppingListItemRepository.findByShoppingListId(dailyList.getId())
-                .stream()
-                .anyMatch(item -> item.getCanonicalName().equals(suggestion.getCanonicalName()) 
-                    && item.getStatus() == ShoppingListItem.ItemStatus.PENDING);
-            
-            if (!exists) {
-                ShoppingListItem item = ShoppingListItem.builder()
-                    .shoppingList(dailyList)
-                    .canonicalName(suggestion.getCanonicalName())
-                    .suggestedQuantity(suggestion.getSuggestedQuantity())
-                    .suggestedBy(ShoppingListItem.SuggestionSource.RULE)
-                    .suggestionReason(suggestion.getSuggestionReason())
-                    .confidenceScore(suggestion.getConfidenceScore())
-                    .status(ShoppingListItem.ItemStatus.PENDING)
-                    .build();
-                    
-                shoppingListItemRepository.save(item);
+        // Skip names already pending on the list, and repeats within this batch
+        Set<String> pendingNames = new HashSet<>(shoppingListItemRepository
+            .findCanonicalNamesByShoppingListIdAndStatus(dailyList.getId(), ShoppingListItem.ItemStatus.PENDING));
+        List<ShoppingListItemResponseDTO> newItems = new ArrayList<>();
+        for (ShoppingListItemResponseDTO suggestion : suggestions) {
+            if (pendingNames.add(suggestion.getCanonicalName())) {
+                newItems.add(suggestion);
             }
         }
+        
+        return shoppingListItemRepository.insertSuggestions(dailyList.getId(),
+            ShoppingListItem.SuggestionSource.RULE.name(), newItems);
     }
 }
@@ -8,20 +8,20 @@ import com.innogent.pantry_mind.dto.response.ShoppingListResponseDTO;
 import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import com.innogent.pantry_mind.dto.response.ShoppingSuggestionDTO;
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
 import com.innogent.pantry_mind.mapper.ShoppingListMapper;
 import com.innogent.pantry_mind.repository.*;
+import com.innogent.pantry_mind.service.AIClient;
+import com.innogent.pantry_mind.service.InventoryNameIndex;
 import com.innogent.pantry_mind.service.ShoppingListService;
+import com.innogent.pantry_mind.service.UnitConversionEngine;
 import com.innogent.pantry_mind.util.NameNormalizationUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -37,17 +37,16 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     private final ShoppingListItemRepository shoppingListItemRepository;
     private final KitchenRepository kitchenRepository;
     private final UserRepository userRepository;
-    private final UnitRepository unitRepository;
+    private final UnitConversionEngine unitConversionEngine;
     private final InventoryRepository inventoryRepository;
     private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryNameIndex inventoryNameIndex;
     private final CategoryRepository categoryRepository;
     private final LocationRepository locationRepository;
     private final ConsumptionEventRepository consumptionEventRepository;
     private final ShoppingListMapper shoppingListMapper;
-    private final RestTemplate restTemplate;
-
-    @Value("${python.backend.url:http://localhost:8000}")
-    private String pythonBackendUrl;
+    private final AIClient aiClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ShoppingListResponseDTO> getOrCreateFixedLists(Long kitchenId) {
@@ -123,7 +122,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
         ShoppingList shoppingList = shoppingListRepository.findById(dto.getShoppingListId())
             .orElseThrow(() -> new RuntimeException("Shopping list not found"));
         
-        Unit unit = unitRepository.findById(dto.getUnitId())
+        Unit unit = unitConversionEngine.findById(dto.getUnitId())
             .orElseThrow(() -> new RuntimeException("Unit not found"));
         
         User user = userRepository.findById(userId)
@@ -161,7 +160,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
 
         item.setSuggestedQuantity(dto.getQuantity());
         if (dto.getUnitId() != null) {
-            Unit unit = unitRepository.findById(dto.getUnitId())
+            Unit unit = unitConversionEngine.findById(dto.getUnitId())
                 .orElseThrow(() -> new RuntimeException("Unit not found"));
             item.setUnit(unit);
         }
@@ -220,16 +219,9 @@ public class ShoppingListServiceImpl implements ShoppingListService {
                 System.out.println("Sending AI request for " + shoppingList.getListType().name() + " list with " + 
                     ((List<?>) consumptionData.get("consumptionEvents")).size() + " consumption events");
 
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-                System.out.println("DEBUG: About to call Python API at: " + pythonBackendUrl + "/api/ai-shopping/suggestions");
-                System.out.println("DEBUG: RestTemplate instance: " + restTemplate);
-
                 @SuppressWarnings("unchecked")
-                Map<String, Object> response = restTemplate.postForObject(
-                    pythonBackendUrl + "/api/ai-shopping/suggestions", entity, Map.class);
+                Map<String, Object> response = aiClient.post(
+                    "shopping-suggestions", "/api/ai-shopping/suggestions", request, Map.class);
 
                 System.out.println("DEBUG: Response received: " + response);
 
@@ -241,6 +233,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
                 }
             } catch (Exception e) {
                 System.err.println("Python backend error: " + e.getMessage());
+                aiClient.requireFallback(e);
                 // Fallback to low stock suggestions on error
             }
 
@@ -255,7 +248,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     private List<ShoppingSuggestionDTO> convertToSuggestionDTOs(List<Map<String, Object>> suggestions) {
         return suggestions.stream().map(suggestion -> {
             String unitName = (String) suggestion.get("unit");
-            Unit unit = unitRepository.findByName(unitName).orElse(null);
+            Unit unit = unitConversionEngine.findByName(unitName).orElse(null);
 
             Object quantityObj = suggestion.get("quantity");
             BigDecimal quantity = quantityObj != null ? 
@@ -367,7 +360,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
             String canonicalName = NameNormalizationUtil.normalizeName(suggestion.getItemName());
 
             Unit unit = suggestion.getUnitId() != null ? 
-                unitRepository.findById(suggestion.getUnitId()).orElse(null) : null;
+                unitConversionEngine.findById(suggestion.getUnitId()).orElse(null) : null;
 
             return ShoppingListItem.builder()
                 .shoppingList(shoppingList)
@@ -453,8 +446,8 @@ public class ShoppingListServiceImpl implements ShoppingListService {
             BigDecimal quantity = actualQuantity != null ? 
                 new BigDecimal(actualQuantity) : item.getSuggestedQuantity();
             
-            inventory.setTotalQuantity(inventory.getTotalQuantity() + quantity.longValue());
-            inventoryRepository.save(inventory);
+            inventoryRepository.applyTotalsDelta(inventory.getId(), quantity, 0);
+            eventPublisher.publishEvent(new KitchenStatsChangedEvent(inventory.getKitchenId()));
         }
 
         Map<String, Object> result = new HashMap<>();
@@ -501,19 +494,17 @@ public class ShoppingListServiceImpl implements ShoppingListService {
                 .name(displayName)
                 .normalizedName(NameNormalizationUtil.normalizeName(item.getCanonicalName()))
                 .kitchenId(list.getKitchen().getId())
-                .unit(unitRepository.findById(request.getUnitId()).orElse(null))
+                .unit(unitConversionEngine.findById(request.getUnitId()).orElse(null))
                 .category(categoryRepository.findById(request.getCategoryId()).orElse(null))
-                .totalQuantity(request.getQuantity().longValue())
-                .itemCount(1)
                 .minStock(5L)
                 .build();
-        } else {
-            inventory.setTotalQuantity(inventory.getTotalQuantity() + request.getQuantity().longValue());
-            inventory.setItemCount(inventory.getItemCount() + 1);
+            inventory = inventoryRepository.save(inventory);
+            inventoryNameIndex.add(inventory.getKitchenId(),
+                inventory.getCategory() != null ? inventory.getCategory().getId() : null,
+                inventory.getUnit() != null ? inventory.getUnit().getId() : null,
+                inventory.getNormalizedName());
         }
         
-        inventoryRepository.save(inventory);
-        
         InventoryItem inventoryItem = InventoryItem.builder()
             .inventory(inventory)
             .originalQuantity(request.getQuantity())
@@ -530,7 +521,9 @@ public class ShoppingListServiceImpl implements ShoppingListService {
             .build();
         
         inventoryItemRepository.save(inventoryItem);
+        inventoryRepository.applyTotalsDelta(inventory.getId(), request.getQuantity(), 1);
         shoppingListItemRepository.delete(item);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(list.getKitchen().getId()));
     }
 
     // New methods for purchased items management
@@ -2,18 +2,26 @@ package com.innogent.pantry_mind.service.impl;
 
 import com.innogent.pantry_mind.dto.response.ShoppingListItemResponseDTO;
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
 import com.innogent.pantry_mind.repository.*;
 import com.innogent.pantry_mind.service.AIService;
+import com.innogent.pantry_mind.service.KitchenDailyActivityService;
 import com.innogent.pantry_mind.service.SuggestionService;
 import com.innogent.pantry_mind.util.NameNormalizationUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 @Service
@@ -27,34 +35,48 @@ public class SuggestionServiceImpl implements SuggestionService {
     private final UserRepository userRepository;
     private final UnitRepository unitRepository;
     private final AIService aiService;
+    private final KitchenDailyActivityService kitchenDailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public List<ShoppingListItemResponseDTO> generateRuleSuggestions(Long kitchenId) {
-        List<ShoppingListItemResponseDTO> suggestions = new ArrayList<>();
-        
+    @Transactional(readOnly = true)
+    public SuggestionInputs loadSuggestionInputs(Long kitchenId) {
         // Get rule-based suggestions
         List<ShoppingListItemResponseDTO> ruleSuggestions = generateBasicRuleSuggestions(kitchenId);
         
-        // Get AI suggestions if available
-        List<ShoppingListItemResponseDTO> aiSuggestions = new ArrayList<>();
-        if (aiService.isAIAvailable()) {
-            aiSuggestions = aiService.generateAISuggestions(kitchenId);
-        }
+        // Prepare the AI request if available; it is sent after this transaction ends
+        Map<String, Object> aiRequest = aiService.isAIAvailable()
+            ? aiService.buildSuggestionRequest(kitchenId, "DAILY", Collections.emptyList())
+            : null;
+        return new SuggestionInputs(ruleSuggestions, aiRequest);
+    }
+
+    @Override
+    public List<ShoppingListItemResponseDTO> completeSuggestions(SuggestionInputs inputs) {
+        // A failed AI call leaves the rule suggestions, as when the service is unavailable
+        List<ShoppingListItemResponseDTO> aiSuggestions = inputs.aiRequest() != null
+            ? aiService.requestSuggestions(inputs.aiRequest()).orElse(List.of())
+            : List.of();
         
         // Merge suggestions (AI takes priority for same items)
-        suggestions.addAll(mergeSuggestions(ruleSuggestions, aiSuggestions));
-        
-        return suggestions;
+        return mergeSuggestions(inputs.ruleSuggestions(), aiSuggestions);
     }
 
     private List<ShoppingListItemResponseDTO> generateBasicRuleSuggestions(Long kitchenId) {
         List<ShoppingListItemResponseDTO> suggestions = new ArrayList<>();
         List<Inventory> inventoryItems = inventoryRepository.findByKitchenId(kitchenId);
         
+        // All of the kitchen's rules in one query instead of one lookup per inventory row
+        Map<String, SuggestionRule> rulesByName = new HashMap<>();
+        for (SuggestionRule rule : suggestionRuleRepository.findByKitchenId(kitchenId)) {
+            rulesByName.putIfAbsent(rule.getCanonicalName(), rule);
+        }
+        
         for (Inventory inventory : inventoryItems) {
-            SuggestionRule rule = suggestionRuleRepository
-                .findByCanonicalNameAndKitchenId(inventory.getName(), kitchenId)
-                .orElse(createDefaultRule(inventory));
+            SuggestionRule rule = rulesByName.get(inventory.getName());
+            if (rule == null) {
+                rule = createDefaultRule(inventory);
+            }
             
             if (isItemLowStock(inventory, rule)) {
                 ShoppingListItemResponseDTO suggestion = createRuleSuggestion(inventory, rule);
@@ -75,11 +97,12 @@ public class SuggestionServiceImpl implements SuggestionService {
         merged.addAll(aiSuggestions);
         
         // Add rule suggestions that don't conflict with AI
+        Set<String> aiNames = new HashSet<>();
+        for (ShoppingListItemResponseDTO aiSuggestion : aiSuggestions) {
+            aiNames.add(aiSuggestion.getCanonicalName());
+        }
         for (ShoppingListItemResponseDTO ruleSuggestion : ruleSuggestions) {
-            boolean hasAIVersion = aiSuggestions.stream()
-                .anyMatch(ai -> ai.getCanonicalName().equals(ruleSuggestion.getCanonicalName()));
-            
-            if (!hasAIVersion) {
+            if (!aiNames.contains(ruleSuggestion.getCanonicalName())) {
                 merged.add(ruleSuggestion);
             }
         }
@@ -104,6 +127,8 @@ public class SuggestionServiceImpl implements SuggestionService {
             .build();
             
         consumptionEventRepository.save(event);
+        kitchenDailyActivityService.recordConsumption(event);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
     }
 
     @Override
@@ -116,7 +141,7 @@ public class SuggestionServiceImpl implements SuggestionService {
         
         SuggestionRule rule = suggestionRuleRepository
             .findByCanonicalNameAndKitchenId(normalizedName, kitchenId)
-            .orElse(SuggestionRule.builder()
+            .orElseGet(() -> SuggestionRule.builder()
                 .canonicalName(normalizedName)
                 .kitchen(kitchen)
                 .build());
@@ -7,6 +7,7 @@ import com.innogent.pantry_mind.exception.DuplicateResourceException;
 import com.innogent.pantry_mind.exception.ResourceNotFoundException;
 import com.innogent.pantry_mind.mapper.UnitMapper;
 import com.innogent.pantry_mind.repository.UnitRepository;
+import com.innogent.pantry_mind.service.UnitConversionEngine;
 import com.innogent.pantry_mind.service.UnitService;
 import org.springframework.stereotype.Service;
 
@@ -16,10 +17,13 @@ import java.util.List;
 public class UnitServiceImpl implements UnitService {
     private final UnitRepository unitRepository;
     private final UnitMapper unitMapper;
+    private final UnitConversionEngine unitConversionEngine;
     
-    public UnitServiceImpl(UnitRepository unitRepository, UnitMapper unitMapper) {
+    public UnitServiceImpl(UnitRepository unitRepository, UnitMapper unitMapper,
+                           UnitConversionEngine unitConversionEngine) {
         this.unitRepository = unitRepository;
         this.unitMapper = unitMapper;
+        this.unitConversionEngine = unitConversionEngine;
     }
 
     @Override
@@ -27,21 +31,30 @@ public class UnitServiceImpl implements UnitService {
         if (unitRepository.findByName(unitRequestDTO.getName()).isPresent()) {
             throw new DuplicateResourceException("Unit with name '" + unitRequestDTO.getName() + "' already exists");
         }
+        if (unitRequestDTO.getBaseUnitName() != null) {
+            if (unitConversionEngine.findByName(unitRequestDTO.getBaseUnitName()).isEmpty()) {
+                throw new IllegalArgumentException("Base unit not found: " + unitRequestDTO.getBaseUnitName());
+            }
+            if (unitRequestDTO.getToBaseFactor() == null || unitRequestDTO.getToBaseFactor().signum() <= 0) {
+                throw new IllegalArgumentException("A positive conversion factor is required with a base unit");
+            }
+        }
         Unit unit = unitMapper.toEntity(unitRequestDTO);
         Unit savedUnit = unitRepository.save(unit);
+        unitConversionEngine.refreshAfterCommit();
         return unitMapper.toResponse(savedUnit);
     }
 
     @Override
     public UnitResponseDTO findById(Long id) {
-        Unit unit = unitRepository.findById(id)
+        Unit unit = unitConversionEngine.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit not found with id: " + id));
         return unitMapper.toResponse(unit);
     }
 
     @Override
     public List<UnitResponseDTO> findAll() {
-        return unitRepository.findAll()
+        return unitConversionEngine.findAll()
                 .stream()
                 .map(unitMapper::toResponse)
                 .toList();
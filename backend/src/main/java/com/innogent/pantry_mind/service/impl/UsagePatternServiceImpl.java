@@ -3,10 +3,14 @@ package com.innogent.pantry_mind.service.impl;
 import com.innogent.pantry_mind.dto.ItemShoppingPattern;
 import com.innogent.pantry_mind.dto.response.ShoppingSuggestionDTO;
 import com.innogent.pantry_mind.entity.*;
+import com.innogent.pantry_mind.event.KitchenStatsChangedEvent;
 import com.innogent.pantry_mind.repository.*;
+import com.innogent.pantry_mind.service.KitchenDailyActivityService;
+import com.innogent.pantry_mind.service.UnitConversionEngine;
 import com.innogent.pantry_mind.service.UsagePatternService;
 import com.innogent.pantry_mind.util.NameNormalizationUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
@@ -20,10 +24,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UsagePatternServiceImpl implements UsagePatternService {
 
+    private static final List<String> PERISHABLE_ITEMS = List.of("milk", "bread", "egg", "yogurt", "fresh vegetable", "fruit", "meat", "fish");
+    private static final List<String> BULK_ITEMS = List.of("rice", "oil", "sugar", "salt", "flour", "pasta", "lentil", "bean", "spice");
+
     private final ConsumptionEventRepository consumptionEventRepository;
     private final KitchenRepository kitchenRepository;
     private final UserRepository userRepository;
     private final UnitRepository unitRepository;
+    private final UnitConversionEngine unitConversionEngine;
+    private final KitchenDailyActivityService kitchenDailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ShoppingSuggestionDTO> getDailyPatternSuggestions(Long kitchenId, List<String> existingItems) {
@@ -136,6 +146,9 @@ public class UsagePatternServiceImpl implements UsagePatternService {
                 .unit(kgUnit).kitchen(kitchen).reason(ConsumptionEvent.EventReason.CONSUMED)
                 .triggeredBy(user).createdAt(LocalDateTime.now().minusDays(i)).build());
         }
+        // Seeded events are backdated, so rebuild the rollup rather than counting them as today's
+        kitchenDailyActivityService.rebuildKitchen(kitchenId);
+        eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
     }
 
     private ItemShoppingPattern analyzeShoppingPattern(String itemName, List<ConsumptionEvent> events) {
@@ -158,21 +171,26 @@ public class UsagePatternServiceImpl implements UsagePatternService {
     }
 
     private String determineOptimalShoppingFrequency(String itemName, double dailyConsumption, int daysBetween) {
-        if (isPerishableDaily(itemName)) return "DAILY";
-        if (isBulkItem(itemName)) return "MONTHLY";
+        String normalizedName = NameNormalizationUtil.normalizeName(itemName);
+        if (isPerishableDaily(normalizedName)) return "DAILY";
+        if (isBulkItem(normalizedName)) return "MONTHLY";
         if (daysBetween <= 2) return "DAILY";
         else if (daysBetween <= 7) return "WEEKLY";
         else return "MONTHLY";
     }
 
-    private boolean isPerishableDaily(String itemName) {
-        Set<String> perishableItems = Set.of("milk", "bread", "egg", "yogurt", "fresh vegetable", "fruit", "meat", "fish");
-        return perishableItems.stream().anyMatch(item -> NameNormalizationUtil.normalizeName(itemName).contains(item));
+    private boolean isPerishableDaily(String normalizedName) {
+        for (String item : PERISHABLE_ITEMS) {
+            if (normalizedName.contains(item)) return true;
+        }
+        return false;
     }
 
-    private boolean isBulkItem(String itemName) {
-        Set<String> bulkItems = Set.of("rice", "oil", "sugar", "salt", "flour", "pasta", "lentil", "bean", "spice");
-        return bulkItems.stream().anyMatch(item -> NameNormalizationUtil.normalizeName(itemName).contains(item));
+    private boolean isBulkItem(String normalizedName) {
+        for (String item : BULK_ITEMS) {
+            if (normalizedName.contains(item)) return true;
+        }
+        return false;
     }
 
     private BigDecimal calculateOptimalPurchaseQuantity(String listType, double dailyConsumption) {
@@ -224,7 +242,7 @@ public class UsagePatternServiceImpl implements UsagePatternService {
     public void recordConsumption(Long kitchenId, String itemName, Double quantity, Long unitId, Long userId) {
         Kitchen kitchen = kitchenRepository.findById(kitchenId).orElse(null);
         User user = userRepository.findById(userId).orElse(null);
-        Unit unit = unitId != null ? unitRepository.findById(unitId).orElse(null) : null;
+        Unit unit = unitId != null ? unitConversionEngine.findById(unitId).orElse(null) : null;
         
         if (kitchen != null) {
             ConsumptionEvent event = ConsumptionEvent.builder()
@@ -237,6 +255,8 @@ public class UsagePatternServiceImpl implements UsagePatternService {
                 .build();
                 
             consumptionEventRepository.save(event);
+            kitchenDailyActivityService.recordConsumption(event);
+            eventPublisher.publishEvent(new KitchenStatsChangedEvent(kitchenId));
         }
     }
 }
@@ -5,11 +5,13 @@ import com.innogent.pantry_mind.dto.request.RegisterRequestDTO;
 import com.innogent.pantry_mind.dto.request.ResetPasswordRequestDTO;
 import com.innogent.pantry_mind.dto.request.UpdateUserRequestDTO;
 import com.innogent.pantry_mind.exception.InvalidPasswordException;
+import com.innogent.pantry_mind.service.CustomUserDetailsService;
 import com.innogent.pantry_mind.service.OtpService;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Objects;
 import com.innogent.pantry_mind.dto.response.UserResponseDTO;
 import com.innogent.pantry_mind.entity.Role;
 import com.innogent.pantry_mind.entity.User;
@@ -31,6 +33,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
     private final OtpService otpService;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     @Transactional
@@ -98,9 +101,13 @@ public class UserServiceImpl implements UserService {
         
         if (request.getUsername() != null) user.setUsername(request.getUsername());
         if (request.getName() != null) user.setName(request.getName());
+        String previousEmail = user.getEmail();
         if (request.getEmail() != null) user.setEmail(request.getEmail());
         
         User updated = userRepository.save(user);
+        if (!Objects.equals(previousEmail, updated.getEmail())) {
+            userDetailsService.evictPrincipal(previousEmail);
+        }
         return userMapper.toResponse(updated);
     }
 
@@ -109,6 +116,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         userRepository.delete(user);
+        userDetailsService.evictPrincipal(user.getEmail());
     }
 
     @Override
@@ -0,0 +1,102 @@
+package com.innogent.pantry_mind.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BK-tree over already-normalized names. Lookups prune subtrees with the triangle
+ * inequality, so a query touches a small fraction of the names instead of all of them.
+ * Not thread-safe; callers synchronize.
+ */
+public class NameBkTree {
+
+    // Distances are evaluated exactly up to this band; larger ones only need a lower bound
+    private static final int SEARCH_BAND = 8;
+
+    private Node root;
+    private int size;
+
+    public boolean add(String normalizedName) {
+        if (normalizedName == null || normalizedName.isEmpty()) {
+            return false;
+        }
+        if (root == null) {
+            root = new Node(normalizedName);
+            size++;
+            return true;
+        }
+        Node node = root;
+        while (true) {
+            int distance = NameNormalizationUtil.levenshteinDistance(normalizedName, node.name);
+            if (distance == 0) {
+                return false;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(normalizedName));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the closest name within maxDistance, or null if there is none.
+     */
+    public String findClosest(String normalizedName, int maxDistance) {
+        if (root == null || normalizedName == null) {
+            return null;
+        }
+        Match best = new Match(maxDistance + 1);
+        search(root, normalizedName, maxDistance, best);
+        return best.name;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void search(Node node, String query, int maxDistance, Match best) {
+        int band = Math.max(SEARCH_BAND, maxDistance);
+        int distance = NameNormalizationUtil.boundedLevenshteinDistance(query, node.name, band);
+        if (distance < best.distance) {
+            best.distance = distance;
+            best.name = node.name;
+            if (distance == 0) {
+                return;
+            }
+        }
+
+        // distance > band only tells us the real distance is at least band + 1
+        int low = distance - maxDistance;
+        int high = distance > band ? Integer.MAX_VALUE : distance + maxDistance;
+        for (Map.Entry<Integer, Node> entry : node.children.entrySet()) {
+            if (best.distance == 0) {
+                return;
+            }
+            int edge = entry.getKey();
+            if (edge >= low && edge <= high) {
+                search(entry.getValue(), query, Math.min(maxDistance, best.distance - 1), best);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class Match {
+        private int distance;
+        private String name;
+
+        private Match(int distance) {
+            this.distance = distance;
+        }
+    }
+}
@@ -2,10 +2,49 @@ package com.innogent.pantry_mind.util;
 
 import java.text.Normalizer;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NameNormalizationUtil {
     
+    private static final int MEMO_MAX_ENTRIES = 10_000;
+    private static final Map<String, String> MEMO = new ConcurrentHashMap<>();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+    
+    /**
+     * Lower-cases, strips accents and everything except letters, collapses whitespace and
+     * drops a plural trailing 's'. Output is identical to {@link #normalizeNameRegex(String)};
+     * ASCII input is handled in one pass over the chars without regexes.
+     */
     public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String cached = MEMO.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = normalizeNameUncached(name);
+        if (MEMO.size() >= MEMO_MAX_ENTRIES) {
+            MEMO.clear();
+        }
+        MEMO.put(name, normalized);
+        return normalized;
+    }
+    
+    public static String normalizeNameUncached(String name) {
+        if (isAscii(name) && !hasSpecialLowerCaseRules()) {
+            return collapse(name, true);
+        }
+        // Accented input: decompose so base letters survive, then the same pass drops the marks
+        return collapse(Normalizer.normalize(name.toLowerCase(), Normalizer.Form.NFD), false);
+    }
+    
+    /**
+     * Original regex-based implementation, kept as the reference for equivalence checks.
+     */
+    public static String normalizeNameRegex(String name) {
         if (name == null || name.trim().isEmpty()) {
             return "";
         }
@@ -31,33 +70,129 @@ public class NameNormalizationUtil {
         return normalized;
     }
     
+    // Keeps [a-z] (optionally folding [A-Z]), turns runs of \s into one space, trims, drops plural 's'
+    private static String collapse(String input, boolean foldUpperCase) {
+        char[] out = BUFFER.get();
+        if (out.length < input.length()) {
+            out = new char[input.length()];
+            BUFFER.set(out);
+        }
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (foldUpperCase && c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c >= 'a' && c <= 'z') {
+                if (pendingSpace && length > 0) {
+                    out[length++] = ' ';
+                }
+                pendingSpace = false;
+                out[length++] = c;
+            } else if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                pendingSpace = true;
+            }
+        }
+        if (length > 1 && out[length - 1] == 's') {
+            length--;
+        }
+        return new String(out, 0, length);
+    }
+    
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Turkish and Azerbaijani lower-case 'I' to a dotless i, which the original drops
+    private static boolean hasSpecialLowerCaseRules() {
+        String language = Locale.getDefault().getLanguage();
+        return "tr".equals(language) || "az".equals(language);
+    }
+    
     public static int levenshteinDistance(String a, String b) {
         if (a == null || b == null) return Integer.MAX_VALUE;
         
-        int[][] dp = new int[a.length() + 1][b.length() + 1];
-        
-        for (int i = 0; i <= a.length(); i++) {
-            for (int j = 0; j <= b.length(); j++) {
-                if (i == 0) {
-                    dp[i][j] = j;
-                } else if (j == 0) {
-                    dp[i][j] = i;
-                } else {
-                    dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1)
-                    );
-                }
+        // Two rolling rows instead of a full (m+1)x(n+1) matrix
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        
+        return previous[b.length()];
+    }
+    
+    /**
+     * Levenshtein distance evaluated only inside the diagonal band of width 2*maxDistance+1,
+     * stopping as soon as every cell of a row exceeds maxDistance.
+     * Returns maxDistance + 1 when the real distance is larger than maxDistance.
+     */
+    public static int boundedLevenshteinDistance(String a, String b, int maxDistance) {
+        if (a == null || b == null) return maxDistance + 1;
+        if (Math.abs(a.length() - b.length()) > maxDistance) return maxDistance + 1;
+        if (a.equals(b)) return 0;
+        
+        int n = b.length();
+        int overflow = maxDistance + 1;
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j <= maxDistance ? j : overflow;
+        }
+        
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(n, i + maxDistance);
+            current[0] = i <= maxDistance ? i : overflow;
+            if (from > 1) {
+                current[from - 1] = overflow;
+            }
+            
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, overflow);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < n) {
+                current[to + 1] = overflow;
+            }
+            if (rowMin > maxDistance) {
+                return overflow;
             }
+            
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
         
-        return dp[a.length()][b.length()];
+        return Math.min(previous[n], overflow);
     }
     
     public static boolean isFuzzyMatch(String name1, String name2, int maxDistance) {
         String normalized1 = normalizeName(name1);
         String normalized2 = normalizeName(name2);
-        return levenshteinDistance(normalized1, normalized2) <= maxDistance;
+        return boundedLevenshteinDistance(normalized1, normalized2, maxDistance) <= maxDistance;
     }
     
     public static String findBestMatch(String inputName, List<String> existingNames) {
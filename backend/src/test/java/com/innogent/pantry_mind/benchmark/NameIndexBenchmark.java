@@ -0,0 +1,106 @@
+package com.innogent.pantry_mind.benchmark;
+
+import com.innogent.pantry_mind.util.NameBkTree;
+import com.innogent.pantry_mind.util.NameNormalizationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy name lookup cost for one kitchen group: the previous linear scan
+ * (re-normalize + full-matrix Levenshtein per name) against the cached BK-tree.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.innogent.pantry_mind.benchmark.NameIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameIndexBenchmark {
+
+    @Param({"1000", "10000"})
+    private int names;
+
+    private List<String> existingNames;
+    private NameBkTree tree;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        existingNames = new ArrayList<>(names);
+        tree = new NameBkTree();
+        while (existingNames.size() < names) {
+            String name = randomWord(random, 4 + random.nextInt(6)) + " " + randomWord(random, 3 + random.nextInt(5));
+            String normalized = NameNormalizationUtil.normalizeName(name);
+            if (tree.add(normalized)) {
+                existingNames.add(name);
+            }
+        }
+
+        // Mix of near-misses (one typo) and names with no match
+        queries = new String[256];
+        for (int i = 0; i < queries.length; i++) {
+            if (i % 2 == 0) {
+                char[] chars = NameNormalizationUtil.normalizeName(existingNames.get(random.nextInt(names))).toCharArray();
+                chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+                queries[i] = new String(chars);
+            } else {
+                queries[i] = randomWord(random, 6) + " " + randomWord(random, 5);
+            }
+        }
+    }
+
+    @Benchmark
+    public String linearScan() {
+        String query = nextQuery();
+        for (String existing : existingNames) {
+            if (NameNormalizationUtil.levenshteinDistance(NameNormalizationUtil.normalizeName(existing), query) <= 2) {
+                return existing;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String bkTree() {
+        return tree.findClosest(nextQuery(), 2);
+    }
+
+    private String nextQuery() {
+        return queries[next++ & (queries.length - 1)];
+    }
+
+    private static String randomWord(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(NameIndexBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
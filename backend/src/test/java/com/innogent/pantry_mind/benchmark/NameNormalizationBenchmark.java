@@ -0,0 +1,65 @@
+package com.innogent.pantry_mind.benchmark;
+
+import com.innogent.pantry_mind.util.NameNormalizationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation rate (via the GC profiler) of the regex normalizer against the
+ * single-pass one, both uncached, plus the memoized entry point on a hot name.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.innogent.pantry_mind.benchmark.NameNormalizationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameNormalizationBenchmark {
+
+    private final String[] names = {
+        "Fresh Tomatoes", "  Basmati Rice (5 kg) ", "Greek Yogurt", "Crème Fraîche", "EGGS", "whole wheat bread"
+    };
+    private int next;
+
+    @Benchmark
+    public String regex() {
+        return NameNormalizationUtil.normalizeNameRegex(nextName());
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return NameNormalizationUtil.normalizeNameUncached(nextName());
+    }
+
+    @Benchmark
+    public String memoized() {
+        return NameNormalizationUtil.normalizeName(nextName());
+    }
+
+    private String nextName() {
+        next = next == names.length - 1 ? 0 : next + 1;
+        return names[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(NameNormalizationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
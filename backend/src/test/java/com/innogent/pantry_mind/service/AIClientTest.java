@@ -0,0 +1,124 @@
+package com.innogent.pantry_mind.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innogent.pantry_mind.exception.AIClientException;
+import com.innogent.pantry_mind.exception.AIClientRejectedException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AIClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    // Maps the 1-based call number to the status the stub answers with; 0 means sleep past the timeout
+    private volatile IntUnaryOperator statusForCall = call -> 200;
+    private SimpleMeterRegistry meterRegistry;
+    private AIClient client;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api", exchange -> {
+            int status = statusForCall.applyAsInt(calls.incrementAndGet());
+            if (status == 0) {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status = 200;
+            }
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("python.backend.url", "http://127.0.0.1:" + server.getAddress().getPort())
+                .withProperty("ai.service.timeout", "5000")
+                .withProperty("ai.service.retry.attempts", "3")
+                .withProperty("ai.client.retry-backoff-ms", "10")
+                .withProperty("ai.client.breaker.failure-threshold", "2")
+                .withProperty("ai.client.endpoints.slow.timeout-ms", "200")
+                .withProperty("ai.client.endpoints.slow.attempts", "1")
+                .withProperty("ai.client.endpoints.generate.timeout-ms", "200");
+        meterRegistry = new SimpleMeterRegistry();
+        client = new AIClient(new ObjectMapper(), meterRegistry, environment);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesServerErrorsThenParsesResponse() {
+        statusForCall = call -> call < 3 ? 503 : 200;
+
+        Map<?, ?> response = client.post("suggestions", "/api/suggestions", Map.of("kitchenId", 1), Map.class);
+
+        assertEquals(Boolean.TRUE, response.get("ok"));
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.counter("ai.client.retries", "endpoint", "suggestions").count());
+        assertEquals(1, meterRegistry.timer("ai.client.requests", "endpoint", "suggestions", "outcome", "success").count());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        statusForCall = call -> 400;
+
+        assertThrows(AIClientException.class, () -> client.get("suggestions", "/api/suggestions", Map.class));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailures() {
+        statusForCall = call -> 500;
+
+        assertThrows(AIClientException.class, () -> client.get("suggestions", "/api/suggestions", Map.class));
+        assertThrows(AIClientException.class, () -> client.get("suggestions", "/api/suggestions", Map.class));
+        int callsWhenOpened = calls.get();
+        assertThrows(AIClientRejectedException.class, () -> client.get("suggestions", "/api/suggestions", Map.class));
+
+        assertEquals(6, callsWhenOpened);
+        assertEquals(callsWhenOpened, calls.get());
+        assertEquals(1.0, meterRegistry.counter("ai.client.rejected", "endpoint", "suggestions", "reason", "circuit_open").count());
+    }
+
+    @Test
+    void appliesPerEndpointTimeout() {
+        statusForCall = call -> 0;
+
+        assertThrows(AIClientException.class, () -> client.get("slow", "/api/slow", Map.class));
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.timer("ai.client.requests", "endpoint", "slow", "outcome", "timeout").count());
+    }
+
+    @Test
+    void doesNotRetryTimedOutPosts() {
+        statusForCall = call -> 0;
+
+        assertThrows(AIClientException.class, () -> client.post("generate", "/api/generate", Map.of("kitchenId", 1), Map.class));
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.counter("ai.client.retries", "endpoint", "generate").count());
+    }
+}
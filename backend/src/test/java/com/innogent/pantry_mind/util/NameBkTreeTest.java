@@ -0,0 +1,125 @@
+package com.innogent.pantry_mind.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameBkTreeTest {
+
+    // A small alphabet so random names are often within a few edits of each other
+    private static final String ALPHABET = "abcd ";
+
+    @Test
+    void boundedDistanceMatchesFullMatrixWithCutOff() {
+        Random random = new Random(20240605L);
+        for (int run = 0; run < 50_000; run++) {
+            String a = randomString(random, random.nextInt(13));
+            String b = randomString(random, random.nextInt(13));
+            int bound = random.nextInt(7);
+            int expected = referenceDistance(a, b);
+            assertEquals(expected, NameNormalizationUtil.levenshteinDistance(a, b), () -> "[" + a + "] [" + b + "]");
+            assertEquals(Math.min(expected, bound + 1), NameNormalizationUtil.boundedLevenshteinDistance(a, b, bound),
+                    () -> "[" + a + "] [" + b + "] bound " + bound);
+        }
+    }
+
+    @Test
+    void boundedDistanceHandlesEmptyStrings() {
+        assertEquals(0, NameNormalizationUtil.boundedLevenshteinDistance("", "", 0));
+        assertEquals(3, NameNormalizationUtil.boundedLevenshteinDistance("", "abc", 3));
+        assertEquals(3, NameNormalizationUtil.boundedLevenshteinDistance("abc", "", 2));
+        assertEquals(1, NameNormalizationUtil.boundedLevenshteinDistance("", "a", 0));
+    }
+
+    @Test
+    void findClosestMatchesBruteForceScan() {
+        Random random = new Random(20240606L);
+        for (int tree = 0; tree < 200; tree++) {
+            NameBkTree bkTree = new NameBkTree();
+            List<String> added = new ArrayList<>();
+            int count = random.nextInt(60);
+            for (int i = 0; i < count; i++) {
+                // Roughly one name in four repeats an earlier one
+                String name = !added.isEmpty() && random.nextInt(4) == 0
+                        ? added.get(random.nextInt(added.size()))
+                        : randomString(random, random.nextInt(10));
+                bkTree.add(name);
+                added.add(name);
+            }
+            Set<String> distinct = new LinkedHashSet<>(added);
+            distinct.remove("");
+            assertEquals(distinct.size(), bkTree.size());
+
+            for (int query = 0; query < 50; query++) {
+                String q = randomString(random, random.nextInt(10));
+                // Includes bounds above the tree's exact search band
+                int maxDistance = random.nextInt(5) == 0 ? 10 + random.nextInt(3) : random.nextInt(5);
+                int best = Integer.MAX_VALUE;
+                for (String name : distinct) {
+                    best = Math.min(best, referenceDistance(q, name));
+                }
+
+                String found = bkTree.findClosest(q, maxDistance);
+                if (best > maxDistance) {
+                    assertNull(found, () -> "query [" + q + "] max " + maxDistance);
+                } else {
+                    assertNotNull(found, () -> "query [" + q + "] max " + maxDistance);
+                    assertTrue(distinct.contains(found));
+                    assertEquals(best, referenceDistance(q, found), () -> "query [" + q + "] found [" + found + "]");
+                }
+            }
+        }
+    }
+
+    @Test
+    void ignoresEmptyAndDuplicateNames() {
+        NameBkTree bkTree = new NameBkTree();
+        assertNull(bkTree.findClosest("milk", 2));
+        assertFalse(bkTree.add(""));
+        assertFalse(bkTree.add(null));
+        assertTrue(bkTree.add("milk"));
+        assertFalse(bkTree.add("milk"));
+        assertTrue(bkTree.add("silk"));
+        assertEquals(2, bkTree.size());
+
+        assertEquals("milk", bkTree.findClosest("milk", 0));
+        assertNull(bkTree.findClosest("", 3));
+        assertNotNull(bkTree.findClosest("", 4));
+        assertNull(bkTree.findClosest(null, 4));
+    }
+
+    private static int referenceDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
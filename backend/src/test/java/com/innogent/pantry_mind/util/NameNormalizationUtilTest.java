@@ -0,0 +1,53 @@
+package com.innogent.pantry_mind.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameNormalizationUtilTest {
+
+    // Letters, the plural 's', every \s character, digits, punctuation, accents, non-Latin scripts,
+    // compatibility characters (Kelvin sign, ligature) and the Turkish dotted/dotless i
+    private static final String ALPHABET = "abcxyzsSABZ  \t\n\u000B\f\r\u0001-_'0129"
+            + "éÉñÑüßøİıKﬁ日本́  .,;";
+
+    @Test
+    void singlePassMatchesRegexImplementationForRandomInput() {
+        Locale original = Locale.getDefault();
+        Random random = new Random(20240601L);
+        try {
+            for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY, new Locale("tr") }) {
+                Locale.setDefault(locale);
+                for (int run = 0; run < 50_000; run++) {
+                    String input = randomString(random, random.nextInt(16));
+                    assertEquals(NameNormalizationUtil.normalizeNameRegex(input),
+                            NameNormalizationUtil.normalizeNameUncached(input),
+                            () -> "input [" + input + "] locale " + Locale.getDefault());
+                }
+            }
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void normalizesKnownNames() {
+        assertEquals("", NameNormalizationUtil.normalizeName(null));
+        assertEquals("", NameNormalizationUtil.normalizeName("   "));
+        assertEquals("tomatoe", NameNormalizationUtil.normalizeName("  Tomatoes "));
+        assertEquals("creme brulee", NameNormalizationUtil.normalizeName("Crème  Brûlée"));
+        assertEquals("basmati rice kg", NameNormalizationUtil.normalizeName("Basmati Rice (5 kg)"));
+        assertEquals("s", NameNormalizationUtil.normalizeName("S"));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}